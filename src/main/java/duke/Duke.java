@@ -2,6 +2,7 @@ package duke;
 
 import duke.notes.budget.Budget;
 import duke.commands.CommandException;
+import duke.notes.Note;
 import duke.notes.task.Task;
 import duke.parser.DateException;
 import duke.commands.DukeCommand;
@@ -17,6 +18,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.List;
 
 /**
  * {@code Duke} is a note-keeper, task manager, budget assistant, and more...!
@@ -231,6 +233,22 @@ public class Duke implements DukeUI, DukeParser {
         Budget.resetStaticVariables();
     }
 
+    /**
+     * This method is used to rebuild all static variables in {@code Duke} from the {@code Note} objects held,
+     * in the event that the {@code Note} objects were reconstructed out of order.
+     *
+     * @param notes The {@code Note} objects held by {@code Duke}.
+     */
+    public static void recountStaticVariables(List<Note> notes) {
+        resetStaticVariables();
+        for(Note note : notes) {
+            note.countExistingNote();
+            if(note.getBudgetObject() != null) {
+                note.getBudgetObject().countExistingBudget();
+            }
+        }
+    }
+
     //DUKE MAIN-----------------------------------------
     public static void main(String[] args) throws Exception {
         String path = "data/notes.txt";
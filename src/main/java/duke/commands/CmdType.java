@@ -31,7 +31,10 @@ public enum CmdType {
     LISTNXT48("#listnxt48", "#n48", NoteType.NOTE, 2),
     LISTNXT72("#listnxt72", "#n72", NoteType.NOTE, 3),
     MARKDONE("#markdone", "#mkd", null, 0),
+    REPORT("#report", "#rpt", null, 0),
     SAVEDUKE("#saveduke", "#sav", null, 0),
+    SETTINGS("#settings", "#set", null, 0),
+    STATS("#stats", "#sts", null, 0),
     TRANSFER("#transfer", "#txf", null, 0),
     UNDO("#undo", "#und", null, 0),
     WIPEDUKE("#wipeduke", "#wpe", null, 0),
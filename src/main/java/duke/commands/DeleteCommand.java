@@ -1,6 +1,7 @@
 package duke.commands;
 
 import duke.Duke;
+import duke.notes.Note;
 import duke.storage.DukeList;
 import duke.storage.DukeStorage;
 import duke.ui.DukeUI;
@@ -10,7 +11,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Scanner;
+import java.util.TreeSet;
 
 /**
  * An extension of the {@code DukeCommand} object that performs the deletion of existing {@code Note} objects.
@@ -29,7 +32,7 @@ public class DeleteCommand extends DukeCommand {
      * This method constructs a {@code DeleteCommand} object.
      *
      * @param cmdType The type of {@code DukeCommand} being constructed.
-     * @param toDelete The serial number(s) of {@code Note} objects to be deleted.
+     * @param toDelete The serial number(s) of {@code Note} objects to be deleted, as last listed.
      */
     public DeleteCommand(String cmdType, ArrayList<Integer> toDelete) throws CommandException {
         super(cmdType);
@@ -67,10 +70,9 @@ public class DeleteCommand extends DukeCommand {
         } else {
             System.out.println("    Are you sure you want to delete the following notes?");
             for (int note : this.toDelete) {
-                for (int i = 0; i < dukeNotes.getNotes().size(); i++) {
-                    if (dukeNotes.getNotes().get(i).getSerialNum() == note) {
-                        dukeNotes.getNotes().get(i).printList();
-                    }
+                Note toPrint = dukeNotes.findNote(note);
+                if (toPrint != null) {
+                    toPrint.printList();
                 }
             }
         }
@@ -95,32 +97,32 @@ public class DeleteCommand extends DukeCommand {
 
         if(this.confirmDelete) {
             DukeUI.printDivider();
+            //Positions are resolved before any note is removed, then removed from the last position back,
+            //so that removing one note never shifts the position of another still to be removed.
+            TreeSet<Integer> positions = new TreeSet<>(Collections.reverseOrder());
             for (int note : this.toDelete) {
-                for (int i = 0; i < dukeNotes.getNotes().size(); i++) {
-                    if (dukeNotes.getNotes().get(i).getSerialNum() == note) {
-                        dukeNotes.getNotes().get(i).deleteExistingNote();
-                        dukeNotes.getNotes().remove(i);
-                        break;
-                    }
+                int i = dukeNotes.findIndex(note);
+                if (i >= 0) {
+                    positions.add(i);
                 }
             }
+
+            int firstRemoved = positions.isEmpty() ? Integer.MAX_VALUE : positions.last();
+            for (int i : positions) {
+                dukeNotes.removeNote(i).deleteExistingNote();
+            }
             System.out.println("    Deletion(s) completed...");
 
             if(dukeNotes.getNotes().size() == 0) {
                 System.out.println("    ...there are no notes on your list.");
 
-            } else {
-                System.out.println("    ...renumbering the remaining note(s)...");
-                for (int i = 0; i < dukeNotes.getNotes().size(); i++) {
-                    System.out.print("    #");
-                    System.out.printf("%3d", dukeNotes.getNotes().get(i).getSerialNum());
-                    System.out.print("     >>> ");
-                    dukeNotes.getNotes().get(i).setSerialNum(i + 1);
-                    System.out.print("    #");
-                    System.out.printf("%3d", dukeNotes.getNotes().get(i).getSerialNum());
-                    System.out.print("\n");
-                }
+            } else if(firstRemoved < dukeNotes.getNotes().size()) {
+                System.out.println("    ...renumbering the remaining note(s) from Note #" + (firstRemoved + 1)
+                        + " onwards...");
                 System.out.println("    The remaining notes have been renumbered!");
+
+            } else {
+                System.out.println("    ...the remaining note(s) keep their numbers.");
             }
             System.out.print("\n");
             DukeUI.printCompleted();
@@ -1,6 +1,5 @@
 package duke.commands;
 
-import duke.notes.Note;
 import duke.notes.event.Event;
 import duke.notes.task.Deadline;
 import duke.parser.DateException;
@@ -8,7 +7,6 @@ import duke.storage.DukeList;
 import duke.storage.DukeStorage;
 import duke.ui.DukeUI;
 
-import java.util.ArrayList;
 import java.util.Date;
 
 /**
@@ -72,6 +70,7 @@ public class EditDateCommand extends DukeCommand {
             NewNoteCommand.checkValidTargetDate(newDate);
 
             ((Deadline) dukeNotes.getNotes().get(i)).setTargetDate(this.newDate);
+            dukeNotes.updateNote(dukeNotes.getNotes().get(i));
 
             DukeUI.printDivider();
             System.out.println("    Target Date of Note #" + this.targetNote + " changed from...");
@@ -105,9 +104,7 @@ public class EditDateCommand extends DukeCommand {
             long durationInMS = ((Event) dukeNotes.getNotes().get(i)).getDurationMinutes() * 60000;
             Date newEnd = new Date(this.newDate.getTime() + durationInMS);
 
-            ArrayList<Note> notesLess_i = new ArrayList<>(dukeNotes.getNotes());
-            notesLess_i.remove(i);
-            NewNoteCommand.checkForClashes(notesLess_i, this.newDate, newEnd);
+            NewNoteCommand.checkForClashes(dukeNotes, this.newDate, newEnd, dukeNotes.getNotes().get(i));
 
             if(this.newDate.after(this.oldDate)) {
                 ((Event) dukeNotes.getNotes().get(i)).setEndDate(newEnd);
@@ -116,6 +113,7 @@ public class EditDateCommand extends DukeCommand {
                 ((Event) dukeNotes.getNotes().get(i)).setStartDate(this.newDate);
                 ((Event) dukeNotes.getNotes().get(i)).setEndDate(newEnd);
             }
+            dukeNotes.updateNote(dukeNotes.getNotes().get(i));
 
             DukeUI.printDivider();
             System.out.println("    Start and End Date of Note #" + this.targetNote +
@@ -150,11 +148,10 @@ public class EditDateCommand extends DukeCommand {
             this.oldDate = ((Event) dukeNotes.getNotes().get(i)).getEndDate();
             Date oldStart = ((Event) dukeNotes.getNotes().get(i)).getStartDate();
 
-            ArrayList<Note> notesLess_i = new ArrayList<>(dukeNotes.getNotes());
-            notesLess_i.remove(i);
-            NewNoteCommand.checkForClashes(notesLess_i, oldStart, newDate);
+            NewNoteCommand.checkForClashes(dukeNotes, oldStart, newDate, dukeNotes.getNotes().get(i));
 
             ((Event) dukeNotes.getNotes().get(i)).setEndDate(this.newDate);
+            dukeNotes.updateNote(dukeNotes.getNotes().get(i));
 
             DukeUI.printDivider();
             System.out.println("    End Date of Note #" + this.targetNote + " changed from...");
@@ -177,33 +174,31 @@ public class EditDateCommand extends DukeCommand {
     public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
             throws CommandException, IndexOutOfBoundsException, DateException {
 
-        for(int i=0; i<dukeNotes.getNotes().size(); i++) {
-            if(dukeNotes.getNotes().get(i).getSerialNum() == this.targetNote) {
+        int i = dukeNotes.findIndex(this.targetNote);
+        if(i >= 0) {
 
-                switch (this.dateToChange) {
-                case "target" -> {
-                    if (changeTargetDate(dukeNotes, i)) {
-                        DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
-                        DukeUI.suggestListNotes();
-                    }
+            switch (this.dateToChange) {
+            case "target" -> {
+                if (changeTargetDate(dukeNotes, i)) {
+                    DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
+                    DukeUI.suggestListNotes();
                 }
-                case "start" -> {
-                    if (changeStartDate(dukeNotes, i)) {
-                        DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
-                        DukeUI.suggestListNotes();
-                    }
-                }
-                case "end" -> {
-                    if (changeEndDate(dukeNotes, i)) {
-                        DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
-                        DukeUI.suggestListNotes();
-                    }
+            }
+            case "start" -> {
+                if (changeStartDate(dukeNotes, i)) {
+                    DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
+                    DukeUI.suggestListNotes();
                 }
-                default -> throw new CommandException("The type of date you are trying to edit does not exist.");
+            }
+            case "end" -> {
+                if (changeEndDate(dukeNotes, i)) {
+                    DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
+                    DukeUI.suggestListNotes();
                 }
-                DukeUI.printDivider();
-                break;
             }
+            default -> throw new CommandException("The type of date you are trying to edit does not exist.");
+            }
+            DukeUI.printDivider();
         }
     }
 }
@@ -51,31 +51,30 @@ public class EditDescriptionCommand extends DukeCommand {
     public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
             throws CommandException, IndexOutOfBoundsException {
 
-        for(int i=0; i<dukeNotes.getNotes().size(); i++) {
-            if(dukeNotes.getNotes().get(i).getSerialNum() != this.targetNote) {
-                continue;
+        int i = dukeNotes.findIndex(this.targetNote);
+        if(i < 0) {
+            return;
+        }
+        DukeUI.printDivider();
+        if(dukeNotes.getNotes().get(i).getIsDone()) {
+            if(dukeNotes.getNotes().get(i) instanceof Task) {
+                System.out.println("    The task had already been completed.");
+            } else if(dukeNotes.getNotes().get(i) instanceof Event) {
+                System.out.println("    The event had already concluded.");
             }
-            DukeUI.printDivider();
-            if(dukeNotes.getNotes().get(i).getIsDone()) {
-                if(dukeNotes.getNotes().get(i) instanceof Task) {
-                    System.out.println("    The task had already been completed.");
-                } else if(dukeNotes.getNotes().get(i) instanceof Event) {
-                    System.out.println("    The event had already concluded.");
-                }
-                System.out.println("    The description shouldn't be edited anymore.");
-            } else {
-                this.oldDescription = dukeNotes.getNotes().get(i).getDescription();
-                dukeNotes.getNotes().get(i).setDescription(this.newDescription);
+            System.out.println("    The description shouldn't be edited anymore.");
+        } else {
+            this.oldDescription = dukeNotes.getNotes().get(i).getDescription();
+            dukeNotes.getNotes().get(i).setDescription(this.newDescription);
+            dukeNotes.updateNote(dukeNotes.getNotes().get(i));
 
-                System.out.println("    Description of Note #" + this.targetNote + " changed from...");
-                DukeUI.commandWrap(this.oldDescription, 66);
-                System.out.println("    to...");
-                DukeUI.commandWrap(this.newDescription, 66);
-                DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
-                DukeUI.suggestListNotes();
-            }
-            DukeUI.printDivider();
-            break;
+            System.out.println("    Description of Note #" + this.targetNote + " changed from...");
+            DukeUI.commandWrap(this.oldDescription, 66);
+            System.out.println("    to...");
+            DukeUI.commandWrap(this.newDescription, 66);
+            DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
+            DukeUI.suggestListNotes();
         }
+        DukeUI.printDivider();
     }
 }
@@ -68,6 +68,9 @@ public class ExitCommand extends DukeCommand {
 
         DukeUI.printDivider();
         if(this.confirmExit) {
+            if(SaveCommand.getAutoSave()) {
+                DukeUI.autoSaveConfirmation(dukeStorage.flushSaves(dukeNotes));
+            }
             System.out.println("    Good Bye! Hope to see you again soon!");
         } else {
             System.out.println("    Yay! Thanks for staying!");
@@ -55,35 +55,34 @@ public class ExtendDeadlineCommand extends DukeCommand {
     public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
             throws CommandException, IndexOutOfBoundsException, DateException {
 
-        for(int i=0; i<dukeNotes.getNotes().size(); i++) {
-            if(dukeNotes.getNotes().get(i).getSerialNum() != this.targetNote) {
-                continue;
-            }
+        int i = dukeNotes.findIndex(this.targetNote);
+        if(i < 0) {
+            return;
+        }
 
-            DukeUI.printDivider();
-            if(!(dukeNotes.getNotes().get(i) instanceof Deadline)) {
-                System.out.println("    The note selected is not a task with a deadline.");
-                System.out.println("    The deadline shouldn't be edited anymore.");
-            } else if(dukeNotes.getNotes().get(i).getIsDone()) {
-                System.out.println("    The task had already been completed.");
-                System.out.println("    The deadline shouldn't be edited anymore.");
-            } else {
-                System.out.println("    Deadline of Note #" + this.targetNote + ":");
-                dukeNotes.getNotes().get(i).printList();
+        DukeUI.printDivider();
+        if(!(dukeNotes.getNotes().get(i) instanceof Deadline)) {
+            System.out.println("    The note selected is not a task with a deadline.");
+            System.out.println("    The deadline shouldn't be edited anymore.");
+        } else if(dukeNotes.getNotes().get(i).getIsDone()) {
+            System.out.println("    The task had already been completed.");
+            System.out.println("    The deadline shouldn't be edited anymore.");
+        } else {
+            System.out.println("    Deadline of Note #" + this.targetNote + ":");
+            dukeNotes.getNotes().get(i).printList();
 
-                this.oldDate = ((Deadline) dukeNotes.getNotes().get(i)).getTargetDate();
-                this.newDate = new Date(this.oldDate.getTime() + millisecondsToExtend);
-                ((Deadline) dukeNotes.getNotes().get(i)).setTargetDate(this.newDate);
+            this.oldDate = ((Deadline) dukeNotes.getNotes().get(i)).getTargetDate();
+            this.newDate = new Date(this.oldDate.getTime() + millisecondsToExtend);
+            ((Deadline) dukeNotes.getNotes().get(i)).setTargetDate(this.newDate);
+            dukeNotes.updateNote(dukeNotes.getNotes().get(i));
 
-                System.out.println("    extended from...");
-                DukeUI.commandWrap(DukeUI.NOTE_TIME.format(this.oldDate), 66);
-                System.out.println("    to...");
-                DukeUI.commandWrap(DukeUI.NOTE_TIME.format(this.newDate), 66);
-                DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
-                DukeUI.suggestListNotes();
-            }
-            DukeUI.printDivider();
-            break;
+            System.out.println("    extended from...");
+            DukeUI.commandWrap(DukeUI.NOTE_TIME.format(this.oldDate), 66);
+            System.out.println("    to...");
+            DukeUI.commandWrap(DukeUI.NOTE_TIME.format(this.newDate), 66);
+            DukeUI.autoSaveConfirmation(new SaveCommand().autoSave(dukeNotes, dukeStorage));
+            DukeUI.suggestListNotes();
         }
+        DukeUI.printDivider();
     }
 }
@@ -5,7 +5,8 @@ import duke.storage.DukeStorage;
 import duke.ui.DukeUI;
 
 /**
- * An extension of the {@code DukeCommand} object that prints all the commands available in {@code Duke}.
+ * An extension of the {@code DukeCommand} object that prints all the commands available in {@code Duke},
+ * or how often the results of {@code ListCommand} objects were reused.
  *
  * @author tanqiuyu
  * @since 2020-09-16
@@ -44,7 +45,16 @@ public class InfoCommand extends DukeCommand {
     public void execute(DukeList dukeNotes, DukeStorage dukeStorage) {
 
         DukeUI.printDivider();
-        DukeUI.showCommandList(infoType);
+        if(this.infoType.equals("cache")) {
+            QueryCache queryCache = ListCommand.getQueryCache();
+            System.out.println("    Here is how often I reused the notes I listed:-");
+            System.out.println("      Lists reused          : " + queryCache.getHitCount());
+            System.out.println("      Lists worked out anew : " + queryCache.getMissCount());
+            System.out.println("      Lists kept            : " + queryCache.size() + " of " +
+                    queryCache.getCapacity());
+        } else {
+            DukeUI.showCommandList(this.infoType, dukeStorage.getUndoDepth());
+        }
         DukeUI.printDivider();
     }
 }
@@ -12,8 +12,12 @@ import duke.parser.DateException;
 import duke.storage.DukeList;
 import duke.storage.DukeStorage;
 import duke.ui.DukeUI;
+import java.io.IOException;
+import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 
 /**
  * An extension of the {@code DukeCommand} object that filters, orders and prints {@code Notes} in memory.
@@ -24,12 +28,27 @@ import java.util.Date;
 public class ListCommand extends DukeCommand {
 
     //VARIABLES-----------------------------------------
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final Comparator<Note> BY_BUDGET =
+            Comparator.comparingDouble(note -> note.getBudgetObject().getBudgetRevised());
+    private static final Comparator<Note> BY_BUDGET_DESCENDING = BY_BUDGET.reversed();
+    private static final Comparator<Note> BY_DATE = Comparator.comparingLong(note -> note instanceof Deadline
+            ? ((Deadline) note).getTargetDate().getTime()
+            : ((Event) note).getStartDate().getTime());
+    private static final String COLD_LABEL = "C";
+    private static final QueryCache QUERY_CACHE = new QueryCache(QueryCache.DEFAULT_CAPACITY);
+
     private NoteType noteType;
     private String noteFilter = null;
     private String textFilter = null;
     private Date dateFilter = null;
     private Date addedFilter = null;
     private int timelineDays = 0;
+    private int resultLimit = 0;
+    private int resultPage = 1;
+    private double minBudget = Double.NEGATIVE_INFINITY;
+    private double maxBudget = Double.POSITIVE_INFINITY;
+    private int resultTop = 0;
 
     //CONSTRUCTORS--------------------------------------
     /**
@@ -72,6 +91,49 @@ public class ListCommand extends DukeCommand {
     public ListCommand(String cmdType, String noteFilter, String textFilter,
                        Date dateFilter, Date addedFilter, int timelineDays)
             throws CommandException {
+        this(cmdType, noteFilter, textFilter, dateFilter, addedFilter, timelineDays, 0, 1);
+    }
+
+    /**
+     * This method constructs a {@code ListCommand} object that displays one page of the {@code Note} objects selected.
+     *
+     * @param cmdType The type of {@code DukeCommand} being constructed.
+     * @param noteFilter The selection to filter {@code Note} objects based on their completion statuses.
+     * @param textFilter The description text specified for {@code Note} objects to be displayed.
+     * @param dateFilter The date specified for {@code Note} objects to be displayed.
+     * @param timelineDays The window based on number of days for {@code Note} objects to be displayed.
+     * @param resultLimit The number of {@code Note} objects displayed per page, or 0 to display them all.
+     * @param resultPage The page of {@code Note} objects to be displayed, counting from 1.
+     * @exception CommandException If there are errors in the command input.
+     */
+    public ListCommand(String cmdType, String noteFilter, String textFilter,
+                       Date dateFilter, Date addedFilter, int timelineDays, int resultLimit, int resultPage)
+            throws CommandException {
+        this(cmdType, noteFilter, textFilter, dateFilter, addedFilter, timelineDays, resultLimit, resultPage,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0);
+    }
+
+    /**
+     * This method constructs a {@code ListCommand} object that displays one page of the {@code Note} objects
+     * selected, out of those with budgets within a range, or those with the largest budgets.
+     *
+     * @param cmdType The type of {@code DukeCommand} being constructed.
+     * @param noteFilter The selection to filter {@code Note} objects based on their completion statuses.
+     * @param textFilter The description text specified for {@code Note} objects to be displayed.
+     * @param dateFilter The date specified for {@code Note} objects to be displayed.
+     * @param timelineDays The window based on number of days for {@code Note} objects to be displayed.
+     * @param resultLimit The number of {@code Note} objects displayed per page, or 0 to display them all.
+     * @param resultPage The page of {@code Note} objects to be displayed, counting from 1.
+     * @param minBudget The smallest revised budget amount of {@code Note} objects to be displayed.
+     * @param maxBudget The largest revised budget amount of {@code Note} objects to be displayed.
+     * @param resultTop The number of {@code Note} objects with the largest budgets to be displayed,
+     *                  largest first, or 0 to display them all, smallest first.
+     * @exception CommandException If there are errors in the command input.
+     */
+    public ListCommand(String cmdType, String noteFilter, String textFilter,
+                       Date dateFilter, Date addedFilter, int timelineDays, int resultLimit, int resultPage,
+                       double minBudget, double maxBudget, int resultTop)
+            throws CommandException {
         super(cmdType);
         this.noteType = CmdType.getRELEVANT_NOTE_TYPE(cmdType);
         this.noteFilter = noteFilter;
@@ -79,6 +141,11 @@ public class ListCommand extends DukeCommand {
         this.dateFilter = dateFilter;
         this.addedFilter = addedFilter;
         this.timelineDays = timelineDays;
+        this.resultLimit = resultLimit;
+        this.resultPage = resultPage;
+        this.minBudget = minBudget;
+        this.maxBudget = maxBudget;
+        this.resultTop = resultTop;
     }
 
     /**
@@ -89,159 +156,210 @@ public class ListCommand extends DukeCommand {
         super();
     }
 
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method retrieves the {@code QueryCache} object holding the results of recent {@code ListCommand} objects.
+     *
+     * @return QueryCache The {@code QueryCache} object shared by all {@code ListCommand} objects.
+     */
+    static QueryCache getQueryCache() {
+        return QUERY_CACHE;
+    }
+
     //METHODS-------------------------------------------
     /**
      * This method sorts {@code Note} object based on their attached {@code Budget} object amounts.
+     * {@code Note} objects with the same amounts are kept in the order given.
      *
      * @param budgets The {@code ArrayList} of {@code Note} objects with {@code Budget}
      *                objects attached that is to be sorted.
      */
-    void selectionSortBudgets(ArrayList<Note> budgets) {
-
-        double budgetI;
-        double budgetJ;
-
-        if(budgets.size()>1){
-            budgetI = budgets.get(budgets.size()-1).getBudgetObject().getBudgetRevised();
-            for (int i=budgets.size()-1; i>0; i--) {
-                budgetJ = budgets.get(i-1).getBudgetObject().getBudgetRevised();
-                if (budgetI < budgetJ) {
-                    Note temp = budgets.get(i);
-                    budgets.set(i, budgets.get(i-1));
-                    budgets.set(i-1, temp);
-                }
-            }
-        }
+    void sortByBudget(ArrayList<Note> budgets) {
+        budgets.sort(BY_BUDGET);
     }
 
     /**
-     * This method sorts {@code Note} object based on their {@code Date} objects.
+     * This method sorts {@code Note} object based on their {@code Date} objects,
+     * i.e. the target dates of deadlines and the start dates of events.
+     * {@code Note} objects with the same dates are kept in the order given.
      *
      * @param notes The {@code ArrayList} of {@code Note} objects with that is to be sorted.
+     * @exception DateException If a {@code Note} object to be sorted has no target or start date.
      */
-    void selectionSortDates(ArrayList<Note> notes)
+    void sortByDate(ArrayList<Note> notes)
             throws DateException {
 
-        Date dateI = new Date();
-        Date dateJ = new Date();
-        if(notes.size()>1) {
-            if(notes.get(notes.size()-1) instanceof Deadline) {
-                dateI = ((Deadline) notes.get(notes.size()-1)).getTargetDate();
-            } else if (notes.get(notes.size()-1) instanceof Event) {
-                dateI = ((Event) notes.get(notes.size()-1)).getStartDate();
-            } else {
-                throw new DateException(dateI, "NoDate");
-            }
-
-            for (int i=notes.size()-1; i>0; i--) {
-
-                if(notes.get(i-1) instanceof Deadline) {
-                    dateJ = ((Deadline) notes.get(i-1)).getTargetDate();
-                } else if (notes.get(i) instanceof Event) {
-                    dateJ = ((Event) notes.get(i-1)).getStartDate();
-                } else {
-                    throw new DateException(dateJ, "NoDate");
-                }
-
-                if (dateI.before(dateJ)) {
-                    Note temp = notes.get(i);
-                    notes.set(i, notes.get(i-1));
-                    notes.set(i-1, temp);
-                } else {
-                    break;
-                }
+        for (Note note : notes) {
+            if(!(note instanceof Deadline) && !(note instanceof Event)) {
+                throw new DateException(new Date(), "NoDate");
             }
         }
+        notes.sort(BY_DATE);
     }
 
     /**
-     * This method assesses and filters {@code Note} objects based on their start or target {@code Date} objects.
+     * This method retrieves the order in which the selected {@code Note} objects are to be printed,
+     * by their {@code Budget} object amounts or their {@code Date} objects depending on the type of notes listed.
      *
-     * @param note The {@code Note} object that is to be assessed.
-     * @return boolean True if the {@code Note} object fulfils the criteria and is to be included.
+     * @return Comparator<Note> The order of the {@code Note} objects, or null if they are printed in list order.
+     * @exception CommandException If there are errors in the command input.
      */
-    private boolean filterByStartTargetDate(Note note) {
+    private Comparator<Note> getResultOrder()
+            throws CommandException {
 
-        if(this.dateFilter == null) {
-            return true;
+        if (CmdType.getKey(this.cmdType.toString()).toString().equals("LISTBUDGETS")) {
+            return this.resultTop > 0 ? BY_BUDGET_DESCENDING : BY_BUDGET;
         }
-        long duration = this.timelineDays * 86400000;
-        Date start = this.dateFilter;
-        Date end = new Date(this.dateFilter.getTime() + duration);
-        if (note instanceof Deadline) {
-            return ((Deadline) note).getTargetDate().after(start) &&
-                    ((Deadline) note).getTargetDate().before(end);
-        } else if (note instanceof Event) {
-            return ((Event) note).getStartDate().after(start) &&
-                    ((Event) note).getStartDate().before(end);
-        } else {
-            return false;
+        return switch (NoteType.getCONSTRUCTOR(this.noteType.toString())) {
+            case "Bill", "Birthday", "Deadline", "Event", "Wedding" -> BY_DATE;
+            case "Shoplist" -> BY_BUDGET;
+            default -> null;
+        };
+    }
+
+    /**
+     * This method retrieves the number of {@code Note} objects to be selected in order,
+     * i.e. all of them, or those up to the end of the page to be displayed, and no more than the top ones asked for.
+     *
+     * @return int The number of {@code Note} objects to be selected.
+     */
+    private int getResultCount() {
+        int count = Integer.MAX_VALUE;
+        if(this.resultLimit > 0) {
+            count = (int) Math.min(Integer.MAX_VALUE, (long) this.resultPage * this.resultLimit);
         }
+        return this.resultTop > 0 ? Math.min(count, this.resultTop) : count;
     }
 
     /**
-     * This method assesses and filters {@code Note} objects based on their added {@code Date} objects.
+     * This method checks whether {@code Note} objects are selected by their budgets, i.e. within a range of
+     * budget amounts or by the largest budgets.
      *
-     * @param note The {@code Note} object that is to be assessed.
-     * @return boolean True if the {@code Note} object fulfils the criteria and is to be included.
+     * @return boolean True if {@code Note} objects are selected by their budgets.
      */
-    private boolean filterByAddedDate(Note note) {
+    private boolean isBudgetRanged() {
+        return this.minBudget != Double.NEGATIVE_INFINITY || this.maxBudget != Double.POSITIVE_INFINITY
+                || this.resultTop > 0;
+    }
 
-        if(this.addedFilter == null) {
-            return true;
-        }
-        long duration = this.timelineDays * 86400000;
-        Date start = this.addedFilter;
-        Date end = new Date(this.addedFilter.getTime() + duration);
-        return note.getAddDate().after(start) && note.getAddDate().before(end);
+    /**
+     * This method retrieves the end of the window of dates for {@code Note} objects to be displayed.
+     *
+     * @return Date The {@code Date} object before which {@code Note} objects are displayed.
+     */
+    private Date getDateFilterEnd() {
+        return new Date(this.dateFilter.getTime() + this.timelineDays * 86400000L);
     }
 
     /**
-     * This method assesses and filters {@code Note} objects based on their completion statuses.
+     * This method compiles the filters into a single {@code NoteQuery} object, checking only the filters given,
+     * cheapest first, against values worked out once (e.g. the window of dates and the upper case search text).
      *
-     * @param note The {@code Note} object that is to be assessed.
-     * @return boolean True if the {@code Note} object fulfils the criteria and is to be included.
+     * @param isDateMatched True if the {@code Note} objects assessed are already known to fall on the dates given.
+     * @param isTextMatched True if the {@code Note} objects assessed are already known to contain the text given.
+     * @param isBudgetMatched True if the {@code Note} objects assessed are already known to have budgets within
+     *                        the range given, in the order they are to be printed.
+     * @return NoteQuery The query selecting the {@code Note} objects to be displayed, and their order.
+     * @exception CommandException If there are errors in the command input.
      */
-    private boolean filterByStatus(Note note) {
+    NoteQuery compileQuery(boolean isDateMatched, boolean isTextMatched, boolean isBudgetMatched)
+            throws CommandException {
 
-        if(this.noteFilter == null) {
-            return true;
-        }
-        return switch (this.noteFilter) {
-            case "O" -> !note.getIsDone();
-            case "C" -> note.getIsDone();
-            default -> false;
-        };
+        boolean isBudgetListed = CmdType.getKey(this.cmdType.toString()).toString().equals("LISTBUDGETS");
+        Class<? extends Note> noteClass = isBudgetListed ? Note.class : getNoteClass();
+        boolean isStatusChecked = this.noteFilter != null;
+        boolean isDone = "C".equals(this.noteFilter);
+        boolean isDateChecked = this.dateFilter != null && !isDateMatched;
+        long dateStart = isDateChecked ? this.dateFilter.getTime() : 0;
+        long dateEnd = dateStart + this.timelineDays * 86400000L;
+        boolean isAddedChecked = this.addedFilter != null;
+        long addedStart = isAddedChecked ? this.addedFilter.getTime() : 0;
+        long addedEnd = addedStart + this.timelineDays * 86400000L;
+        String text = this.textFilter != null && !isTextMatched ? this.textFilter.toUpperCase() : null;
+        boolean isBudgetChecked = isBudgetRanged() && !isBudgetMatched;
+        double minBudget = this.minBudget;
+        double maxBudget = this.maxBudget;
+
+        return new NoteQuery(note -> {
+            if(!noteClass.isInstance(note) || (isBudgetListed && note.getBudgetObject() == null)) {
+                return false;
+            }
+            if(isStatusChecked && note.getIsDone() != isDone) {
+                return false;
+            }
+            if(isDateChecked) {
+                long time;
+                if(note instanceof Deadline) {
+                    time = ((Deadline) note).getTargetDate().getTime();
+                } else if(note instanceof Event) {
+                    time = ((Event) note).getStartDate().getTime();
+                } else {
+                    return false;
+                }
+                if(time <= dateStart || time >= dateEnd) {
+                    return false;
+                }
+            }
+            if(isAddedChecked) {
+                long time = note.getAddDate().getTime();
+                if(time <= addedStart || time >= addedEnd) {
+                    return false;
+                }
+            }
+            if(isBudgetChecked) {
+                if(note.getBudgetObject() == null) {
+                    return false;
+                }
+                double budget = note.getBudgetObject().getBudgetRevised();
+                if(budget < minBudget || budget > maxBudget) {
+                    return false;
+                }
+            }
+            return text == null || note.getDescription().toUpperCase().contains(text);
+        }, isBudgetMatched ? null : getResultOrder());
     }
 
     /**
-     * This method assesses and filters {@code Note} objects based on their text descriptions.
+     * This method retrieves the class of the {@code Note} objects listed.
      *
-     * @param note The {@code Note} object that is to be assessed.
-     * @return boolean True if the {@code Note} object fulfils the criteria and is to be included.
+     * @return Class<? extends Note> The class of the {@code Note} objects listed.
+     * @exception CommandException If there are errors in the command input.
      */
-    private boolean filterByText(Note note) {
+    private Class<? extends Note> getNoteClass()
+            throws CommandException {
 
-        if(this.textFilter == null) {
-            return true;
-        }
-        String desc = note.getDescription().toUpperCase();
-        String text = this.textFilter.toUpperCase();
-        return desc.contains(text);
+        return switch (NoteType.getCONSTRUCTOR(this.noteType.toString())) {
+            case "Bill" -> Bill.class;
+            case "Birthday" -> Birthday.class;
+            case "Deadline" -> Deadline.class;
+            case "Event" -> Event.class;
+            case "Shoplist" -> Shoplist.class;
+            case "Task" -> Task.class;
+            case "Wedding" -> Wedding.class;
+            default -> Note.class;
+        };
     }
 
     /**
      * This method presents the results from the filtration and prints the selected {@code Note} objects if any.
+     * Completed {@code Note} objects moved to the cold segment file are printed apart, after the others.
      *
      * @param notes The {@code ArrayList} of {@code Note} objects with that is to be printed.
+     * @param coldNotes The {@code ArrayList} of {@code Note} objects from the cold segment file to be printed.
+     * @param found The number of {@code Note} objects that fulfil the criteria, including those on other pages.
      */
-    private void printResults(ArrayList<Note> notes)
+    private void printResults(ArrayList<Note> notes, ArrayList<Note> coldNotes, int found)
             throws CommandException {
 
         String noteName = NoteType.getLOWERCASE_NAME_PLURAL(this.noteType.toString());
         String noteVerb = NoteType.getVERB(this.noteType.toString());
 
-        if(notes.size() == 0) {
+        if(notes.size() == 0 && coldNotes.size() == 0 && found > 0) {
+
+            DukeUI.standardWrap("There are only " + found + " " + noteName + " to show, " +
+                    "so page " + this.resultPage + " is past the last page.");
+
+        } else if(notes.size() == 0 && coldNotes.size() == 0) {
 
             String noteReport = "";
             if(this.noteFilter == null) {
@@ -272,89 +390,190 @@ public class ListCommand extends DukeCommand {
                 addedReport = " that was added on " + DukeUI.NOTE_DATE.format(this.addedFilter);
             }
 
-            DukeUI.standardWrap(noteReport + textReport + dateReport + addedReport + ".");
+            String budgetReport = "";
+            if(this.minBudget != Double.NEGATIVE_INFINITY && this.maxBudget != Double.POSITIVE_INFINITY) {
+                budgetReport = " with a budget between $" + String.format("%,.2f", this.minBudget) +
+                        " and $" + String.format("%,.2f", this.maxBudget);
+            } else if(this.minBudget != Double.NEGATIVE_INFINITY) {
+                budgetReport = " with a budget of at least $" + String.format("%,.2f", this.minBudget);
+            } else if(this.maxBudget != Double.POSITIVE_INFINITY) {
+                budgetReport = " with a budget of at most $" + String.format("%,.2f", this.maxBudget);
+            }
+
+            DukeUI.standardWrap(noteReport + textReport + dateReport + addedReport + budgetReport + ".");
 
         } else {
-            System.out.println("    Here are the " + noteName + " you told me to note:-");
-            for (Note note: notes) {
-                note.printList();
+            if(notes.size() > 0) {
+                System.out.println("    Here are the " + noteName + " you told me to note:-");
+                for (Note note: notes) {
+                    note.printList();
+                }
+                System.out.print("\n");
+            }
+            if(coldNotes.size() > 0) {
+                System.out.println("    Here are the older completed " + noteName + " I have put away:-");
+                for (Note note: coldNotes) {
+                    note.printList(COLD_LABEL + note.getSerialNum());
+                }
+                System.out.println("    These are kept for reference only, and can no longer be changed.\n");
+            }
+            if(this.resultLimit > 0) {
+                int first = (this.resultPage - 1) * this.resultLimit + 1;
+                int last = first + notes.size() + coldNotes.size() - 1;
+                System.out.println("    Showing " + first + " to " + last + " of the " + found + " " +
+                        noteName + " found, on page " + this.resultPage + ".\n");
             }
-            System.out.print("\n");
         }
     }
 
     /**
-     * This method executes the function of the {@code ListCommand} object.
+     * This method selects the first {@code Note} objects fulfilling the criteria, in the order they are to be printed.
+     *
+     * @param candidates The {@code Note} objects that are to be assessed.
+     * @param notes The {@code ArrayList} to which the {@code Note} objects selected are added, in order.
+     * @param count The number of {@code Note} objects to be selected.
+     * @return int The number of {@code Note} objects that fulfil the criteria, including those not selected.
+     * @exception CommandException If there are errors in the command input.
+     */
+    int selectNotes(List<Note> candidates, ArrayList<Note> notes, int count)
+            throws CommandException {
+        return compileQuery(false, false, false).select(candidates, notes, count);
+    }
+
+    /**
+     * This method retrieves the key naming the query of the {@code ListCommand} object in the {@code QueryCache} object,
+     * which is the same for commands that select the same {@code Note} objects however they were entered.
+     *
+     * @return String The key naming the query.
+     * @exception CommandException If there are errors in the command input.
+     */
+    private String getCacheKey()
+            throws CommandException {
+
+        return CmdType.getKey(this.cmdType.toString()) + "|" + this.noteFilter
+                + "|" + (this.textFilter == null ? null : this.textFilter.toUpperCase())
+                + "|" + (this.dateFilter == null || isWindowMoving() ? null : this.dateFilter.getTime())
+                + "|" + (this.addedFilter == null ? null : this.addedFilter.getTime())
+                + "|" + this.timelineDays + "|" + this.resultLimit + "|" + this.resultPage
+                + "|" + this.minBudget + "|" + this.maxBudget + "|" + this.resultTop;
+    }
+
+    /**
+     * This method checks whether the window of dates for {@code Note} objects to be displayed
+     * starts at the time the command was entered, and so moves with the current time.
+     *
+     * @return boolean True if the window of dates moves with the current time.
+     * @exception CommandException If there are errors in the command input.
+     */
+    private boolean isWindowMoving()
+            throws CommandException {
+
+        return switch (CmdType.getKey(this.cmdType.toString()).toString()) {
+            case "LISTNXT24", "LISTNXT48", "LISTNXT72" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * This method retrieves the time before which the results of the {@code ListCommand} object stay the same,
+     * as long as the {@code Note} objects are not changed. Results over a window of dates that moves with
+     * the current time change once a deadline or event in the window falls behind its start,
+     * or one after the window falls within its end.
+     *
+     * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
+     * @return long The time before which the results stay the same, in epoch milliseconds.
+     * @exception CommandException If there are errors in the command input.
+     */
+    private long getValidBefore(DukeList dukeNotes)
+            throws CommandException {
+
+        if(this.dateFilter == null || !isWindowMoving()) {
+            return Long.MAX_VALUE;
+        }
+        if("C".equals(this.noteFilter)) {
+            return this.dateFilter.getTime();
+        }
+        long windowLength = getDateFilterEnd().getTime() - this.dateFilter.getTime();
+        Date firstInside = dukeNotes.findNextDate(new Date(this.dateFilter.getTime() + 1));
+        Date firstAfter = dukeNotes.findNextDate(getDateFilterEnd());
+        long validBefore = Long.MAX_VALUE;
+        if(firstInside != null && firstInside.before(getDateFilterEnd())) {
+            validBefore = firstInside.getTime();
+        }
+        if(firstAfter != null) {
+            validBefore = Math.min(validBefore, firstAfter.getTime() - windowLength + 1);
+        }
+        return validBefore;
+    }
+
+    /**
+     * This method selects the page of {@code Note} objects to be displayed, in the order they are to be printed.
      *
      * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
      * @param dukeStorage The {@code DukeStorage} object that holds access to the saved files of {@code Duke}.
+     * @return QueryCache.Result The {@code Note} objects selected, and the number of them found.
      */
-    public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
-            throws CommandException, DateException {
+    private QueryCache.Result runQuery(DukeList dukeNotes, DukeStorage dukeStorage)
+            throws CommandException, IOException, ParseException {
 
         ArrayList<Note> notes = new ArrayList<>();
-        DukeUI.printDivider();
-
-        for(Note note : dukeNotes.getNotes()) {
+        ArrayList<Note> coldNotes = new ArrayList<>();
+        ArrayList<Note> candidates;
+        boolean isDateMatched = this.dateFilter != null;
+        boolean isBudgetMatched = !isDateMatched && isBudgetRanged();
+        boolean isTextMatched = !isDateMatched && !isBudgetMatched && this.textFilter != null;
+        if(isDateMatched && isWindowMoving()) {
+            candidates = dukeNotes.findUpcoming(this.dateFilter, getDateFilterEnd());
+        } else if(isDateMatched) {
+            candidates = dukeNotes.findNotesBetween(this.dateFilter, getDateFilterEnd());
+        } else if(isBudgetMatched) {
+            boolean isOnlyBudgetChecked = this.noteFilter == null && this.textFilter == null
+                    && this.addedFilter == null && getNoteClass() == Note.class;
+            candidates = dukeNotes.findBudgetsBetween(this.minBudget, this.maxBudget,
+                    isOnlyBudgetChecked && this.resultTop > 0 ? this.resultTop : Integer.MAX_VALUE,
+                    this.resultTop > 0);
+        } else if(isTextMatched) {
+            candidates = dukeNotes.findNotesWith(this.textFilter);
+        } else {
+            candidates = dukeNotes.getNotes();
+        }
+        int count = getResultCount();
+        NoteQuery query = compileQuery(isDateMatched, isTextMatched, isBudgetMatched);
+        int found = query.select(candidates, notes, count);
+        if("C".equals(this.noteFilter)) {
+            int coldCount = count == Integer.MAX_VALUE ? count : count - notes.size();
+            found += selectNotes(dukeStorage.readColdNotes(), coldNotes, coldCount);
+        }
+        if(this.resultTop > 0) {
+            found = Math.min(found, this.resultTop);
+        }
+        if(this.resultLimit > 0) {
+            int skipped = Math.min(notes.size(), (this.resultPage - 1) * this.resultLimit);
+            notes.subList(0, skipped).clear();
+            int coldSkipped = Math.min(coldNotes.size(), (this.resultPage - 1) * this.resultLimit - skipped);
+            coldNotes.subList(0, coldSkipped).clear();
+        }
+        return new QueryCache.Result(dukeNotes, getValidBefore(dukeNotes), notes, coldNotes, found);
+    }
 
-            if(!filterByStatus(note)) { continue; }
-            if(!filterByText(note)) { continue; }
-            if(!filterByStartTargetDate(note)) { continue; }
-            if(!filterByAddedDate(note)) { continue; }
+    /**
+     * This method executes the function of the {@code ListCommand} object.
+     *
+     * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
+     * @param dukeStorage The {@code DukeStorage} object that holds access to the saved files of {@code Duke}.
+     */
+    public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
+            throws CommandException, DateException, IOException, ParseException {
 
-            if (CmdType.getKey(this.cmdType.toString()).toString().equals("LISTBUDGETS")) {
-                if (note.getBudgetObject() != null) {
-                    notes.add(note);
-                    selectionSortBudgets(notes);
-                }
-            } else {
-                switch (NoteType.getCONSTRUCTOR(this.noteType.toString())) {
-                case "Bill" -> {
-                    if (note instanceof Bill) {
-                        notes.add(note);
-                        selectionSortDates(notes);
-                    }
-                }
-                case "Birthday" -> {
-                    if (note instanceof Birthday) {
-                        notes.add(note);
-                        selectionSortDates(notes);
-                    }
-                }
-                case "Deadline" -> {
-                    if (note instanceof Deadline) {
-                        notes.add(note);
-                        selectionSortDates(notes);
-                    }
-                }
-                case "Event" -> {
-                    if (note instanceof Event) {
-                        notes.add(note);
-                        selectionSortDates(notes);
-                    }
-                }
-                case "Shoplist" -> {
-                    if (note instanceof Shoplist) {
-                        notes.add(note);
-                        selectionSortBudgets(notes);
-                    }
-                }
-                case "Task" -> {
-                    if (note instanceof Task) {
-                        notes.add(note);
-                    }
-                }
-                case "Wedding" -> {
-                    if (note instanceof Wedding) {
-                        notes.add(note);
-                        selectionSortDates(notes);
-                    }
-                }
-                case "Note" -> notes.add(note);
-                }
-            }
+        DukeUI.printDivider();
+        String key = getCacheKey();
+        long time = this.dateFilter == null ? System.currentTimeMillis() : this.dateFilter.getTime();
+        QueryCache.Result result = QUERY_CACHE.get(key, dukeNotes, time);
+        if(result == null) {
+            result = runQuery(dukeNotes, dukeStorage);
+            QUERY_CACHE.put(key, result, time);
         }
-        this.printResults(notes);
+        this.printResults(result.getNotes(), result.getColdNotes(), result.getFound());
         DukeUI.printDivider();
         DukeUI.printCompleted();
         DukeUI.printOutstanding();
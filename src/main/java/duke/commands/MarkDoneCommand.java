@@ -53,6 +53,7 @@ public class MarkDoneCommand extends DukeCommand {
 
         for (int note : this.toMarkDone) {
             dukeNotes.getNotes().get(note-1).markAsDone(doneDate);
+            dukeNotes.updateNote(dukeNotes.getNotes().get(note-1));
         }
         DukeUI.printCompleted();
         DukeUI.printOutstanding();
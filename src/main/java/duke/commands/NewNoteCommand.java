@@ -52,12 +52,13 @@ public class NewNoteCommand extends DukeCommand {
     /**
      * This method checks for clashes between new and existing {@code Event} objects, as well as the current date-time.
      *
-     * @param notes The {@code ArrayList} object that holds the notes managed by {@code Duke}.
+     * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
      * @param start The {@code Date} object indicating the start date of the new {@code Event} object.
      * @param end The {@code Date} object indicating the end date of the new {@code Event} object.
+     * @param excluded The {@code Note} object not to be checked against (e.g. the event being edited), or null.
      * @exception DateException If there are errors in the formats or substance of {@code Date} objects.
      */
-    static void checkForClashes(ArrayList<Note> notes, Date start, Date end)
+    static void checkForClashes(DukeList dukeNotes, Date start, Date end, Note excluded)
             throws DateException {
 
         Date now = new Date();
@@ -68,24 +69,10 @@ public class NewNoteCommand extends DukeCommand {
             throw new DateException(end, "EndB4Start");
         }
 
-        for(Note note: notes){
-            if(!(note instanceof Event)) {
-                continue;
-            }
-            Date noteStart = ((Event) note).getStartDate();
-            Date noteEnd = ((Event) note).getEndDate();
-            if((start.after(noteStart) || start.equals(noteStart)) &&
-                    (start.before(noteEnd) || start.equals(noteEnd))) {
-                throw new DateException(start, "EventsClash", (Event) note);
-            }
-            if((end.after(noteStart) || end.equals(noteStart)) &&
-                    (end.before(noteEnd) || end.equals(noteEnd))) {
-                throw new DateException(end, "EventsClash", (Event) note);
-            }
-            if((start.before(noteStart) || start.equals(noteStart)) &&
-                (end.after(noteEnd) || end.equals(noteEnd))) {
-                throw new DateException(end, "EventsClash", (Event) note);
-            }
+        Event clash = dukeNotes.findClash(start, end, excluded);
+        if(clash != null) {
+            boolean isStartInside = !start.before(clash.getStartDate()) && !start.after(clash.getEndDate());
+            throw new DateException(isStartInside ? start : end, "EventsClash", clash);
         }
     }
 
@@ -164,7 +151,7 @@ public class NewNoteCommand extends DukeCommand {
             double itemBudget = Double.parseDouble(inputs.get(4));
 
             checkValidDescription(description);
-            checkForClashes(dukeNotes.getNotes(), startDate, endDate);
+            checkForClashes(dukeNotes, startDate, endDate, null);
             checkValidAmount(itemBudget);
 
             Note note1 = new Shoplist(nextSerialNum, giftDescription, itemBudget, addDate);
@@ -188,7 +175,7 @@ public class NewNoteCommand extends DukeCommand {
             Date endDate = DateParser.understandDateInput(inputs.get(3));
 
             checkValidDescription(description);
-            checkForClashes(dukeNotes.getNotes(), startDate, endDate);
+            checkForClashes(dukeNotes, startDate, endDate, null);
 
             Note note1 = new Event(nextSerialNum, description, startDate, endDate, addDate);
             notes.add(note1);
@@ -218,7 +205,7 @@ public class NewNoteCommand extends DukeCommand {
             double itemBudget = Double.parseDouble(inputs.get(4));
 
             checkValidDescription(description);
-            checkForClashes(dukeNotes.getNotes(), startDate, endDate);
+            checkForClashes(dukeNotes, startDate, endDate, null);
             checkValidAmount(itemBudget);
 
             Note note1 = new Wedding(nextSerialNum, description, startDate, endDate, itemBudget, addDate);
@@ -228,7 +215,7 @@ public class NewNoteCommand extends DukeCommand {
         DukeUI.printDivider();
         for(int i=0; i < notes.size(); i++) {
             DukeUI.addConfirm(notes.get(i).getObjectClass());
-            dukeNotes.getNotes().add(notes.get(i));
+            dukeNotes.addNote(notes.get(i));
             dukeNotes.getNotes().get(nextSerialNum + i - 1).printList();
         }
         DukeUI.printOutstanding();
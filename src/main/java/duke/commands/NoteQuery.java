@@ -0,0 +1,196 @@
+package duke.commands;
+
+import duke.notes.Note;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A query compiled from the filters of a {@code ListCommand} object, made up of a single predicate that checks
+ * every filter given, and the order in which the {@code Note} objects selected are to be printed.
+ *
+ * Lists of {@code PARALLEL_THRESHOLD} or more {@code Note} objects are checked against the predicate in parallel
+ * on the fork-join pool, when it has more than one thread. The {@code Note} objects selected are merged in the order
+ * of the list, so the results are the same however the work is scheduled.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteQuery {
+
+    //VARIABLES-----------------------------------------
+    static final int PARALLEL_THRESHOLD = 32768;
+
+    private final Predicate<Note> predicate;
+    private final Comparator<Note> order;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code NoteQuery} object.
+     *
+     * @param predicate The predicate that {@code Note} objects selected fulfil.
+     * @param order The order of the {@code Note} objects selected, or null if they are kept in list order.
+     */
+    NoteQuery(Predicate<Note> predicate, Comparator<Note> order) {
+        this.predicate = predicate;
+        this.order = order;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to select the first {@code Note} objects fulfilling the query, in the order they are
+     * to be printed. When fewer than all of them are wanted, only that many are held at a time, in a heap of
+     * the last ones selected, so that a page is selected in O(n log k) time without ordering every
+     * {@code Note} object found. {@code Note} objects ordered the same are kept in the order given.
+     *
+     * @param candidates The {@code Note} objects that are to be assessed.
+     * @param notes The {@code ArrayList} to which the {@code Note} objects selected are added, in order.
+     * @param count The number of {@code Note} objects to be selected.
+     * @return int The number of {@code Note} objects that fulfil the query, including those not selected.
+     */
+    int select(List<Note> candidates, ArrayList<Note> notes, int count) {
+
+        if(candidates.size() >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return selectFrom(scan(candidates), notes, count);
+        }
+
+        int found = 0;
+        if(this.order == null) {
+            for (Note note : candidates) {
+                if(this.predicate.test(note) && found++ < count) {
+                    notes.add(note);
+                }
+            }
+            return found;
+        }
+
+        if(count == Integer.MAX_VALUE) {
+            for (Note note : candidates) {
+                if(this.predicate.test(note)) {
+                    notes.add(note);
+                    found++;
+                }
+            }
+            notes.sort(this.order);
+            return found;
+        }
+
+        PriorityQueue<Ranked> selected = new PriorityQueue<>(count > 0 ? count : 1, getRankOrder().reversed());
+        for (Note note : candidates) {
+            if(this.predicate.test(note)) {
+                offer(selected, new Ranked(note, found++), count);
+            }
+        }
+        drain(selected, notes);
+        return found;
+    }
+
+    /**
+     * This method is used to check all {@code Note} objects in a list against the predicate in parallel.
+     *
+     * @param candidates The {@code Note} objects that are to be assessed.
+     * @return ArrayList<Note> The {@code Note} objects that fulfil the query, in the order given.
+     */
+    private ArrayList<Note> scan(List<Note> candidates) {
+        return candidates.parallelStream()
+                .filter(this.predicate)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * This method is used to select the first {@code Note} objects in the order they are to be printed,
+     * out of {@code Note} objects already known to fulfil the query.
+     *
+     * @param matches The {@code Note} objects that fulfil the query, in list order.
+     * @param notes The {@code ArrayList} to which the {@code Note} objects selected are added, in order.
+     * @param count The number of {@code Note} objects to be selected.
+     * @return int The number of {@code Note} objects that fulfil the query, including those not selected.
+     */
+    private int selectFrom(ArrayList<Note> matches, ArrayList<Note> notes, int count) {
+
+        if(this.order == null) {
+            notes.addAll(count < matches.size() ? matches.subList(0, count) : matches);
+        } else if(count >= matches.size()) {
+            matches.sort(this.order);
+            notes.addAll(matches);
+        } else {
+            PriorityQueue<Ranked> selected = new PriorityQueue<>(count > 0 ? count : 1, getRankOrder().reversed());
+            for (int i = 0; i < matches.size(); i++) {
+                offer(selected, new Ranked(matches.get(i), i), count);
+            }
+            drain(selected, notes);
+        }
+        return matches.size();
+    }
+
+    /**
+     * This method is used to retrieve the order of the {@code Note} objects selected,
+     * with ties broken by their positions among those found.
+     *
+     * @return Comparator<Ranked> The order of the {@code Note} objects selected.
+     */
+    private Comparator<Ranked> getRankOrder() {
+        return Comparator.<Ranked, Note>comparing(ranked -> ranked.note, this.order)
+                .thenComparingInt(ranked -> ranked.position);
+    }
+
+    /**
+     * This method is used to offer a {@code Note} object found to a heap holding at most the number given,
+     * replacing the last one selected if the {@code Note} object found is ordered before it.
+     *
+     * @param selected The heap of the {@code Note} objects selected, with the last one selected at its head.
+     * @param ranked The {@code Note} object found.
+     * @param count The number of {@code Note} objects to be selected.
+     */
+    private static void offer(PriorityQueue<Ranked> selected, Ranked ranked, int count) {
+        if(selected.size() < count) {
+            selected.add(ranked);
+        } else if(count > 0 && selected.comparator().compare(ranked, selected.peek()) > 0) {
+            selected.poll();
+            selected.add(ranked);
+        }
+    }
+
+    /**
+     * This method is used to add the {@code Note} objects held in a heap to the selection, in order.
+     *
+     * @param selected The heap of the {@code Note} objects selected.
+     * @param notes The {@code ArrayList} to which the {@code Note} objects selected are added, in order.
+     */
+    private void drain(PriorityQueue<Ranked> selected, ArrayList<Note> notes) {
+        ArrayList<Ranked> ranks = new ArrayList<>(selected);
+        ranks.sort(getRankOrder());
+        for (Ranked ranked : ranks) {
+            notes.add(ranked.note);
+        }
+    }
+
+
+    //RANKED--------------------------------------------
+    /**
+     * A {@code Note} object selected, held with its position among those found to keep ties in order.
+     */
+    private static final class Ranked {
+
+        private final Note note;
+        private final int position;
+
+        /**
+         * This method is used to construct a {@code Ranked} object.
+         *
+         * @param note The {@code Note} object selected.
+         * @param position The position of the {@code Note} object among those found.
+         */
+        private Ranked(Note note, int position) {
+            this.note = note;
+            this.position = position;
+        }
+    }
+}
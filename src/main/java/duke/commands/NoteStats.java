@@ -0,0 +1,328 @@
+package duke.commands;
+
+import duke.notes.Note;
+import duke.notes.budget.Budget;
+import duke.notes.event.Event;
+import duke.notes.task.Deadline;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A snapshot of the {@code Note} objects managed by {@code Duke}, held as columns of primitive values
+ * (i.e. the type, month, completion status and budget amounts of each note), from which totals are worked out
+ * per type or per month without reaching the {@code Note} objects again.
+ *
+ * Snapshots of {@code NoteQuery.PARALLEL_THRESHOLD} or more notes are tallied in parallel on the fork-join pool,
+ * when it has more than one thread, in chunks of {@code CHUNK_SIZE} notes. The tallies of the chunks are merged
+ * in the order of the notes, so the totals are the same however the work is scheduled.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteStats {
+
+    //VARIABLES-----------------------------------------
+    static final int CHUNK_SIZE = 8192;
+
+    private final int size;
+    private final int[] types;
+    private final int[] months;
+    private final boolean[] isDone;
+    private final boolean[] isOverBudget;
+    private final double[] budgets;
+    private final double[] budgetsUsed;
+    private final double[] budgetBalances;
+    private final int firstMonth;
+    private final int monthCount;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code NoteStats} object, reading each {@code Note} object given once.
+     *
+     * @param notes The {@code Note} objects held in memory.
+     * @param coldNotes The {@code Note} objects read from the cold segment file.
+     * @exception CommandException If a {@code Note} object is of no known type.
+     */
+    NoteStats(List<Note> notes, List<Note> coldNotes) throws CommandException {
+
+        this.size = notes.size() + coldNotes.size();
+        this.types = new int[this.size];
+        this.months = new int[this.size];
+        this.isDone = new boolean[this.size];
+        this.isOverBudget = new boolean[this.size];
+        this.budgets = new double[this.size];
+        this.budgetsUsed = new double[this.size];
+        this.budgetBalances = new double[this.size];
+
+        HashMap<String, NoteType> noteTypes = new HashMap<>();
+        ZoneId zone = ZoneId.systemDefault();
+        int firstMonth = Integer.MAX_VALUE;
+        int lastMonth = Integer.MIN_VALUE;
+        int i = 0;
+        for (List<Note> segment : List.of(notes, coldNotes)) {
+            for (Note note : segment) {
+                NoteType noteType = noteTypes.get(note.getObjectClass());
+                if(noteType == null) {
+                    noteType = NoteType.getKey(note.getObjectClass());
+                    noteTypes.put(note.getObjectClass(), noteType);
+                }
+                this.types[i] = noteType.ordinal();
+                LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(getMonthTime(note)), zone);
+                this.months[i] = date.getYear() * 12 + date.getMonthValue() - 1;
+                firstMonth = Math.min(firstMonth, this.months[i]);
+                lastMonth = Math.max(lastMonth, this.months[i]);
+                this.isDone[i] = note.getIsDone();
+                Budget budget = note.getBudgetObject();
+                if(budget != null) {
+                    this.isOverBudget[i] = budget.getIsOverBudget();
+                    this.budgets[i] = budget.getBudgetRevised();
+                    this.budgetsUsed[i] = budget.getBudgetUsed();
+                    this.budgetBalances[i] = budget.getBudgetBalance();
+                }
+                i++;
+            }
+        }
+        this.firstMonth = this.size == 0 ? 0 : firstMonth;
+        this.monthCount = this.size == 0 ? 0 : lastMonth - firstMonth + 1;
+        for (int j = 0; j < this.size; j++) {
+            this.months[j] = this.months[j] - this.firstMonth;
+        }
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of notes in the snapshot.
+     *
+     * @return int The number of notes in the snapshot.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * This method is used to retrieve the date a note is counted under when notes are tallied per month,
+     * i.e. the target date of a deadline, the start date of an event, or the date the note was added otherwise.
+     *
+     * @param note The {@code Note} object.
+     * @return long The date the note is counted under, in epoch milliseconds.
+     */
+    private static long getMonthTime(Note note) {
+        if(note instanceof Deadline) {
+            return ((Deadline) note).getTargetDate().getTime();
+        } else if(note instanceof Event) {
+            return ((Event) note).getStartDate().getTime();
+        }
+        return note.getAddDate().getTime();
+    }
+
+    /**
+     * This method is used to retrieve the year and month of a group of notes tallied per month.
+     *
+     * @param group The group of the notes.
+     * @return LocalDate The first day of the month.
+     */
+    LocalDate getMonth(int group) {
+        int month = this.firstMonth + group;
+        return LocalDate.of(month / 12, month % 12 + 1, 1);
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to tally the notes in the snapshot per {@code NoteType}, grouped by its ordinal.
+     *
+     * @return Tally The totals of each {@code NoteType}.
+     */
+    Tally tallyByType() {
+        return tally(this.types, NoteType.values().length);
+    }
+
+    /**
+     * This method is used to tally the notes in the snapshot per month, from the earliest month a note falls in.
+     *
+     * @return Tally The totals of each month, retrieved with {@code getMonth}.
+     */
+    Tally tallyByMonth() {
+        return tally(this.months, this.monthCount);
+    }
+
+    /**
+     * This method is used to tally the notes in the snapshot per group, in a single pass over the columns.
+     *
+     * @param groups The group of each note.
+     * @param groupCount The number of groups.
+     * @return Tally The totals of each group.
+     */
+    private Tally tally(int[] groups, int groupCount) {
+
+        if(this.size < NoteQuery.PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            Tally tally = new Tally(groupCount);
+            tally.count(this, groups, 0, this.size);
+            return tally;
+        }
+
+        int chunkCount = (this.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ArrayList<Tally> chunks = IntStream.range(0, chunkCount).parallel()
+                .mapToObj(chunk -> {
+                    Tally tally = new Tally(groupCount);
+                    tally.count(this, groups, chunk * CHUNK_SIZE, Math.min(this.size, (chunk + 1) * CHUNK_SIZE));
+                    return tally;
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+        Tally tally = new Tally(groupCount);
+        for (Tally chunk : chunks) {
+            tally.merge(chunk);
+        }
+        return tally;
+    }
+
+
+    //TALLIES-------------------------------------------
+    /**
+     * The totals of each group of notes: the numbers of outstanding, completed and over-budget notes,
+     * and the sums of their budgets set, used and not used.
+     */
+    static final class Tally {
+
+        private final int[] outstandingCounts;
+        private final int[] completedCounts;
+        private final int[] overBudgetCounts;
+        private final double[] budgets;
+        private final double[] budgetsUsed;
+        private final double[] budgetBalances;
+
+        /**
+         * This method is used to construct an empty {@code Tally} object.
+         *
+         * @param groupCount The number of groups.
+         */
+        private Tally(int groupCount) {
+            this.outstandingCounts = new int[groupCount];
+            this.completedCounts = new int[groupCount];
+            this.overBudgetCounts = new int[groupCount];
+            this.budgets = new double[groupCount];
+            this.budgetsUsed = new double[groupCount];
+            this.budgetBalances = new double[groupCount];
+        }
+
+        /**
+         * This method is used to count a range of notes in the snapshot under their groups.
+         *
+         * @param stats The snapshot of the notes.
+         * @param groups The group of each note.
+         * @param from The position of the first note counted.
+         * @param to The position after the last note counted.
+         */
+        private void count(NoteStats stats, int[] groups, int from, int to) {
+            for (int i = from; i < to; i++) {
+                int group = groups[i];
+                if(stats.isDone[i]) {
+                    this.completedCounts[group]++;
+                } else {
+                    this.outstandingCounts[group]++;
+                }
+                if(stats.isOverBudget[i]) {
+                    this.overBudgetCounts[group]++;
+                }
+                this.budgets[group] += stats.budgets[i];
+                this.budgetsUsed[group] += stats.budgetsUsed[i];
+                this.budgetBalances[group] += stats.budgetBalances[i];
+            }
+        }
+
+        /**
+         * This method is used to add the totals of another tally of the same groups to this tally.
+         *
+         * @param other The tally to be added.
+         */
+        private void merge(Tally other) {
+            for (int group = 0; group < getGroupCount(); group++) {
+                this.outstandingCounts[group] += other.outstandingCounts[group];
+                this.completedCounts[group] += other.completedCounts[group];
+                this.overBudgetCounts[group] += other.overBudgetCounts[group];
+                this.budgets[group] += other.budgets[group];
+                this.budgetsUsed[group] += other.budgetsUsed[group];
+                this.budgetBalances[group] += other.budgetBalances[group];
+            }
+        }
+
+        /**
+         * This method is used to retrieve the number of groups tallied.
+         *
+         * @return int The number of groups.
+         */
+        int getGroupCount() {
+            return this.outstandingCounts.length;
+        }
+
+        /**
+         * This method is used to retrieve the number of outstanding notes in a group.
+         *
+         * @param group The group of the notes.
+         * @return int The number of outstanding notes.
+         */
+        int getOutstandingCount(int group) {
+            return this.outstandingCounts[group];
+        }
+
+        /**
+         * This method is used to retrieve the number of completed notes in a group.
+         *
+         * @param group The group of the notes.
+         * @return int The number of completed notes.
+         */
+        int getCompletedCount(int group) {
+            return this.completedCounts[group];
+        }
+
+        /**
+         * This method is used to retrieve the number of notes in a group whose budgets have been exceeded.
+         *
+         * @param group The group of the notes.
+         * @return int The number of over-budget notes.
+         */
+        int getOverBudgetCount(int group) {
+            return this.overBudgetCounts[group];
+        }
+
+        /**
+         * This method is used to retrieve the sum of the budgets set or revised of the notes in a group.
+         *
+         * @param group The group of the notes.
+         * @return double The sum of the budgets set or revised.
+         */
+        double getBudget(int group) {
+            return this.budgets[group];
+        }
+
+        /**
+         * This method is used to retrieve the sum of the budgets used of the notes in a group.
+         *
+         * @param group The group of the notes.
+         * @return double The sum of the budgets used.
+         */
+        double getBudgetUsed(int group) {
+            return this.budgetsUsed[group];
+        }
+
+        /**
+         * This method is used to retrieve the sum of the budget balances of the notes in a group.
+         *
+         * @param group The group of the notes.
+         * @return double The sum of the budget balances.
+         */
+        double getBudgetBalance(int group) {
+            return this.budgetBalances[group];
+        }
+    }
+}
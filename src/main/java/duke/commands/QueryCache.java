@@ -0,0 +1,193 @@
+package duke.commands;
+
+import duke.notes.Note;
+import duke.storage.DukeList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the results of {@code ListCommand} objects, so that a query repeated between changes to the notes
+ * is answered without selecting and ordering the {@code Note} objects again.
+ *
+ * Results are held under a key naming the query, along with the {@code DukeList} object and the version of it
+ * they were worked out from, and are only reused while that version is current. Results of queries over a window
+ * of time that moves with the current time (e.g. {@code #listnxt24}) also hold the time before which no note
+ * moves into or out of the window. The cache holds at most {@code capacity} results, and evicts the least
+ * recently used first.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class QueryCache {
+
+    //VARIABLES-----------------------------------------
+    static final int DEFAULT_CAPACITY = 32;
+
+    private final LinkedHashMap<String, Result> results;
+    private final int capacity;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct an empty {@code QueryCache} object.
+     *
+     * @param capacity The number of results held at most.
+     */
+    QueryCache(int capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                return size() > QueryCache.this.capacity;
+            }
+        };
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the results of a query, if they were worked out from the current version
+     * of the {@code DukeList} object given and are still valid at the time given.
+     *
+     * @param key The key naming the query.
+     * @param dukeNotes The {@code DukeList} object queried.
+     * @param time The time at which the query is made, in epoch milliseconds.
+     * @return Result The results of the query, or null if none are held that can be reused.
+     */
+    Result get(String key, DukeList dukeNotes, long time) {
+        Result result = this.results.get(key);
+        if(result == null || result.dukeNotes != dukeNotes || result.version != dukeNotes.getVersion()
+                || time >= result.validBefore) {
+            this.missCount++;
+            return null;
+        }
+        this.hitCount++;
+        return result;
+    }
+
+    /**
+     * This method is used to retrieve the number of queries answered from the cache.
+     *
+     * @return long The number of queries answered from the cache.
+     */
+    long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * This method is used to retrieve the number of queries that could not be answered from the cache.
+     *
+     * @return long The number of queries that could not be answered from the cache.
+     */
+    long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * This method is used to retrieve the number of results held.
+     *
+     * @return int The number of results held.
+     */
+    int size() {
+        return this.results.size();
+    }
+
+    /**
+     * This method is used to retrieve the number of results held at most.
+     *
+     * @return int The number of results held at most.
+     */
+    int getCapacity() {
+        return this.capacity;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to hold the results of a query, replacing any results held under the same key.
+     * Results that are no longer valid after the time the query was made are not held.
+     *
+     * @param key The key naming the query.
+     * @param result The results of the query.
+     * @param time The time at which the query was made, in epoch milliseconds.
+     */
+    void put(String key, Result result, long time) {
+        if(time < result.validBefore) {
+            this.results.put(key, result);
+        }
+    }
+
+    /**
+     * This method is used to remove all results held, and to reset the counters.
+     */
+    void clear() {
+        this.results.clear();
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+
+
+    //RESULTS-------------------------------------------
+    /**
+     * The results of a query, i.e. the page of {@code Note} objects selected, in the order they are printed.
+     * The lists of {@code Note} objects are held as given, and are not to be changed once held.
+     */
+    static final class Result {
+
+        private final DukeList dukeNotes;
+        private final long version;
+        private final long validBefore;
+        private final ArrayList<Note> notes;
+        private final ArrayList<Note> coldNotes;
+        private final int found;
+
+        /**
+         * This method is used to construct a {@code Result} object.
+         *
+         * @param dukeNotes The {@code DukeList} object queried.
+         * @param validBefore The time before which the results are valid, in epoch milliseconds.
+         * @param notes The {@code Note} objects selected from the {@code DukeList} object, in order.
+         * @param coldNotes The {@code Note} objects selected from the cold segment file, in order.
+         * @param found The number of {@code Note} objects that fulfil the query, including those not selected.
+         */
+        Result(DukeList dukeNotes, long validBefore, ArrayList<Note> notes, ArrayList<Note> coldNotes, int found) {
+            this.dukeNotes = dukeNotes;
+            this.version = dukeNotes.getVersion();
+            this.validBefore = validBefore;
+            this.notes = notes;
+            this.coldNotes = coldNotes;
+            this.found = found;
+        }
+
+        /**
+         * This method is used to retrieve the {@code Note} objects selected from the {@code DukeList} object.
+         *
+         * @return ArrayList<Note> The {@code Note} objects selected, in order.
+         */
+        ArrayList<Note> getNotes() {
+            return this.notes;
+        }
+
+        /**
+         * This method is used to retrieve the {@code Note} objects selected from the cold segment file.
+         *
+         * @return ArrayList<Note> The {@code Note} objects selected, in order.
+         */
+        ArrayList<Note> getColdNotes() {
+            return this.coldNotes;
+        }
+
+        /**
+         * This method is used to retrieve the number of {@code Note} objects that fulfil the query.
+         *
+         * @return int The number of {@code Note} objects that fulfil the query, including those not selected.
+         */
+        int getFound() {
+            return this.found;
+        }
+    }
+}
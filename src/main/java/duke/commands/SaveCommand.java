@@ -53,22 +53,18 @@ public class SaveCommand extends DukeCommand {
 
     /**
      * This method executes the function of the {@code SaveCommand} object via auto-save in the background.
+     * The changes are queued at once and written to file on a background thread; a failed write is
+     * reported by the next auto-save, or on exit.
      *
      * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
      * @param dukeStorage The {@code DukeStorage} object that holds access to the saved files of {@code Duke}.
-     * @return boolean True if the auto-save has been performed successfully. 
+     * @return boolean True if the auto-save has been queued successfully.
      */
     public boolean autoSave(DukeList dukeNotes, DukeStorage dukeStorage) {
 
-        try {
-            if (autoSave) {
-                dukeStorage.archiveToFile();
-                dukeStorage.writeToFile(dukeNotes);
-                return true;
-            } else {
-                return false;
-            }
-        } catch (IOException e) {
+        if (autoSave) {
+            return dukeStorage.saveInBackground(dukeNotes);
+        } else {
             return false;
         }
     }
@@ -0,0 +1,203 @@
+package duke.commands;
+
+import duke.storage.DukeList;
+import duke.storage.DukeStorage;
+import duke.storage.FsyncPolicy;
+import duke.ui.DukeUI;
+
+import java.io.IOException;
+
+/**
+ * An extension of the {@code DukeCommand} object that shows or changes the storage settings of {@code Duke},
+ * which are kept in a settings file beside the saved file.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+public class SettingsCommand extends DukeCommand {
+
+    //VARIABLES-----------------------------------------
+    private int undoDepth = -1;
+    private Boolean isJournalMode = null;
+    private int checkpointInterval = -1;
+    private int saveDelay = -1;
+    private FsyncPolicy fsyncPolicy = null;
+    private int compressionLevel = -1;
+    private Boolean isCompressedSaves = null;
+    private Boolean isLazyLoading = null;
+    private Integer coldAgeDays = null;
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method constructs a {@code SettingsCommand} object, which shows the storage settings
+     * and changes those given afterwards.
+     *
+     * @param cmdType The type of {@code DukeCommand} being constructed.
+     */
+    public SettingsCommand(String cmdType) throws CommandException {
+        super(cmdType);
+    }
+
+    /**
+     * This method initialises a {@code SettingsCommand} object.
+     */
+    @SuppressWarnings("unused")
+    public SettingsCommand() { super(); }
+
+
+    //SET STATEMENTS------------------------------------
+    /**
+     * This method is used to set the number of saves that could be undone in a row.
+     *
+     * @param undoDepth The new undo depth.
+     */
+    public void setUndoDepth(int undoDepth) {
+        this.undoDepth = undoDepth;
+    }
+
+    /**
+     * This method is used to toggle the journal mode on or off.
+     *
+     * @param isJournalMode True if auto-saves should append changes to the journal.
+     */
+    public void setJournalMode(boolean isJournalMode) {
+        this.isJournalMode = isJournalMode;
+    }
+
+    /**
+     * This method is used to set the number of saves the journal may hold before it is folded into the saved file.
+     *
+     * @param checkpointInterval The new checkpoint interval.
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * This method is used to set the time that auto-saves wait for further changes before being written to file.
+     *
+     * @param saveDelay The new time to wait, in milliseconds.
+     */
+    public void setSaveDelay(int saveDelay) {
+        this.saveDelay = saveDelay;
+    }
+
+    /**
+     * This method is used to set how often saves are forced onto the hard drive.
+     *
+     * @param fsyncPolicy The new policy for forcing saves onto the hard drive.
+     */
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * This method is used to set the compression level used for archived and compressed files.
+     *
+     * @param compressionLevel The new compression level.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * This method is used to toggle the compression of full saves on or off.
+     *
+     * @param isCompressedSaves True if full saves should be compressed.
+     */
+    public void setCompressedSaves(boolean isCompressedSaves) {
+        this.isCompressedSaves = isCompressedSaves;
+    }
+
+    /**
+     * This method is used to toggle lazy loading on or off, from the next time the saved file is loaded.
+     *
+     * @param isLazyLoading True if notes should be read from the saved file only when first reached.
+     */
+    public void setLazyLoading(boolean isLazyLoading) {
+        this.isLazyLoading = isLazyLoading;
+    }
+
+    /**
+     * This method is used to set how long ago a note must have concluded before it is moved out of the saved file,
+     * from the next time the saved file is loaded.
+     *
+     * @param coldAgeDays The number of days since a note concluded, or a negative number to keep all notes.
+     */
+    public void setColdAgeDays(int coldAgeDays) {
+        this.coldAgeDays = coldAgeDays;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to check whether any storage setting is to be changed.
+     *
+     * @return boolean True if any storage setting is to be changed.
+     */
+    public boolean getIsChanged() {
+        return this.undoDepth >= 0 || this.isJournalMode != null || this.checkpointInterval > 0
+                || this.saveDelay >= 0 || this.fsyncPolicy != null || this.compressionLevel >= 0
+                || this.isCompressedSaves != null || this.isLazyLoading != null || this.coldAgeDays != null;
+    }
+
+    /**
+     * This method executes the function of the {@code SettingsCommand} object.
+     *
+     * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
+     * @param dukeStorage The {@code DukeStorage} object that holds access to the saved files of {@code Duke}.
+     */
+    public void execute(DukeList dukeNotes, DukeStorage dukeStorage) {
+
+        DukeUI.printDivider();
+        if(getIsChanged()) {
+            try {
+                if(this.undoDepth >= 0) {
+                    dukeStorage.setUndoDepth(this.undoDepth);
+                }
+                if(this.isJournalMode != null) {
+                    dukeStorage.setJournalMode(this.isJournalMode);
+                }
+                if(this.checkpointInterval > 0) {
+                    dukeStorage.setCheckpointInterval(this.checkpointInterval);
+                }
+                if(this.saveDelay >= 0) {
+                    dukeStorage.setSaveDelay(this.saveDelay);
+                }
+                if(this.fsyncPolicy != null) {
+                    dukeStorage.setFsyncPolicy(this.fsyncPolicy);
+                }
+                if(this.compressionLevel >= 0) {
+                    dukeStorage.setCompressionLevel(this.compressionLevel);
+                }
+                if(this.isCompressedSaves != null) {
+                    dukeStorage.setCompressedSaves(this.isCompressedSaves);
+                }
+                if(this.isLazyLoading != null) {
+                    dukeStorage.setLazyLoading(this.isLazyLoading);
+                }
+                if(this.coldAgeDays != null) {
+                    dukeStorage.setColdAgeDays(this.coldAgeDays);
+                }
+                dukeStorage.writeSettings();
+                System.out.println("    The storage settings have been changed and saved.\n");
+            } catch (IOException e) {
+                System.out.println("    The storage settings have been changed, but could not be saved.");
+                System.out.println("    They will be back to as they were the next time I start.\n");
+            }
+        }
+
+        System.out.println("    Here are the storage settings:-");
+        System.out.println("      Undo depth            : " + dukeStorage.getUndoDepth() + " save(s) in a row");
+        System.out.println("      Journal mode          : " + (dukeStorage.getJournalMode() ? "on" : "off"));
+        System.out.println("      Checkpoint interval   : " + dukeStorage.getCheckpointInterval() + " save(s)");
+        System.out.println("      Auto-save delay       : " + dukeStorage.getSaveDelay() + " ms");
+        System.out.println("      Forced to hard drive  : " + dukeStorage.getFsyncPolicy().toString().toLowerCase());
+        System.out.println("      Compression level     : " + dukeStorage.getCompressionLevel() + " of 9");
+        System.out.println("      Compressed saves      : " + (dukeStorage.getCompressedSaves() ? "on" : "off"));
+        System.out.println("      Lazy loading          : " + (dukeStorage.getLazyLoading() ? "on" : "off"));
+        System.out.println("      Cold age              : " + (dukeStorage.getColdAgeDays() < 0 ? "off"
+                : dukeStorage.getColdAgeDays() + " day(s)"));
+        DukeUI.printDivider();
+    }
+}
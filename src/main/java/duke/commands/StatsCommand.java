@@ -0,0 +1,120 @@
+package duke.commands;
+
+import duke.storage.DukeList;
+import duke.storage.DukeStorage;
+import duke.ui.DukeUI;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * An extension of the {@code DukeCommand} object that prints the numbers of outstanding, completed and over-budget
+ * {@code Note} objects, and the sums of their budgets, per type of note and/or per month.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+public class StatsCommand extends DukeCommand {
+
+    //VARIABLES-----------------------------------------
+    private static final DateTimeFormatter STATS_MONTH = DateTimeFormatter.ofPattern("MMM-yyyy");
+    private static final String STATS_ROW = "      %-10s%6s%6s%15s%15s%15s%6s%n";
+    private static final String STATS_TOTALS = "      %-10s%6d%6d %,14.2f %,14.2f %,14.2f%6d%n";
+
+    private String groupBy;
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method constructs a {@code StatsCommand} object.
+     *
+     * @param cmdType The type of {@code DukeCommand} being constructed.
+     * @param groupBy The grouping of the {@code Note} objects tallied, i.e. "type", "month" or "all" for both.
+     * @exception CommandException If there are errors in the command input.
+     */
+    public StatsCommand(String cmdType, String groupBy) throws CommandException {
+
+        super(cmdType);
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * This method initialises a {@code StatsCommand} object.
+     */
+    @SuppressWarnings("unused")
+    public StatsCommand() { super(); }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method prints the totals of each group tallied that holds any {@code Note} object, followed by
+     * the totals of all groups.
+     *
+     * @param title The heading of the groups, e.g. "Type".
+     * @param labels The label of each group.
+     * @param tally The totals of each group.
+     */
+    private void printTally(String title, String[] labels, NoteStats.Tally tally) {
+
+        int outstanding = 0;
+        int completed = 0;
+        int overBudget = 0;
+        double budget = 0;
+        double budgetUsed = 0;
+        double budgetBalance = 0;
+        System.out.printf(STATS_ROW, title, "Open", "Done", "Budget", "Used", "Balance", "Over");
+        for (int group = 0; group < tally.getGroupCount(); group++) {
+            if(tally.getOutstandingCount(group) + tally.getCompletedCount(group) == 0) {
+                continue;
+            }
+            System.out.printf(STATS_TOTALS, labels[group], tally.getOutstandingCount(group),
+                    tally.getCompletedCount(group), tally.getBudget(group), tally.getBudgetUsed(group),
+                    tally.getBudgetBalance(group), tally.getOverBudgetCount(group));
+            outstanding += tally.getOutstandingCount(group);
+            completed += tally.getCompletedCount(group);
+            overBudget += tally.getOverBudgetCount(group);
+            budget += tally.getBudget(group);
+            budgetUsed += tally.getBudgetUsed(group);
+            budgetBalance += tally.getBudgetBalance(group);
+        }
+        System.out.printf(STATS_TOTALS, "Total", outstanding, completed, budget, budgetUsed, budgetBalance,
+                overBudget);
+        System.out.print("\n");
+    }
+
+    /**
+     * This method executes the function of the {@code StatsCommand} object.
+     * Completed {@code Note} objects moved to the cold segment file are tallied along with the others.
+     *
+     * @param dukeNotes The {@code DukeList} object that holds the notes managed by {@code Duke}.
+     * @param dukeStorage The {@code DukeStorage} object that holds access to the saved files of {@code Duke}.
+     */
+    public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
+            throws CommandException, IOException, ParseException {
+
+        DukeUI.printDivider();
+        NoteStats stats = new NoteStats(dukeNotes.getNotes(), dukeStorage.readColdNotes());
+        if(stats.size() == 0) {
+            DukeUI.standardWrap("You haven't asked me to keep any notes.");
+        } else {
+            if(!this.groupBy.equals("month")) {
+                NoteType[] noteTypes = NoteType.values();
+                String[] labels = new String[noteTypes.length];
+                for (int i = 0; i < noteTypes.length; i++) {
+                    labels[i] = NoteType.getCONSTRUCTOR(noteTypes[i].toString());
+                }
+                System.out.println("    Here is how your notes add up by type:-");
+                printTally("Type", labels, stats.tallyByType());
+            }
+            if(!this.groupBy.equals("type")) {
+                NoteStats.Tally tally = stats.tallyByMonth();
+                String[] labels = new String[tally.getGroupCount()];
+                for (int i = 0; i < labels.length; i++) {
+                    labels[i] = STATS_MONTH.format(stats.getMonth(i));
+                }
+                System.out.println("    Here is how your notes add up by month:-");
+                printTally("Month", labels, tally);
+            }
+        }
+        DukeUI.printDivider();
+    }
+}
@@ -55,14 +55,13 @@ public class TransferCommand extends DukeCommand {
     public void execute(DukeList dukeNotes, DukeStorage dukeStorage)
             throws CommandException, IndexOutOfBoundsException {
 
-        if(this.from > dukeNotes.getNotes().size() || this.to > dukeNotes.getNotes().size()) {
+        int fromIndex = dukeNotes.findIndex(this.from);
+        int toIndex = dukeNotes.findIndex(this.to);
+        if(fromIndex < 0 || toIndex < 0) {
             throw new IndexOutOfBoundsException();
         }
-
-        for(int i=0; i<dukeNotes.getNotes().size(); i++){
-            if(dukeNotes.getNotes().get(i).getSerialNum() == this.from) { this.from = i; }
-            if(dukeNotes.getNotes().get(i).getSerialNum() == this.to) { this.to = i; }
-        }
+        this.from = fromIndex;
+        this.to = toIndex;
 
 
         Budget fromBudget = dukeNotes.getNotes().get(this.from).getBudgetObject();
@@ -75,6 +74,8 @@ public class TransferCommand extends DukeCommand {
         DukeUI.printDivider();
         boolean isSuccessful = fromBudget.transferBudgetOut(this.amount, toBudget);
         if(isSuccessful){
+            dukeNotes.updateNote(dukeNotes.getNotes().get(this.from));
+            dukeNotes.updateNote(dukeNotes.getNotes().get(this.to));
             System.out.println("    Budget transferred from...");
             dukeNotes.getNotes().get(this.from).printList();
             System.out.println("    to...");
@@ -74,8 +74,16 @@ public class UndoCommand extends DukeCommand {
         DukeUI.printDivider();
         if(this.confirmUndo) {
 
-            switch (dukeStorage.revertToLastSave(dukeNotes)) {
-            case -1 -> System.out.println("    I have undone the maximum number of times.\n");
+            int undosLeft = dukeStorage.revertToLastSave(dukeNotes);
+            switch (undosLeft) {
+            case -1 -> {
+                if(dukeStorage.getUndoDepth() == 0) {
+                    System.out.println("    Undo has been turned off in the storage settings.\n");
+                } else {
+                    System.out.println("    I have undone the maximum number of times, i.e. "
+                            + dukeStorage.getUndoDepth() + " save(s) in a row.\n");
+                }
+            }
             case 0 -> {
                 System.out.println("    I have undone the last save operation.");
                 System.out.println("    You have no more opportunities to undo.\n");
@@ -84,9 +92,9 @@ public class UndoCommand extends DukeCommand {
                 System.out.println("    I have undone the last save operation.");
                 System.out.println("    You have 1 last opportunity to undo.\n");
             }
-            case 2 -> {
+            default -> {
                 System.out.println("    I have undone the last save operation.");
-                System.out.println("    You have 2 more opportunities to undo.\n");
+                System.out.println("    You have " + undosLeft + " more opportunities to undo.\n");
             }
             }
         } else {
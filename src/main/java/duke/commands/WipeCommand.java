@@ -85,8 +85,7 @@ public class WipeCommand extends DukeCommand {
         if(this.confirmWipe) {
             ArrayList<Integer> dukeMemory = new ArrayList<>();
             for(int i=0; i<dukeNotes.getNotes().size(); i++) {
-                int serialNum = dukeNotes.getNotes().get(i).getSerialNum();
-                dukeMemory.add(serialNum);
+                dukeMemory.add(i + 1);
             }
 
             DeleteCommand wipeMemory = new DeleteCommand("DELETE", dukeMemory);
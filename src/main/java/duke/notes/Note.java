@@ -20,10 +20,13 @@ public abstract class Note {
 
     //VARIABLES-----------------------------------------
     protected int serialNum;
+    private int noteId = 0;
     protected String description;
     protected Date addDate;
     protected Date doneDate = null;
     protected boolean isDone = false;
+    protected long version = 0;
+    private long savedVersion = 0;
 
 
     //CONSTRUCTORS--------------------------------------
@@ -68,6 +71,7 @@ public abstract class Note {
         }
         this.isDone = true;
         this.doneDate = doneDate;
+        this.version++;
         System.out.println("    Noted! I've marked Note #" + this.serialNum + " as done.");
         return true;
     }
@@ -82,6 +86,16 @@ public abstract class Note {
         this.serialNum = serialNum;
     }
 
+    /**
+     * This method is used to assign a stable identifier to {@code Note} objects, which is kept
+     * however the {@code Note} object is renumbered.
+     *
+     * @param noteId The identifier assigned by the {@code DukeList} object holding the {@code Note} object.
+     */
+    public void setNoteId(int noteId) {
+        this.noteId = noteId;
+    }
+
     /**
      * This method is used to set or edit the description of {@code Note} objects.
      *
@@ -89,6 +103,14 @@ public abstract class Note {
      */
     public void setDescription(String description) {
         this.description = description;
+        this.version++;
+    }
+
+    /**
+     * This method is used to record that the current version of the {@code Note} object has been saved.
+     */
+    public void markAsSaved() {
+        this.savedVersion = getVersion();
     }
 
 
@@ -102,6 +124,15 @@ public abstract class Note {
         return (this.serialNum);
     }
 
+    /**
+     * This method is used to retrieve the stable identifier of the {@code Note} object.
+     *
+     * @return int The identifier assigned by the {@code DukeList} object holding it, or 0 if none is assigned.
+     */
+    public int getNoteId() {
+        return this.noteId;
+    }
+
     /**
      * This method is used to retrieve the description of the {@code Note} object.
      *
@@ -121,6 +152,36 @@ public abstract class Note {
         return (this.addDate);
     }
 
+    /**
+     * This method is used to retrieve the {@code Date} object reflecting
+     * the date the {@code Note} object was completed.
+     *
+     * @return Date The {@code Date} object reflecting the date the {@code Note} object was completed, if any.
+     */
+    public Date getDoneDate() {
+        return (this.doneDate);
+    }
+
+    /**
+     * This method is used to retrieve the number of changes made to the {@code Note} object,
+     * including its {@code Budget} object if any, since it was created or reloaded.
+     *
+     * @return long The number of changes made to the {@code Note} object.
+     */
+    public long getVersion() {
+        Budget budget = getBudgetObject();
+        return budget == null ? this.version : this.version + budget.getVersion();
+    }
+
+    /**
+     * This method is used to check whether changes made to the {@code Note} object have yet to be saved.
+     *
+     * @return boolean True if the {@code Note} object has changed since it was last saved.
+     */
+    public boolean getIsChanged() {
+        return getVersion() != this.savedVersion;
+    }
+
     /**
      * This method is used to retrieve the completion status of the {@code Note} object.
      *
@@ -136,7 +197,18 @@ public abstract class Note {
      * @exception CommandException If there are errors in the command input.
      */
     public void printList() throws CommandException {
-        System.out.print("    " + String.format("%3d", this.serialNum));
+        printList(String.valueOf(this.serialNum));
+    }
+
+    /**
+     * This method is used to print the {@code Note} object in a list under the label given
+     * rather than its serial number, e.g. for notes that can no longer be changed by their serial numbers.
+     *
+     * @param label The label of the {@code Note} object in the list.
+     * @exception CommandException If there are errors in the command input.
+     */
+    public void printList(String label) throws CommandException {
+        System.out.print("    " + String.format("%3s", label));
         System.out.print(". ");
         System.out.print(this.getTaskIcon());
         System.out.print(this.getStatusIcon() + " ");
@@ -182,6 +254,18 @@ public abstract class Note {
      */
     public abstract void deleteExistingNote();
 
+    /**
+     * This method is used to count an existing {@code Note} object in the class-level members,
+     * e.g. when the class-level members are rebuilt after {@code Note} objects are reloaded.
+     */
+    public abstract void countExistingNote();
+
+    /**
+     * This method is used to remove an existing {@code Note} object from the class-level members without
+     * any message, e.g. when a {@code Note} object was already counted before it was reconstructed.
+     */
+    public abstract void uncountExistingNote();
+
     /**
      * This method exports the {@code Note} object as a string in a format that is
      * readable and re-constructable as a {@code Note} object.
@@ -21,6 +21,7 @@ public class Budget {
     private double budgetBalance = 0;
     private boolean isRevised = false;
     private boolean isOverBudget;
+    private long version = 0;
 
     private static double totalBudgetSet;
     private static double totalBudgetUsed = 0;
@@ -79,6 +80,7 @@ public class Budget {
         totalBudgetUsed = totalBudgetUsed + budgetUsed;
         totalBudgetBalance = totalBudgetBalance + this.budgetBalance;
         isTotalOverBudget = totalBudgetBalance < 0;
+        this.version++;
     }
 
     /**
@@ -98,6 +100,7 @@ public class Budget {
         }
         this.isOverBudget = this.budgetBalance < 0;
         this.isRevised = true;
+        this.version++;
     }
 
     /**
@@ -128,6 +131,7 @@ public class Budget {
             totalBudgetBalance = totalBudgetBalance + this.budgetBalance;
         }
         this.isRevised = true;
+        this.version++;
         target.transferBudgetIn(balanceOut);
         System.out.println("    The budget transfer is successful.");
         return true;
@@ -144,6 +148,32 @@ public class Budget {
         isTotalOverBudget = totalBudgetBalance < 0;
     }
 
+    /**
+     * This method is used to count an existing {@code Budget} object in the class-level members,
+     * e.g. when the class-level members are rebuilt after {@code Budget} objects are reloaded.
+     */
+    public void countExistingBudget() {
+        totalBudgetSet = totalBudgetSet + this.BUDGET_SET;
+        totalBudgetUsed = totalBudgetUsed + this.budgetUsed;
+        totalBudgetBalance = totalBudgetBalance + this.budgetBalance;
+        isTotalOverBudget = totalBudgetBalance < 0;
+    }
+
+    /**
+     * This method is used to add to the class-level members the totals of {@code Budget} objects
+     * that have been counted without being constructed.
+     *
+     * @param budgetSet The total initial budget amount set.
+     * @param budgetUsed The total amount of budget utilised.
+     * @param budgetBalance The total amount of budget not utilised.
+     */
+    public static void countExistingBudgets(double budgetSet, double budgetUsed, double budgetBalance) {
+        totalBudgetSet = totalBudgetSet + budgetSet;
+        totalBudgetUsed = totalBudgetUsed + budgetUsed;
+        totalBudgetBalance = totalBudgetBalance + budgetBalance;
+        isTotalOverBudget = totalBudgetBalance < 0;
+    }
+
     /**
      * This method is used to reset the static variables of the {@code Budget}
      * class in the event of a program reset.
@@ -157,6 +187,15 @@ public class Budget {
 
 
     //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of changes made to the {@code Budget} object since it was created.
+     *
+     * @return long The number of changes made to the {@code Budget} object.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * This method is used to retrieve the initial budget set.
      *
@@ -184,6 +223,15 @@ public class Budget {
         return this.budgetUsed;
     }
 
+    /**
+     * This method is used to retrieve the amount of budget not utilised.
+     *
+     * @return double The amount of budget not utilised.
+     */
+    public double getBudgetBalance(){
+        return this.budgetBalance;
+    }
+
     /**
      * This method is to retrieve the revision status of the {@code Budget} object
      * (i.e. whether the initial budget amount has been revised).
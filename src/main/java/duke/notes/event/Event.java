@@ -155,6 +155,40 @@ public class Event extends Note {
         }
     }
 
+    /**
+     * This method is used to count an existing {@code Event} object in the class-level members.
+     */
+    public void countExistingNote() {
+        if(isDone){
+            eventsCompleted++;
+        } else {
+            eventsOutstanding++;
+        }
+    }
+
+    /**
+     * This method is used to remove an existing {@code Event} object from the class-level members.
+     */
+    public void uncountExistingNote() {
+        if(isDone){
+            eventsCompleted--;
+        } else {
+            eventsOutstanding--;
+        }
+    }
+
+    /**
+     * This method is used to add to the class-level members a number of {@code Event} objects
+     * that have been counted without being constructed.
+     *
+     * @param outstanding The number of outstanding {@code Event} objects.
+     * @param completed The number of completed {@code Event} objects.
+     */
+    public static void countExistingEvents(int outstanding, int completed) {
+        eventsOutstanding = eventsOutstanding + outstanding;
+        eventsCompleted = eventsCompleted + completed;
+    }
+
     /**
      * This method is used to set or edit the start date and time of the {@code Event} object.
      *
@@ -175,6 +209,7 @@ public class Event extends Note {
         } else {
             this.startDate = startDate;
         }
+        this.version++;
     }
 
     /**
@@ -196,6 +231,7 @@ public class Event extends Note {
         }
         this.endDate = endDate;
         this.durationMinutes = (endDate.getTime() - this.startDate.getTime()) / 60000;
+        this.version++;
     }
 
 
@@ -119,6 +119,7 @@ public class Deadline extends Task {
         }
         this.targetDate = targetDate;
         this.timesExtended++;
+        this.version++;
     }
 
 
@@ -166,6 +167,15 @@ public class Deadline extends Task {
         }
     }
 
+    /**
+     * This method is used to retrieve whether the {@code Deadline} object had concluded ahead of the target date.
+     *
+     * @return boolean True if the {@code Deadline} had concluded ahead of the target date.
+     */
+    public boolean getIsDoneAhead() {
+        return (this.doneAhead);
+    }
+
     /**
      * This method exports the {@code Deadline} object as a string in a format that is
      * readable and re-constructable as a {@code Deadline} object.
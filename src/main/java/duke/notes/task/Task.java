@@ -129,6 +129,40 @@ public class Task extends Note {
         }
     }
 
+    /**
+     * This method is used to count an existing {@code Task} object in the class-level members.
+     */
+    public void countExistingNote() {
+        if(isDone){
+            tasksCompleted++;
+        } else {
+            tasksOutstanding++;
+        }
+    }
+
+    /**
+     * This method is used to remove an existing {@code Task} object from the class-level members.
+     */
+    public void uncountExistingNote() {
+        if(isDone){
+            tasksCompleted--;
+        } else {
+            tasksOutstanding--;
+        }
+    }
+
+    /**
+     * This method is used to add to the class-level members a number of {@code Task} objects
+     * that have been counted without being constructed.
+     *
+     * @param outstanding The number of outstanding {@code Task} objects.
+     * @param completed The number of completed {@code Task} objects.
+     */
+    public static void countExistingTasks(int outstanding, int completed) {
+        tasksOutstanding = tasksOutstanding + outstanding;
+        tasksCompleted = tasksCompleted + completed;
+    }
+
     //GET STATEMENTS------------------------------------
     /**
      * This method is used to retrieve the number of outstanding {@code Task} objects.
@@ -2,6 +2,8 @@ package duke.parser;
 
 import duke.commands.*;
 import duke.commands.NoteType;
+import duke.storage.DukeStorage;
+import duke.storage.FsyncPolicy;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
@@ -49,7 +51,7 @@ public interface DukeParser extends DateParser {
                         } else {
                             String infoType = inputTokens[1];
                             if(infoType.equals("gen") || infoType.equals("new") || infoType.equals("info") ||
-                                    infoType.equals("mgmt")) {
+                                    infoType.equals("mgmt") || infoType.equals("cache")) {
                                 return new InfoCommand(cmdType, infoType);
                             }
                             throw new CommandException("There seems to be invalid characters behind " +
@@ -62,6 +64,11 @@ public interface DukeParser extends DateParser {
                         String textFilter = null;
                         Date dateFilter = null;
                         Date addedFilter = null;
+                        int resultLimit = 0;
+                        int resultPage = 1;
+                        double minBudget = Double.NEGATIVE_INFINITY;
+                        double maxBudget = Double.POSITIVE_INFINITY;
+                        int resultTop = 0;
                         if (inputTokens.length == 1) {
                             return new ListCommand(cmdType);
                         } else {
@@ -97,13 +104,47 @@ public interface DukeParser extends DateParser {
                                 addedFilter = DateParser.understandDateInput(listTokens[0].trim() + " 00:00");
                             }
 
-                            if(noteFilter == null && textFilter == null && dateFilter == null && addedFilter == null) {
+                            if(input.contains("/limit")) {
+                                resultLimit = readCount(input, "/limit", "Limit");
+                            }
+
+                            if(input.contains("/page")) {
+                                resultPage = readCount(input, "/page", "Page");
+                                if(resultLimit == 0) {
+                                    resultLimit = ListCommand.DEFAULT_PAGE_SIZE;
+                                }
+                            }
+
+                            if(input.contains("/min") || input.contains("/max") || input.contains("/top")) {
+                                if(!CmdType.getCOMMAND(cmdType).equals("#listbudgets")) {
+                                    throw new CommandException("Budget filters are incompatible with " +
+                                            cmdType + ".");
+                                }
+                                if(input.contains("/min")) {
+                                    minBudget = readAmount(input, "/min");
+                                }
+                                if(input.contains("/max")) {
+                                    maxBudget = readAmount(input, "/max");
+                                }
+                                if(minBudget > maxBudget) {
+                                    throw new CommandException("The minimum Budget specified is more than " +
+                                            "the maximum Budget specified.");
+                                }
+                                if(input.contains("/top")) {
+                                    resultTop = readCount(input, "/top", "Number of Budgets");
+                                }
+                            }
+
+                            if(noteFilter == null && textFilter == null && dateFilter == null && addedFilter == null
+                                    && resultLimit == 0 && minBudget == Double.NEGATIVE_INFINITY
+                                    && maxBudget == Double.POSITIVE_INFINITY && resultTop == 0) {
                                 throw new CommandException("There seems to be invalid characters behind " +
                                         cmdType + ".");
                             }
 
                             return new ListCommand(cmdType, noteFilter, textFilter, dateFilter, addedFilter,
-                                    CmdType.getTIMELINE_DAYS(cmdType));
+                                    CmdType.getTIMELINE_DAYS(cmdType), resultLimit, resultPage,
+                                    minBudget, maxBudget, resultTop);
                         }
                     }
                     case "LISTNXT24", "LISTNXT48", "LISTNXT72" -> {
@@ -111,6 +152,8 @@ public interface DukeParser extends DateParser {
                         String textFilter = null;
                         Date dateFilter = new Date();
                         Date addedFilter = null;
+                        int resultLimit = 0;
+                        int resultPage = 1;
                         if (inputTokens.length == 1) {
                             return new ListCommand(cmdType, dateFilter, CmdType.getTIMELINE_DAYS(cmdType));
                         } else {
@@ -135,19 +178,35 @@ public interface DukeParser extends DateParser {
                                         cmdType + ".");
                             }
 
+                            if(input.contains("/min") || input.contains("/max") || input.contains("/top")) {
+                                throw new CommandException("Budget filters are incompatible with " +
+                                        cmdType + ".");
+                            }
+
                             if(input.contains("/added")) {
                                 String[] listTokens = input.split("/added", 2);
                                 listTokens = listTokens[1].trim().split("/", 2);
                                 addedFilter = DateParser.understandDateInput(listTokens[0].trim() + " 00:00");
                             }
 
-                            if(noteFilter == null && textFilter == null && addedFilter == null) {
+                            if(input.contains("/limit")) {
+                                resultLimit = readCount(input, "/limit", "Limit");
+                            }
+
+                            if(input.contains("/page")) {
+                                resultPage = readCount(input, "/page", "Page");
+                                if(resultLimit == 0) {
+                                    resultLimit = ListCommand.DEFAULT_PAGE_SIZE;
+                                }
+                            }
+
+                            if(noteFilter == null && textFilter == null && addedFilter == null && resultLimit == 0) {
                                 throw new CommandException("There seems to be invalid characters behind " +
                                         cmdType + ".");
                             }
 
                             return new ListCommand(cmdType, noteFilter, textFilter, dateFilter, addedFilter,
-                                    CmdType.getTIMELINE_DAYS(cmdType));
+                                    CmdType.getTIMELINE_DAYS(cmdType), resultLimit, resultPage);
                         }
                     }
                     case "DELETE" -> {
@@ -346,6 +405,31 @@ public interface DukeParser extends DateParser {
                             }
                         }
                     }
+                    case "REPORT" -> {
+                        if (inputTokens.length == 1) {
+                            return new StatsCommand(cmdType, "all");
+                        } else {
+                            throw new CommandException("There seems to be invalid characters behind " +
+                                    cmdType + ".");
+                        }
+                    }
+                    case "STATS" -> {
+                        if (inputTokens.length == 1) {
+                            return new StatsCommand(cmdType, "type");
+                        } else if (input.contains("/by")) {
+                            String[] statsTokens = input.split("/by", 2);
+                            statsTokens = statsTokens[1].trim().split("/", 2);
+                            String groupBy = statsTokens[0].trim().toLowerCase();
+                            if(!groupBy.equals("type") && !groupBy.equals("month")) {
+                                throw new CommandException("There seems to be an error with the " +
+                                        "Grouping specified.");
+                            }
+                            return new StatsCommand(cmdType, groupBy);
+                        } else {
+                            throw new CommandException("There seems to be invalid characters behind " +
+                                    cmdType + ".");
+                        }
+                    }
                     case "SAVEDUKE" -> {
                         if (inputTokens.length == 1) {
                             return new SaveCommand(cmdType);
@@ -393,6 +477,69 @@ public interface DukeParser extends DateParser {
                             return new TransferCommand(cmdType, from, to, amount);
                         }
                     }
+                    case "SETTINGS" -> {
+                        SettingsCommand settingsCommand = new SettingsCommand(cmdType);
+                        if (inputTokens.length == 1) {
+                            return settingsCommand;
+                        }
+
+                        if (input.contains("/undo")) {
+                            settingsCommand.setUndoDepth(readSetting(input, "/undo", "Undo Depth",
+                                    0, DukeStorage.MAX_UNDO_DEPTH));
+                        }
+
+                        if (input.contains("/journal")) {
+                            settingsCommand.setJournalMode(readSwitch(input, "/journal", "Journal Mode"));
+                        }
+
+                        if (input.contains("/checkpoint")) {
+                            settingsCommand.setCheckpointInterval(readSetting(input, "/checkpoint",
+                                    "Checkpoint Interval", 1, DukeStorage.MAX_CHECKPOINT_INTERVAL));
+                        }
+
+                        if (input.contains("/delay")) {
+                            settingsCommand.setSaveDelay(readSetting(input, "/delay", "Auto-Save Delay",
+                                    0, DukeStorage.MAX_SAVE_DELAY));
+                        }
+
+                        if (input.contains("/fsync")) {
+                            String fsyncToken = readSettingToken(input, "/fsync").toUpperCase();
+                            try {
+                                settingsCommand.setFsyncPolicy(FsyncPolicy.valueOf(fsyncToken));
+                            } catch (IllegalArgumentException e) {
+                                throw new CommandException("The Fsync Policy specified must be " +
+                                        "always, batched or never.");
+                            }
+                        }
+
+                        if (input.contains("/level")) {
+                            settingsCommand.setCompressionLevel(readSetting(input, "/level", "Compression Level",
+                                    0, DukeStorage.MAX_COMPRESSION_LEVEL));
+                        }
+
+                        if (input.contains("/compress")) {
+                            settingsCommand.setCompressedSaves(readSwitch(input, "/compress", "Compressed Saves"));
+                        }
+
+                        if (input.contains("/lazy")) {
+                            settingsCommand.setLazyLoading(readSwitch(input, "/lazy", "Lazy Loading"));
+                        }
+
+                        if (input.contains("/coldage")) {
+                            if (readSettingToken(input, "/coldage").equalsIgnoreCase("off")) {
+                                settingsCommand.setColdAgeDays(-1);
+                            } else {
+                                settingsCommand.setColdAgeDays(readSetting(input, "/coldage", "Cold Age",
+                                        0, DukeStorage.MAX_COLD_AGE_DAYS));
+                            }
+                        }
+
+                        if (!settingsCommand.getIsChanged()) {
+                            throw new CommandException("There seems to be invalid characters behind " +
+                                    cmdType + ".");
+                        }
+                        return settingsCommand;
+                    }
                     case "UNDO" -> {
                         if (inputTokens.length == 1) {
                             return new UndoCommand(cmdType);
@@ -443,4 +590,102 @@ public interface DukeParser extends DateParser {
             throw new CommandException("There seems to be insufficient attributes.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * This method is used to read the positive whole number given after a prefix in the user input.
+     *
+     * @param input The textual input provided by the user in verbatim.
+     * @param prefix The prefix the number is given after.
+     * @param name The name of the number, used when reporting errors.
+     * @return int The number given.
+     * @exception CommandException If the number given is not a positive whole number.
+     */
+    private static int readCount(String input, String prefix, String name) throws CommandException {
+
+        String[] countTokens = input.split(prefix, 2);
+        countTokens = countTokens[1].trim().split("/", 2);
+        String countToken = countTokens[0].trim();
+        if(!countToken.matches("\\d{1,9}") || Integer.parseInt(countToken) == 0) {
+            throw new CommandException("There seems to be an error with the " + name + " specified.");
+        }
+        return Integer.parseInt(countToken);
+    }
+
+    /**
+     * This method is used to read the whole number given after a prefix in the user input for a storage setting.
+     *
+     * @param input The textual input provided by the user in verbatim.
+     * @param prefix The prefix the number is given after.
+     * @param name The name of the setting, as shown to the user.
+     * @param min The smallest number allowed.
+     * @param max The largest number allowed.
+     * @return int The number given.
+     * @exception CommandException If the number given is not a whole number within the range allowed.
+     */
+    private static int readSetting(String input, String prefix, String name, int min, int max)
+            throws CommandException {
+
+        String settingToken = readSettingToken(input, prefix);
+        if(!settingToken.matches("\\d{1,9}") || Integer.parseInt(settingToken) < min
+                || Integer.parseInt(settingToken) > max) {
+            throw new CommandException("The " + name + " specified must be a whole number from " + min +
+                    " to " + max + ".");
+        }
+        return Integer.parseInt(settingToken);
+    }
+
+    /**
+     * This method is used to read the on-off value given after a prefix in the user input for a storage setting.
+     *
+     * @param input The textual input provided by the user in verbatim.
+     * @param prefix The prefix the value is given after.
+     * @param name The name of the setting, as shown to the user.
+     * @return boolean True if the setting is to be turned on.
+     * @exception CommandException If the value given is neither on nor off.
+     */
+    private static boolean readSwitch(String input, String prefix, String name) throws CommandException {
+
+        String settingToken = readSettingToken(input, prefix).toLowerCase();
+        if(!settingToken.equals("on") && !settingToken.equals("off")) {
+            throw new CommandException("The " + name + " specified must be either on or off.");
+        }
+        return settingToken.equals("on");
+    }
+
+    /**
+     * This method is used to read the value given after a prefix in the user input, up to the next prefix.
+     *
+     * @param input The textual input provided by the user in verbatim.
+     * @param prefix The prefix the value is given after.
+     * @return String The value given.
+     */
+    private static String readSettingToken(String input, String prefix) {
+
+        String[] settingTokens = input.split(prefix, 2);
+        settingTokens = settingTokens[1].trim().split("/", 2);
+        return settingTokens[0].trim();
+    }
+
+    /**
+     * This method is used to read the dollar amount given after a prefix in the user input,
+     * with or without a leading dollar sign.
+     *
+     * @param input The textual input provided by the user in verbatim.
+     * @param prefix The prefix the amount is given after.
+     * @return double The amount given.
+     * @exception CommandException If the amount given is not a dollar amount.
+     */
+    private static double readAmount(String input, String prefix) throws CommandException {
+
+        String[] amountTokens = input.split(prefix, 2);
+        amountTokens = amountTokens[1].trim().split("/", 2);
+        String amountToken = amountTokens[0].trim();
+        if(amountToken.startsWith("$")) {
+            amountToken = amountToken.substring(1).trim();
+        }
+        if(!amountToken.matches("\\d{1,12}(\\.\\d{1,2})?")) {
+            throw new CommandException("There seems to be an error with the Budget specified.");
+        }
+        return Double.parseDouble(amountToken);
+    }
+}
@@ -0,0 +1,190 @@
+package duke.storage;
+
+import duke.notes.Note;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * A view of the deadlines and events in the {@code DukeList} object that fall within the next {@code HORIZON}
+ * milliseconds, held in order of date, so that the agendas of the coming hours are read off its front.
+ *
+ * The view is kept up to date as {@code Note} objects are added, changed and removed, and slides forward with time:
+ * notes are evicted from the front once their dates have passed, and admitted at the back once they fall within
+ * the horizon. The view holds the earliest date beyond its end, so that notes are only looked up for admission
+ * when one is due to enter.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class AgendaView {
+
+    //VARIABLES-----------------------------------------
+    static final long HORIZON = 3 * 86400000L;
+
+    private final TreeSet<Entry> entries = new TreeSet<>();
+    private final HashMap<Integer, Entry> entriesById = new HashMap<>();
+    private long start = Long.MAX_VALUE;
+    private long end = Long.MAX_VALUE;
+    private long nextAdmission = Long.MIN_VALUE;
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the date after which the view holds notes.
+     *
+     * @return long The start of the view, in epoch milliseconds.
+     */
+    long getStart() {
+        return this.start;
+    }
+
+    /**
+     * This method is used to retrieve the date before which the view holds notes.
+     *
+     * @return long The end of the view, in epoch milliseconds.
+     */
+    long getEnd() {
+        return this.end;
+    }
+
+    /**
+     * This method is used to retrieve the earliest date at or after the end of the view on which a note may fall.
+     *
+     * @return long The earliest date a note may be admitted at, in epoch milliseconds.
+     */
+    long getNextAdmission() {
+        return this.nextAdmission;
+    }
+
+    /**
+     * This method is used to retrieve the number of notes held.
+     *
+     * @return int The number of notes held.
+     */
+    int size() {
+        return this.entriesById.size();
+    }
+
+    /**
+     * This method is used to find the notes held that fall before the date given.
+     *
+     * @param to The date before which notes are found, in epoch milliseconds.
+     * @return ArrayList<Note> The {@code Note} objects found, in order of date.
+     */
+    ArrayList<Note> findBefore(long to) {
+        ArrayList<Note> notes = new ArrayList<>();
+        for (Entry entry : this.entries) {
+            if(entry.time >= to) {
+                break;
+            }
+            notes.add(entry.note);
+        }
+        return notes;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to empty the view, and to restart it at the date given.
+     * Notes falling after the date are to be admitted before the view is read.
+     *
+     * @param start The date after which the view holds notes, in epoch milliseconds.
+     */
+    void reset(long start) {
+        this.entries.clear();
+        this.entriesById.clear();
+        this.start = start;
+        this.end = start + 1;
+        this.nextAdmission = Long.MIN_VALUE;
+    }
+
+    /**
+     * This method is used to move the start of the view forward to the date given,
+     * evicting the notes whose dates have passed.
+     *
+     * @param start The new start of the view, in epoch milliseconds.
+     */
+    void evictUntil(long start) {
+        while(!this.entries.isEmpty() && this.entries.first().time <= start) {
+            this.entriesById.remove(this.entries.pollFirst().note.getNoteId());
+        }
+        this.start = start;
+    }
+
+    /**
+     * This method is used to move the end of the view forward, once the notes falling before it have been admitted.
+     *
+     * @param end The new end of the view, in epoch milliseconds.
+     * @param nextAdmission The earliest date at or after the new end on which a note falls.
+     */
+    void extendTo(long end, long nextAdmission) {
+        this.end = end;
+        this.nextAdmission = nextAdmission;
+    }
+
+    /**
+     * This method is used to hold a note in the view if it falls within it, replacing any date it was held under.
+     * A note falling beyond the end of the view is remembered as due for admission.
+     *
+     * @param note The {@code Note} object.
+     * @param time The date the note falls on, in epoch milliseconds.
+     */
+    void put(Note note, long time) {
+        remove(note.getNoteId());
+        if(time > this.start && time < this.end) {
+            Entry entry = new Entry(time, note);
+            this.entries.add(entry);
+            this.entriesById.put(note.getNoteId(), entry);
+        } else if(time >= this.end) {
+            this.nextAdmission = Math.min(this.nextAdmission, time);
+        }
+    }
+
+    /**
+     * This method is used to remove a note from the view, if it is held.
+     *
+     * @param noteId The identifier of the note.
+     */
+    void remove(int noteId) {
+        Entry entry = this.entriesById.remove(noteId);
+        if(entry != null) {
+            this.entries.remove(entry);
+        }
+    }
+
+
+    //ENTRIES-------------------------------------------
+    /**
+     * An entry of the view, holding a {@code Note} object and the date it falls on.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final long time;
+        private final Note note;
+
+        /**
+         * This method is used to construct an {@code Entry} object.
+         *
+         * @param time The date the note falls on, in epoch milliseconds.
+         * @param note The {@code Note} object.
+         */
+        private Entry(long time, Note note) {
+            this.time = time;
+            this.note = note;
+        }
+
+        /**
+         * This method is used to order entries by date, and then by identifier.
+         *
+         * @param other The entry to be compared with.
+         * @return int A negative number, zero or a positive number as this entry is ordered before, with or after it.
+         */
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(this.time, other.time);
+            return byTime != 0 ? byTime : Integer.compare(this.note.getNoteId(), other.note.getNoteId());
+        }
+    }
+}
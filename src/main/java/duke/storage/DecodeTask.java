@@ -0,0 +1,104 @@
+package duke.storage;
+
+import duke.notes.Note;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A task that reconstructs a range of {@code Note} objects from the records of a saved file.
+ *
+ * Ranges larger than {@code CHUNK_SIZE} records are split in half and decoded in parallel on the
+ * fork-join pool. Each {@code Note} object is placed at the index of its record, so the order of
+ * the saved file is preserved however the work is scheduled.
+ * As the constructors count each {@code Note} object in the class-level members from several threads at once,
+ * callers set the class-level members aside with {@code NoteSummary} beforehand, restore them afterwards,
+ * and count the notes decoded on their own thread if need be.
+ * Tasks are only ever run in memory and never serialized.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+@SuppressWarnings("serial")
+class DecodeTask extends RecursiveAction {
+
+    //VARIABLES-----------------------------------------
+    static final int CHUNK_SIZE = 2048;
+
+    private final List<ByteBuffer> records;
+    private final Note[] notes;
+    private final int start;
+    private final int end;
+    private final AtomicInteger firstFailure;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code DecodeTask} object over all records given.
+     *
+     * @param records The records of the saved file, one per {@code Note} object.
+     * @param notes The array in which the reconstructed {@code Note} objects are to be placed.
+     */
+    DecodeTask(List<ByteBuffer> records, Note[] notes) {
+        this(records, notes, 0, records.size(), new AtomicInteger(Integer.MAX_VALUE));
+    }
+
+    /**
+     * This method is used to construct a {@code DecodeTask} object over a range of records.
+     *
+     * @param records The records of the saved file, one per {@code Note} object.
+     * @param notes The array in which the reconstructed {@code Note} objects are to be placed.
+     * @param start The index of the first record in the range.
+     * @param end The index after the last record in the range.
+     * @param firstFailure The lowest index of a record that could not be read.
+     */
+    private DecodeTask(List<ByteBuffer> records, Note[] notes,
+                       int start, int end, AtomicInteger firstFailure) {
+        this.records = records;
+        this.notes = notes;
+        this.start = start;
+        this.end = end;
+        this.firstFailure = firstFailure;
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the index of the first record that could not be read.
+     *
+     * @return int The index of the first record that could not be read, or -1 if all records were read.
+     */
+    int getFirstFailure() {
+        int index = this.firstFailure.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to decode the range of records, splitting it if it is larger than {@code CHUNK_SIZE}.
+     */
+    @Override
+    protected void compute() {
+        if(this.end - this.start > CHUNK_SIZE) {
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(new DecodeTask(this.records, this.notes, this.start, middle, this.firstFailure),
+                    new DecodeTask(this.records, this.notes, middle, this.end, this.firstFailure));
+            return;
+        }
+
+        for (int i = this.start; i < this.end; i++) {
+            try {
+                Note note = DukeCodec.decodeNote(this.records.get(i));
+                note.setSerialNum(i + 1);
+                this.notes[i] = note;
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                this.firstFailure.accumulateAndGet(i, Math::min);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,663 @@
+package duke.storage;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An object that stores archived versions of the saved file and journal as content-addressed blocks,
+ * so that blocks unchanged between archives are only stored once.
+ *
+ * Saved files are split into blocks along record boundaries, with each boundary chosen by the content
+ * of the record before it, so that a change to one {@code Note} object only changes the block holding it.
+ * Journals are split into blocks of a fixed length, as they only ever grow at the end. Blocks are
+ * appended to a single pack file under their SHA-256 hash, and each archive is a manifest listing
+ * the hashes of its blocks in order.
+ *
+ * Blocks are compressed with deflate where that makes them smaller, and decompressed on the fly when
+ * an archive is restored. Blocks left uncompressed are transferred from the pack file channel to channel,
+ * so that they are not copied through memory.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class DukeArchive {
+
+    //VARIABLES-----------------------------------------
+    static final String PACK_NAME = "archives.pack";
+    static final byte[] PACK_MAGIC = {'D', 'U', 'K', 'P'};
+    static final byte[] MANIFEST_MAGIC = {'D', 'U', 'K', 'M'};
+    private static final int HASH_LENGTH = 32;
+    private static final int BOUNDARY_MASK = 0xFF;
+    private static final int MAX_BLOCK_LENGTH = 64 * 1024;
+    private static final int JOURNAL_BLOCK_LENGTH = 4 * 1024;
+
+    private final File pack;
+    private final HashMap<ByteBuffer, Block> blocks = new HashMap<>();
+    private boolean isLoaded = false;
+    private boolean isDeflatable = true;
+    private long packLength = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code DukeArchive} object.
+     *
+     * @param archiveDir The directory holding the saved files and archived files.
+     */
+    DukeArchive(File archiveDir) {
+        this.pack = new File(archiveDir, PACK_NAME);
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the pack file holding the blocks of all archives.
+     *
+     * @return File The pack file holding the blocks of all archives.
+     */
+    File getPack() {
+        return this.pack;
+    }
+
+
+    //ARCHIVE METHODS-----------------------------------
+    /**
+     * This method is used to store the blocks of a saved file and its journal that are not yet in the pack file,
+     * and to build the manifest of the archive. New blocks are appended together as one segment, in the order
+     * of the archive, so that they can later be restored in as few transfers as possible.
+     *
+     * @param fileContents The contents of the saved file.
+     * @param journalContents The contents of the journal.
+     * @param generation The generation of the saved file.
+     * @param level The deflate compression level for new blocks, or {@code Deflater.NO_COMPRESSION}.
+     * @param isForced True if new blocks should be forced onto the hard drive.
+     * @return ByteBuffer The manifest of the archive, ready to be written.
+     * @throws IOException If the pack file could not be written.
+     */
+    ByteBuffer snapshot(ByteBuffer fileContents, ByteBuffer journalContents,
+                        long generation, int level, boolean isForced) throws IOException {
+        load();
+        if(DukeCodec.hasHeader(fileContents, DukeCodec.MAGIC)
+                && (DukeCodec.getFlags(fileContents) & DukeCodec.FLAG_DEFLATED) != 0) {
+            try {
+                fileContents = DukeCodec.inflate(fileContents);
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                // A saved file that cannot be decompressed is archived as it is.
+            }
+        }
+        ArrayList<ByteBuffer> fileBlocks = splitFile(fileContents);
+        ArrayList<ByteBuffer> journalBlocks = splitFixed(journalContents, JOURNAL_BLOCK_LENGTH);
+        ArrayList<ByteBuffer> allBlocks = new ArrayList<>(fileBlocks);
+        allBlocks.addAll(journalBlocks);
+
+        MessageDigest digest = newDigest();
+        ArrayList<ByteBuffer> hashes = new ArrayList<>(allBlocks.size());
+        LinkedHashMap<ByteBuffer, ByteBuffer> newBlocks = new LinkedHashMap<>();
+        for(ByteBuffer block : allBlocks) {
+            digest.update(block.duplicate());
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+            hashes.add(hash);
+            if(!this.blocks.containsKey(hash)) {
+                newBlocks.putIfAbsent(hash, block);
+            }
+        }
+        if(!newBlocks.isEmpty()) {
+            appendSegment(newBlocks, level, isForced);
+        }
+
+        ByteBuffer manifest = ByteBuffer.allocate(DukeCodec.HEADER_LENGTH
+                + 2 * DukeStorage.MAX_VARINT_LENGTH + hashes.size() * HASH_LENGTH);
+        DukeCodec.writeHeader(manifest, MANIFEST_MAGIC, generation);
+        DukeCodec.putVarInt(manifest, fileBlocks.size());
+        for (int i = 0; i < fileBlocks.size(); i++) {
+            manifest.put(hashes.get(i).duplicate());
+        }
+        DukeCodec.putVarInt(manifest, journalBlocks.size());
+        for (int i = fileBlocks.size(); i < hashes.size(); i++) {
+            manifest.put(hashes.get(i).duplicate());
+        }
+        return manifest.flip();
+    }
+
+    /**
+     * This method is used to append new blocks to the pack file as one segment, i.e. the number of blocks,
+     * the hash and stored length of each block, then the blocks themselves back to back.
+     * Each block is compressed if that makes it smaller, which is marked in the lowest bit of its stored length.
+     *
+     * @param newBlocks The new blocks, by hash, in the order they are to be stored.
+     * @param level The deflate compression level, or {@code Deflater.NO_COMPRESSION}.
+     * @param isForced True if the segment should be forced onto the hard drive.
+     * @throws IOException If the pack file could not be written.
+     */
+    private void appendSegment(LinkedHashMap<ByteBuffer, ByteBuffer> newBlocks, int level, boolean isForced)
+            throws IOException {
+        if(this.packLength == 0) {
+            this.isDeflatable = true;
+        }
+        boolean isCompressed = this.isDeflatable && level != Deflater.NO_COMPRESSION;
+        Deflater deflater = isCompressed ? new Deflater(level) : null;
+
+        ByteBuffer[] buffers = new ByteBuffer[newBlocks.size() + 2];
+        boolean[] isDeflated = new boolean[newBlocks.size()];
+        int[] storedLengths = new int[newBlocks.size()];
+        buffers[0] = ByteBuffer.allocate(this.packLength == 0 ? DukeCodec.HEADER_LENGTH : 0);
+        if(this.packLength == 0) {
+            DukeCodec.writeHeader(buffers[0], PACK_MAGIC, DukeCodec.FLAG_DEFLATED, 0);
+            buffers[0].flip();
+        }
+        ByteBuffer segmentHeader = ByteBuffer.allocate(DukeStorage.MAX_VARINT_LENGTH
+                + newBlocks.size() * (HASH_LENGTH + DukeStorage.MAX_VARINT_LENGTH));
+        DukeCodec.putVarInt(segmentHeader, newBlocks.size());
+        int i = 0;
+        try {
+            for(Map.Entry<ByteBuffer, ByteBuffer> entry : newBlocks.entrySet()) {
+                ByteBuffer stored = entry.getValue().duplicate();
+                if(isCompressed) {
+                    ByteBuffer deflated = deflateBlock(deflater, stored);
+                    if(deflated != null) {
+                        stored = deflated;
+                        isDeflated[i] = true;
+                    }
+                }
+                segmentHeader.put(entry.getKey().duplicate());
+                DukeCodec.putVarInt(segmentHeader, this.isDeflatable
+                        ? stored.remaining() << 1 | (isDeflated[i] ? 1 : 0) : stored.remaining());
+                storedLengths[i] = stored.remaining();
+                buffers[i + 2] = stored;
+                i++;
+            }
+        } finally {
+            if(deflater != null) {
+                deflater.end();
+            }
+        }
+        buffers[1] = segmentHeader.flip();
+
+        long offset = Math.max(this.packLength, DukeCodec.HEADER_LENGTH) + segmentHeader.remaining();
+        try (FileChannel channel = FileChannel.open(this.pack.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while(buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            if(isForced) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            this.isLoaded = false;
+            throw e;
+        }
+        i = 0;
+        for(ByteBuffer hash : newBlocks.keySet()) {
+            this.blocks.put(hash, new Block(offset, storedLengths[i], isDeflated[i]));
+            offset = offset + storedLengths[i];
+            i++;
+        }
+        this.packLength = offset;
+    }
+
+    /**
+     * This method is used to compress a block with deflate.
+     *
+     * @param deflater The {@code Deflater} object to compress the block with, which is reset first.
+     * @param block The block to be compressed.
+     * @return ByteBuffer The compressed block, or null if compressing does not make the block smaller.
+     */
+    private static ByteBuffer deflateBlock(Deflater deflater, ByteBuffer block) {
+        if(block.remaining() < 2) {
+            return null;
+        }
+        deflater.reset();
+        deflater.setInput(block.duplicate());
+        deflater.finish();
+        ByteBuffer deflated = ByteBuffer.allocate(block.remaining() - 1);
+        while(!deflater.finished()) {
+            if(!deflated.hasRemaining()) {
+                return null;
+            }
+            deflater.deflate(deflated);
+        }
+        return deflated.flip();
+    }
+
+    /**
+     * This method is used to rebuild the saved file of an archive from its blocks,
+     * transferring them from the pack file without copying them through memory.
+     *
+     * @param manifest The manifest of the archive.
+     * @param toFile The saved file to be replaced.
+     * @param isForced True if the saved file should be forced onto the hard drive.
+     * @throws IOException If the pack file could not be read or is missing blocks.
+     */
+    void restoreFile(ByteBuffer manifest, File toFile, boolean isForced) throws IOException {
+        restoreBlocks(readHashes(manifest, false), toFile, isForced);
+    }
+
+    /**
+     * This method is used to rebuild the journal of an archive from its blocks,
+     * transferring them from the pack file without copying them through memory.
+     *
+     * @param manifest The manifest of the archive.
+     * @param toFile The journal to be replaced, which is left empty if the archive has no journal.
+     * @param isForced True if the journal should be forced onto the hard drive.
+     * @throws IOException If the pack file could not be read or is missing blocks.
+     */
+    void restoreJournal(ByteBuffer manifest, File toFile, boolean isForced) throws IOException {
+        restoreBlocks(readHashes(manifest, true), toFile, isForced);
+    }
+
+    /**
+     * This method is used to rewrite the pack file without the blocks no longer listed by any manifest,
+     * once those blocks take up more than half of the pack file. The blocks kept are transferred
+     * into a single segment, in the order they were stored.
+     *
+     * @param manifests The manifests of all archives still kept.
+     * @param isForced True if the rewritten pack file should be forced onto the hard drive.
+     * @throws IOException If the pack file could not be rewritten.
+     */
+    void compact(List<ByteBuffer> manifests, boolean isForced) throws IOException {
+        load();
+        HashSet<ByteBuffer> liveHashes = new HashSet<>();
+        for(ByteBuffer manifest : manifests) {
+            liveHashes.addAll(readHashes(manifest, false));
+            liveHashes.addAll(readHashes(manifest, true));
+        }
+
+        ArrayList<Map.Entry<ByteBuffer, Block>> liveBlocks = new ArrayList<>();
+        long liveLength = DukeCodec.HEADER_LENGTH;
+        for(Map.Entry<ByteBuffer, Block> entry : this.blocks.entrySet()) {
+            if(liveHashes.contains(entry.getKey())) {
+                liveBlocks.add(entry);
+                liveLength = liveLength + HASH_LENGTH + entry.getValue().length;
+            }
+        }
+        if(this.packLength <= 2 * liveLength) {
+            return;
+        }
+
+        liveBlocks.sort(Comparator.comparingLong(entry -> entry.getValue().offset));
+        ByteBuffer header = ByteBuffer.allocate(DukeCodec.HEADER_LENGTH + DukeStorage.MAX_VARINT_LENGTH
+                + liveBlocks.size() * (HASH_LENGTH + DukeStorage.MAX_VARINT_LENGTH));
+        DukeCodec.writeHeader(header, PACK_MAGIC, DukeCodec.FLAG_DEFLATED, 0);
+        DukeCodec.putVarInt(header, liveBlocks.size());
+        ArrayList<Block> sources = new ArrayList<>(liveBlocks.size());
+        for(Map.Entry<ByteBuffer, Block> entry : liveBlocks) {
+            header.put(entry.getKey().duplicate());
+            DukeCodec.putVarInt(header, entry.getValue().length << 1 | (entry.getValue().isDeflated ? 1 : 0));
+            sources.add(entry.getValue());
+        }
+        header.flip();
+
+        File tempPack = DukeStorage.tempFileOf(this.pack);
+        try (FileChannel source = FileChannel.open(this.pack.toPath(), StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(tempPack.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(header.hasRemaining()) {
+                target.write(header);
+            }
+            transferBlocks(source, sources, target, false);
+            if(isForced) {
+                target.force(true);
+            }
+        }
+        DukeStorage.moveFile(tempPack, this.pack, isForced);
+        this.isLoaded = false;
+        load();
+    }
+
+
+    //LOAD METHODS--------------------------------------
+    /**
+     * This method is used to index the blocks held in the pack file, if not yet indexed.
+     * A segment left incomplete at the end of the pack file (e.g. due to a crash mid-archive) is discarded.
+     *
+     * @throws IOException If the pack file could not be read.
+     */
+    private void load() throws IOException {
+        if(this.isLoaded) {
+            return;
+        }
+        this.blocks.clear();
+        this.packLength = 0;
+
+        ByteBuffer contents;
+        try {
+            contents = DukeStorage.readBytes(this.pack);
+        } catch (FileNotFoundException e) {
+            this.isLoaded = true;
+            return;
+        }
+
+        long validLength = 0;
+        if(DukeCodec.hasHeader(contents, PACK_MAGIC)) {
+            this.isDeflatable = (DukeCodec.getFlags(contents) & DukeCodec.FLAG_DEFLATED) != 0;
+            contents.position(DukeCodec.getHeaderLength(contents));
+            validLength = contents.position();
+            try {
+                while(contents.hasRemaining()) {
+                    int count = DukeCodec.getVarInt(contents);
+                    ByteBuffer[] hashes = new ByteBuffer[count];
+                    int[] lengths = new int[count];
+                    boolean[] isDeflated = new boolean[count];
+                    long segmentLength = 0;
+                    for (int i = 0; i < count; i++) {
+                        byte[] hash = new byte[HASH_LENGTH];
+                        contents.get(hash);
+                        hashes[i] = ByteBuffer.wrap(hash);
+                        lengths[i] = DukeCodec.getVarInt(contents);
+                        if(this.isDeflatable) {
+                            isDeflated[i] = (lengths[i] & 1) != 0;
+                            lengths[i] = lengths[i] >>> 1;
+                        }
+                        segmentLength = segmentLength + lengths[i];
+                    }
+                    if(count <= 0 || segmentLength > contents.remaining()) {
+                        break;
+                    }
+                    long offset = contents.position();
+                    for (int i = 0; i < count; i++) {
+                        this.blocks.put(hashes[i], new Block(offset, lengths[i], isDeflated[i]));
+                        offset = offset + lengths[i];
+                    }
+                    contents.position((int) offset);
+                    validLength = offset;
+                }
+            } catch (RuntimeException e) {
+                // The last segment is incomplete, and is discarded below.
+            }
+        }
+
+        if(validLength < contents.limit()) {
+            try (RandomAccessFile raf = new RandomAccessFile(this.pack, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+        this.packLength = validLength;
+        this.isLoaded = true;
+    }
+
+    /**
+     * This method is used to read the hashes listed by a manifest, of either the saved file or the journal.
+     *
+     * @param manifest The manifest of the archive.
+     * @param isJournal True if the hashes of the journal are to be read, rather than those of the saved file.
+     * @return ArrayList<ByteBuffer> The hashes listed, in order.
+     * @throws IOException If the manifest is not in the expected format.
+     */
+    static ArrayList<ByteBuffer> readHashes(ByteBuffer manifest, boolean isJournal) throws IOException {
+        ByteBuffer buffer = manifest.duplicate();
+        if(!DukeCodec.hasHeader(buffer, MANIFEST_MAGIC)) {
+            throw new IOException("The archive manifest could not be read.");
+        }
+        try {
+            buffer.position(buffer.position() + DukeCodec.getHeaderLength(buffer));
+            int count = DukeCodec.getVarInt(buffer);
+            if(isJournal) {
+                buffer.position(buffer.position() + count * HASH_LENGTH);
+                count = DukeCodec.getVarInt(buffer);
+            }
+            ArrayList<ByteBuffer> hashes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] hash = new byte[HASH_LENGTH];
+                buffer.get(hash);
+                hashes.add(ByteBuffer.wrap(hash));
+            }
+            return hashes;
+        } catch (RuntimeException e) {
+            throw new IOException("The archive manifest is incomplete.", e);
+        }
+    }
+
+    /**
+     * This method is used to write the blocks with the hashes given, in order, to a temporary file
+     * which is then moved over the file to be replaced.
+     *
+     * @param hashes The hashes of the blocks to be written.
+     * @param toFile The file to be replaced.
+     * @param isForced True if the file should be forced onto the hard drive.
+     * @throws IOException If the pack file could not be read or is missing blocks.
+     */
+    private void restoreBlocks(ArrayList<ByteBuffer> hashes, File toFile, boolean isForced) throws IOException {
+        load();
+        ArrayList<Block> found = new ArrayList<>(hashes.size());
+        for(ByteBuffer hash : hashes) {
+            Block block = this.blocks.get(hash);
+            if(block == null) {
+                throw new IOException("The archive is missing a block from " + PACK_NAME + ".");
+            }
+            found.add(block);
+        }
+
+        File tempFile = DukeStorage.tempFileOf(toFile);
+        try (FileChannel target = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if(!found.isEmpty()) {
+                try (FileChannel source = FileChannel.open(this.pack.toPath(), StandardOpenOption.READ)) {
+                    transferBlocks(source, found, target, true);
+                }
+            }
+            if(isForced) {
+                target.force(true);
+            }
+        }
+        DukeStorage.moveFile(tempFile, toFile, isForced);
+    }
+
+    /**
+     * This method is used to transfer blocks from the pack file to another file, in order.
+     * Blocks that lie back to back in the pack file are transferred together in a single call,
+     * while compressed blocks are decompressed on the fly if required.
+     *
+     * @param source The channel of the pack file.
+     * @param sources The blocks to be transferred, in order.
+     * @param target The channel of the file to be written, positioned where the blocks are to start.
+     * @param isInflated True if compressed blocks are to be decompressed, rather than transferred as stored.
+     * @throws IOException If the pack file ends before the blocks do, or holds a malformed block.
+     */
+    private static void transferBlocks(FileChannel source, List<Block> sources, FileChannel target,
+                                       boolean isInflated) throws IOException {
+        ByteBuffer mapping = null;
+        Inflater inflater = null;
+        try {
+            int i = 0;
+            while(i < sources.size()) {
+                if(isInflated && sources.get(i).isDeflated) {
+                    if(inflater == null) {
+                        mapping = source.map(FileChannel.MapMode.READ_ONLY, 0, source.size());
+                        inflater = new Inflater();
+                    }
+                    inflateBlock(inflater, mapping, sources.get(i), target);
+                    i++;
+                    continue;
+                }
+
+                long start = sources.get(i).offset;
+                long end = start + sources.get(i).length;
+                i++;
+                while(i < sources.size() && sources.get(i).offset == end
+                        && !(isInflated && sources.get(i).isDeflated)) {
+                    end = end + sources.get(i).length;
+                    i++;
+                }
+                while(start < end) {
+                    long transferred = source.transferTo(start, end - start, target);
+                    if(transferred <= 0) {
+                        throw new IOException("The archive is missing a block from " + PACK_NAME + ".");
+                    }
+                    start = start + transferred;
+                }
+            }
+        } finally {
+            if(inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * This method is used to decompress a block straight out of the mapped pack file into another file.
+     *
+     * @param inflater The {@code Inflater} object to decompress the block with, which is reset first.
+     * @param mapping The pack file, mapped into memory.
+     * @param block The compressed block.
+     * @param target The channel of the file to be written, positioned where the block is to start.
+     * @throws IOException If the block is malformed or could not be written.
+     */
+    private static void inflateBlock(Inflater inflater, ByteBuffer mapping, Block block, FileChannel target)
+            throws IOException {
+        if(block.offset + block.length > mapping.limit()) {
+            throw new IOException("The archive is missing a block from " + PACK_NAME + ".");
+        }
+        inflater.reset();
+        inflater.setInput(mapping.slice((int) block.offset, block.length));
+        ByteBuffer output = ByteBuffer.allocate(MAX_BLOCK_LENGTH);
+        try {
+            while(!inflater.finished()) {
+                if(inflater.inflate(output) == 0 && inflater.needsInput()) {
+                    throw new IOException("The archive holds an incomplete block in " + PACK_NAME + ".");
+                }
+                if(!output.hasRemaining() || inflater.finished()) {
+                    output.flip();
+                    while(output.hasRemaining()) {
+                        target.write(output);
+                    }
+                    output.clear();
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("The archive holds a malformed block in " + PACK_NAME + ".", e);
+        }
+    }
+
+
+    //SPLIT METHODS-------------------------------------
+    /**
+     * This method is used to split a saved file into blocks along record boundaries.
+     * A block ends after a record whose content hashes to a boundary, or once it reaches {@code MAX_BLOCK_LENGTH}.
+     * Files that are not in the binary format are split into blocks of a fixed length instead.
+     *
+     * @param contents The contents of the saved file.
+     * @return ArrayList<ByteBuffer> The blocks of the saved file, in order.
+     */
+    private static ArrayList<ByteBuffer> splitFile(ByteBuffer contents) {
+        if(!DukeCodec.hasHeader(contents, DukeCodec.MAGIC)) {
+            return splitFixed(contents, MAX_BLOCK_LENGTH);
+        }
+
+        ArrayList<ByteBuffer> blocks = new ArrayList<>();
+        ByteBuffer buffer = contents.duplicate();
+        int headerEnd = buffer.position() + DukeCodec.getHeaderLength(buffer);
+        blocks.add(buffer.slice(buffer.position(), headerEnd - buffer.position()));
+        buffer.position(headerEnd);
+
+        int blockStart = headerEnd;
+        try {
+            while(buffer.hasRemaining()) {
+                int recordStart = buffer.position();
+                int length = DukeCodec.getVarInt(buffer);
+                if(length < 0 || length > buffer.remaining()) {
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+                if(isBoundary(buffer, recordStart, buffer.position())
+                        || buffer.position() - blockStart >= MAX_BLOCK_LENGTH) {
+                    blocks.add(buffer.slice(blockStart, buffer.position() - blockStart));
+                    blockStart = buffer.position();
+                }
+            }
+        } catch (RuntimeException e) {
+            // An incomplete record is kept as it is, in the last block.
+        }
+        if(blockStart < buffer.limit()) {
+            blocks.add(buffer.slice(blockStart, buffer.limit() - blockStart));
+        }
+        return blocks;
+    }
+
+    /**
+     * This method is used to split a file into blocks of a fixed length.
+     *
+     * @param contents The contents of the file.
+     * @param blockLength The length of each block, except possibly the last.
+     * @return ArrayList<ByteBuffer> The blocks of the file, in order.
+     */
+    private static ArrayList<ByteBuffer> splitFixed(ByteBuffer contents, int blockLength) {
+        ArrayList<ByteBuffer> blocks = new ArrayList<>();
+        for (int i = contents.position(); i < contents.limit(); i = i + blockLength) {
+            blocks.add(contents.slice(i, Math.min(blockLength, contents.limit() - i)));
+        }
+        return blocks;
+    }
+
+    /**
+     * This method is used to decide from the content of a record whether a block should end after it.
+     *
+     * @param buffer The {@code ByteBuffer} object holding the record.
+     * @param start The index of the start of the record.
+     * @param end The index after the end of the record.
+     * @return boolean True if a block should end after the record.
+     */
+    private static boolean isBoundary(ByteBuffer buffer, int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        hash = hash * 0x9E3779B9;
+        return (hash >>> 20 & BOUNDARY_MASK) == 0;
+    }
+
+    /**
+     * This method is used to create the {@code MessageDigest} object used to hash blocks.
+     *
+     * @return MessageDigest The {@code MessageDigest} object for SHA-256.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform.", e);
+        }
+    }
+
+
+    //BLOCKS--------------------------------------------
+    /**
+     * The location of a block within the pack file.
+     */
+    private static class Block {
+
+        private final long offset;
+        private final int length;
+        private final boolean isDeflated;
+
+        /**
+         * This method is used to construct a {@code Block} object.
+         *
+         * @param offset The offset of the block in the pack file.
+         * @param length The length of the block as stored.
+         * @param isDeflated True if the block is stored compressed with deflate.
+         */
+        private Block(long offset, int length, boolean isDeflated) {
+            this.offset = offset;
+            this.length = length;
+            this.isDeflated = isDeflated;
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package duke.storage;
+
+import duke.notes.Note;
+import duke.notes.budget.Budget;
+import duke.notes.event.Birthday;
+import duke.notes.event.Event;
+import duke.notes.event.Wedding;
+import duke.notes.task.Bill;
+import duke.notes.task.Deadline;
+import duke.notes.task.Shoplist;
+import duke.notes.task.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A class that sets out the versioned binary format in which {@code Note} objects are saved to file.
+ *
+ * Saved files begin with a header of the {@code MAGIC} bytes, the format version, a flags byte and
+ * the generation of the saved file, followed by one record per {@code Note} object. A journal carries
+ * the generation of the saved file it applies to, so that a journal left behind by an interrupted
+ * save is never replayed over the newer saved file. Each record is a varint length followed by
+ * a type tag, a varint serial number, the description in UTF-8, dates in epoch milliseconds and
+ * budget amounts as IEEE doubles. A saved file with {@code FLAG_DEFLATED} set holds the varint length
+ * of its records followed by the records compressed with deflate, in place of the records themselves.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+final class DukeCodec {
+
+    //VARIABLES-----------------------------------------
+    static final byte[] MAGIC = {'D', 'U', 'K', 'E'};
+    static final byte[] JOURNAL_MAGIC = {'D', 'U', 'K', 'J'};
+    static final byte VERSION = 2;
+    static final int HEADER_LENGTH = 14;
+    static final byte FLAG_DEFLATED = 1;
+    private static final int VERSION_1_HEADER_LENGTH = 6;
+
+    private static final byte TAG_BILL = 1;
+    private static final byte TAG_BIRTHDAY = 2;
+    private static final byte TAG_DEADLINE = 3;
+    private static final byte TAG_EVENT = 4;
+    private static final byte TAG_SHOPLIST = 5;
+    private static final byte TAG_TASK = 6;
+    private static final byte TAG_WEDDING = 7;
+
+    private static final int MAX_FIXED_LENGTH = 96;
+
+
+    //CONSTRUCTORS--------------------------------------
+    private DukeCodec() {}
+
+
+    //HEADER METHODS------------------------------------
+    /**
+     * This method is used to write the header of a saved file or journal.
+     *
+     * @param buffer The {@code ByteBuffer} object to write the header to.
+     * @param magic The magic bytes identifying the type of file.
+     * @param generation The generation of the saved file.
+     */
+    static void writeHeader(ByteBuffer buffer, byte[] magic, long generation) {
+        writeHeader(buffer, magic, (byte) 0, generation);
+    }
+
+    /**
+     * This method is used to write the header of a saved file or journal, with the flags given.
+     *
+     * @param buffer The {@code ByteBuffer} object to write the header to.
+     * @param magic The magic bytes identifying the type of file.
+     * @param flags The flags describing how the rest of the file is laid out.
+     * @param generation The generation of the saved file.
+     */
+    static void writeHeader(ByteBuffer buffer, byte[] magic, byte flags, long generation) {
+        buffer.put(magic);
+        buffer.put(VERSION);
+        buffer.put(flags);
+        buffer.putLong(generation);
+    }
+
+    /**
+     * This method is used to check whether a saved file or journal begins with a header of this format,
+     * of the current or an earlier version. Files without such a header are in the legacy Base64 text format.
+     *
+     * @param buffer The {@code ByteBuffer} object holding the contents of the file.
+     * @param magic The magic bytes identifying the type of file.
+     * @return boolean True if the file begins with a header of this format.
+     */
+    static boolean hasHeader(ByteBuffer buffer, byte[] magic) {
+        if(buffer.remaining() < VERSION_1_HEADER_LENGTH) {
+            return false;
+        }
+        for(int i = 0; i < magic.length; i++) {
+            if(buffer.get(buffer.position() + i) != magic[i]) {
+                return false;
+            }
+        }
+        byte version = buffer.get(buffer.position() + magic.length);
+        return version == 1 || (version == VERSION && buffer.remaining() >= HEADER_LENGTH);
+    }
+
+    /**
+     * This method is used to retrieve the length of the header a saved file or journal begins with.
+     *
+     * @param buffer The {@code ByteBuffer} object holding the contents of the file, positioned at the header.
+     * @return int The length of the header, in bytes.
+     */
+    static int getHeaderLength(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + MAGIC.length) == 1 ? VERSION_1_HEADER_LENGTH : HEADER_LENGTH;
+    }
+
+    /**
+     * This method is used to retrieve the generation of the saved file recorded in a header.
+     * Headers of version 1 do not record a generation, and are taken to be of generation zero.
+     *
+     * @param buffer The {@code ByteBuffer} object holding the contents of the file, positioned at the header.
+     * @return long The generation of the saved file.
+     */
+    static long getGeneration(ByteBuffer buffer) {
+        if(getHeaderLength(buffer) == VERSION_1_HEADER_LENGTH) {
+            return 0;
+        }
+        return buffer.getLong(buffer.position() + VERSION_1_HEADER_LENGTH);
+    }
+
+    /**
+     * This method is used to retrieve the flags recorded in a header.
+     *
+     * @param buffer The {@code ByteBuffer} object holding the contents of the file, positioned at the header.
+     * @return byte The flags describing how the rest of the file is laid out.
+     */
+    static byte getFlags(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + MAGIC.length + 1);
+    }
+
+
+    //COMPRESSION METHODS-------------------------------
+    /**
+     * This method is used to compress the records of an encoded saved file with deflate,
+     * streaming them through a {@code Deflater} object at the level given.
+     * Saved files without records are left as they are.
+     *
+     * @param contents The encoded saved file, positioned at the header.
+     * @param level The deflate compression level, from 0 to 9.
+     * @return ByteBuffer The compressed saved file, ready to be written.
+     */
+    static ByteBuffer deflate(ByteBuffer contents, int level) {
+        ByteBuffer source = contents.duplicate();
+        long generation = getGeneration(source);
+        source.position(source.position() + getHeaderLength(source));
+        int bodyLength = source.remaining();
+        if(bodyLength == 0) {
+            return contents;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + 5 + bodyLength
+                + (bodyLength >> 12) + (bodyLength >> 14) + 64);
+        writeHeader(buffer, MAGIC, FLAG_DEFLATED, generation);
+        putVarInt(buffer, bodyLength);
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(source);
+            deflater.finish();
+            while(!deflater.finished()) {
+                if(!buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+                deflater.deflate(buffer);
+            }
+        } finally {
+            deflater.end();
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * This method is used to decompress the records of a saved file compressed with deflate,
+     * streaming them through an {@code Inflater} object.
+     *
+     * @param contents The compressed saved file, positioned at the header.
+     * @return ByteBuffer The saved file with its records decompressed, ready to be read.
+     * @throws IllegalArgumentException If the compressed records are incomplete or malformed.
+     */
+    static ByteBuffer inflate(ByteBuffer contents) {
+        ByteBuffer source = contents.duplicate();
+        long generation = getGeneration(source);
+        source.position(source.position() + getHeaderLength(source));
+        int bodyLength = getVarInt(source);
+        if(bodyLength < 0) {
+            throw new IllegalArgumentException("Malformed length in saved file.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + bodyLength);
+        writeHeader(buffer, MAGIC, generation);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source);
+            while(!inflater.finished()) {
+                if(!buffer.hasRemaining() || (inflater.inflate(buffer) == 0 && inflater.needsInput())) {
+                    throw new IllegalArgumentException("Compressed records in saved file are incomplete.");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed records in saved file are malformed.", e);
+        } finally {
+            inflater.end();
+        }
+        if(buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Compressed records in saved file are incomplete.");
+        }
+        return buffer.flip();
+    }
+
+
+    //ENCODE METHODS------------------------------------
+    /**
+     * This method is used to encode a {@code Note} object as the payload of a record.
+     *
+     * @param note The {@code Note} object to be encoded.
+     * @return byte[] The encoded {@code Note} object.
+     */
+    static byte[] encodeNote(Note note) {
+        return encodeNote(note, note.getSerialNum());
+    }
+
+    /**
+     * This method is used to encode a {@code Note} object as the payload of a record, under the serial number given.
+     * Records in saved files are encoded under serial number zero, as serial numbers there follow the order
+     * of the records, so that removing one {@code Note} object leaves the records after it unchanged.
+     *
+     * @param note The {@code Note} object to be encoded.
+     * @param serialNum The serial number to be recorded.
+     * @return byte[] The encoded {@code Note} object.
+     */
+    static byte[] encodeNote(Note note, int serialNum) {
+
+        byte[] description = note.getDescription().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_FIXED_LENGTH + description.length);
+
+        buffer.put(tagOf(note));
+        putVarInt(buffer, serialNum);
+        putVarInt(buffer, description.length);
+        buffer.put(description);
+        buffer.putLong(note.getAddDate().getTime());
+        buffer.put((byte) (note.getIsDone() ? 1 : 0));
+        if(note.getIsDone()) {
+            buffer.putLong(note.getDoneDate().getTime());
+        }
+
+        if(note instanceof Deadline) {
+            buffer.putLong(((Deadline) note).getTargetDate().getTime());
+            buffer.put((byte) (((Deadline) note).getIsDoneAhead() ? 1 : 0));
+        } else if(note instanceof Event) {
+            buffer.putLong(((Event) note).getStartDate().getTime());
+            buffer.putLong(((Event) note).getEndDate().getTime());
+            putVarLong(buffer, ((Event) note).getDurationMinutes());
+        }
+
+        Budget budget = note.getBudgetObject();
+        if(budget != null) {
+            buffer.putDouble(budget.getBUDGET_SET());
+            buffer.putDouble(budget.getBudgetRevised());
+            buffer.putDouble(budget.getBudgetUsed());
+            buffer.putDouble(budget.getBudgetBalance());
+            buffer.put((byte) ((budget.getIsRevised() ? 1 : 0) | (budget.getIsOverBudget() ? 2 : 0)));
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * This method is used to retrieve the type tag of a {@code Note} object.
+     *
+     * @param note The {@code Note} object whose type tag is to be retrieved.
+     * @return byte The type tag of the {@code Note} object.
+     */
+    private static byte tagOf(Note note) {
+        return switch (note.getObjectClass()) {
+            case "Bill" -> TAG_BILL;
+            case "Birthday" -> TAG_BIRTHDAY;
+            case "Deadline" -> TAG_DEADLINE;
+            case "Event" -> TAG_EVENT;
+            case "Shoplist" -> TAG_SHOPLIST;
+            case "Wedding" -> TAG_WEDDING;
+            default -> TAG_TASK;
+        };
+    }
+
+    /**
+     * This method is used to write an unsigned variable-length integer.
+     *
+     * @param buffer The {@code ByteBuffer} object to write to.
+     * @param value The non-negative integer to be written.
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        putVarLong(buffer, value);
+    }
+
+    /**
+     * This method is used to write an unsigned variable-length long integer.
+     *
+     * @param buffer The {@code ByteBuffer} object to write to.
+     * @param value The non-negative long integer to be written.
+     */
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value = value >>> 7;
+        }
+        buffer.put((byte) value);
+    }
+
+
+    //DECODE METHODS------------------------------------
+    /**
+     * This method is used to reconstruct a {@code Note} object from the payload of a record.
+     *
+     * @param buffer The {@code ByteBuffer} object positioned at the start of the payload.
+     * @return Note The reconstructed {@code Note} object.
+     */
+    static Note decodeNote(ByteBuffer buffer) {
+
+        byte tag = buffer.get();
+        int serialNum = getVarInt(buffer);
+        byte[] descriptionBytes = new byte[getVarInt(buffer)];
+        buffer.get(descriptionBytes);
+        String description = new String(descriptionBytes, StandardCharsets.UTF_8);
+        Date addDate = new Date(buffer.getLong());
+        boolean isDone = buffer.get() != 0;
+        Date doneDate = isDone ? new Date(buffer.getLong()) : null;
+
+        return switch (tag) {
+            case TAG_BILL -> {
+                Date targetDate = new Date(buffer.getLong());
+                boolean doneAhead = buffer.get() != 0;
+                Budget itemBudget = getBudget(buffer);
+                yield isDone
+                        ? new Bill(serialNum, description, addDate, doneDate, true, targetDate, doneAhead, itemBudget)
+                        : new Bill(serialNum, description, addDate, false, targetDate, doneAhead, itemBudget);
+            }
+            case TAG_BIRTHDAY -> {
+                Date startDate = new Date(buffer.getLong());
+                Date endDate = new Date(buffer.getLong());
+                long durationMinutes = getVarLong(buffer);
+                yield isDone
+                        ? new Birthday(serialNum, description, addDate, doneDate, true,
+                                startDate, endDate, durationMinutes)
+                        : new Birthday(serialNum, description, addDate, false,
+                                startDate, endDate, durationMinutes);
+            }
+            case TAG_DEADLINE -> {
+                Date targetDate = new Date(buffer.getLong());
+                boolean doneAhead = buffer.get() != 0;
+                yield isDone
+                        ? new Deadline(serialNum, description, addDate, doneDate, true, targetDate, doneAhead)
+                        : new Deadline(serialNum, description, addDate, false, targetDate, doneAhead);
+            }
+            case TAG_EVENT -> {
+                Date startDate = new Date(buffer.getLong());
+                Date endDate = new Date(buffer.getLong());
+                long durationMinutes = getVarLong(buffer);
+                yield isDone
+                        ? new Event(serialNum, description, addDate, doneDate, true,
+                                startDate, endDate, durationMinutes)
+                        : new Event(serialNum, description, addDate, false,
+                                startDate, endDate, durationMinutes);
+            }
+            case TAG_SHOPLIST -> {
+                Budget itemBudget = getBudget(buffer);
+                yield isDone
+                        ? new Shoplist(serialNum, description, addDate, doneDate, true, itemBudget)
+                        : new Shoplist(serialNum, description, addDate, false, itemBudget);
+            }
+            case TAG_TASK -> isDone
+                    ? new Task(serialNum, description, addDate, doneDate, true)
+                    : new Task(serialNum, description, addDate, false);
+            case TAG_WEDDING -> {
+                Date startDate = new Date(buffer.getLong());
+                Date endDate = new Date(buffer.getLong());
+                long durationMinutes = getVarLong(buffer);
+                Budget itemBudget = getBudget(buffer);
+                yield isDone
+                        ? new Wedding(serialNum, description, addDate, doneDate, true,
+                                startDate, endDate, durationMinutes, itemBudget)
+                        : new Wedding(serialNum, description, addDate, false,
+                                startDate, endDate, durationMinutes, itemBudget);
+            }
+            default -> throw new IllegalArgumentException("Unknown type tag " + tag + " in saved file.");
+        };
+    }
+
+    /**
+     * This method is used to index the payload of a record without reconstructing its {@code Note} object.
+     * The description is skipped over, and the note is counted in the summary given.
+     * Every field that {@code decodeNote} reads is stepped over, so a record that is indexed can always be read
+     * in full later on, and a truncated or corrupted record fails here, while the saved file is still being read.
+     *
+     * @param record The payload of the record, positioned at its start and limited to its end.
+     * @param summary The {@code NoteSummary} object in which the note is to be counted.
+     * @return IndexedRecord The {@code IndexedRecord} object holding the record of the note.
+     */
+    static IndexedRecord indexNote(ByteBuffer record, NoteSummary summary) {
+
+        ByteBuffer buffer = record.duplicate();
+        byte tag = buffer.get();
+        getVarInt(buffer);
+        int descriptionLength = getVarInt(buffer);
+        buffer.position(buffer.position() + descriptionLength);
+        long addTime = buffer.getLong();
+        boolean isDone = buffer.get() != 0;
+        if(isDone) {
+            buffer.getLong();
+        }
+
+        long endTime = 0;
+        long keyTime = switch (tag) {
+            case TAG_BILL, TAG_DEADLINE -> {
+                long targetTime = buffer.getLong();
+                buffer.get();
+                yield targetTime;
+            }
+            case TAG_BIRTHDAY, TAG_EVENT, TAG_WEDDING -> {
+                long startTime = buffer.getLong();
+                endTime = buffer.getLong();
+                getVarLong(buffer);
+                yield startTime;
+            }
+            case TAG_SHOPLIST, TAG_TASK -> addTime;
+            default -> throw new IllegalArgumentException("Unknown type tag " + tag + " in saved file.");
+        };
+
+        summary.countNote(isEventTag(tag), isDone);
+        if(tag == TAG_BILL || tag == TAG_SHOPLIST || tag == TAG_WEDDING) {
+            double budgetSet = buffer.getDouble();
+            buffer.getDouble();
+            double budgetUsed = buffer.getDouble();
+            double budgetBalance = buffer.getDouble();
+            buffer.get();
+            summary.countBudget(budgetSet, budgetUsed, budgetBalance);
+        }
+        return new IndexedRecord(record, tag, isDone, keyTime, isEventTag(tag) ? endTime : keyTime);
+    }
+
+    /**
+     * This method is used to check whether a type tag is that of an {@code Event} object or its extensions.
+     *
+     * @param tag The type tag.
+     * @return boolean True if the type tag is that of an {@code Event}, {@code Birthday} or {@code Wedding} object.
+     */
+    static boolean isEventTag(byte tag) {
+        return tag == TAG_BIRTHDAY || tag == TAG_EVENT || tag == TAG_WEDDING;
+    }
+
+    /**
+     * This method is used to check whether a type tag is that of a {@code Deadline} object or its extensions.
+     *
+     * @param tag The type tag.
+     * @return boolean True if the type tag is that of a {@code Deadline} or {@code Bill} object.
+     */
+    static boolean isDeadlineTag(byte tag) {
+        return tag == TAG_BILL || tag == TAG_DEADLINE;
+    }
+
+    /**
+     * This method is used to read the description of a note from the payload of a record,
+     * without reconstructing its {@code Note} object.
+     *
+     * @param record The payload of the record, positioned at its start.
+     * @return String The description of the note.
+     */
+    static String getDescription(ByteBuffer record) {
+        ByteBuffer buffer = record.duplicate();
+        buffer.get();
+        getVarInt(buffer);
+        byte[] descriptionBytes = new byte[getVarInt(buffer)];
+        buffer.get(descriptionBytes);
+        return new String(descriptionBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method is used to read the date a note concluded from the payload of a record,
+     * without reconstructing its {@code Note} object.
+     *
+     * @param record The payload of the record, positioned at its start.
+     * @return long The date the note concluded in epoch milliseconds, or {@code Long.MAX_VALUE} if it has not.
+     */
+    static long getDoneTime(ByteBuffer record) {
+        ByteBuffer buffer = record.duplicate();
+        buffer.get();
+        getVarInt(buffer);
+        int descriptionLength = getVarInt(buffer);
+        buffer.position(buffer.position() + descriptionLength + Long.BYTES);
+        return buffer.get() != 0 ? buffer.getLong() : Long.MAX_VALUE;
+    }
+
+    /**
+     * This method is used to read the revised budget amount of a note from the payload of a record,
+     * without reconstructing its {@code Note} object.
+     *
+     * @param record The payload of the record, positioned at its start.
+     * @return double The revised budget amount of the note, or {@code Double.NaN} if it has no budget.
+     */
+    static double getBudgetRevised(ByteBuffer record) {
+        ByteBuffer buffer = record.duplicate();
+        byte tag = buffer.get();
+        if(tag != TAG_BILL && tag != TAG_SHOPLIST && tag != TAG_WEDDING) {
+            return Double.NaN;
+        }
+        getVarInt(buffer);
+        int descriptionLength = getVarInt(buffer);
+        buffer.position(buffer.position() + descriptionLength + Long.BYTES);
+        if(buffer.get() != 0) {
+            buffer.getLong();
+        }
+        if(tag == TAG_BILL) {
+            buffer.position(buffer.position() + Long.BYTES + 1);
+        } else if(tag == TAG_WEDDING) {
+            buffer.position(buffer.position() + 2 * Long.BYTES);
+            getVarLong(buffer);
+        }
+        buffer.getDouble();
+        return buffer.getDouble();
+    }
+
+    /**
+     * This method is used to reconstruct a {@code Budget} object from the payload of a record.
+     *
+     * @param buffer The {@code ByteBuffer} object positioned at the start of the budget amounts.
+     * @return Budget The reconstructed {@code Budget} object.
+     */
+    private static Budget getBudget(ByteBuffer buffer) {
+        double budgetSet = buffer.getDouble();
+        double budgetRevised = buffer.getDouble();
+        double budgetUsed = buffer.getDouble();
+        double budgetBalance = buffer.getDouble();
+        byte flags = buffer.get();
+        return new Budget(budgetSet, budgetRevised, budgetUsed, budgetBalance,
+                (flags & 1) != 0, (flags & 2) != 0);
+    }
+
+    /**
+     * This method is used to read an unsigned variable-length integer.
+     *
+     * @param buffer The {@code ByteBuffer} object to read from.
+     * @return int The integer read.
+     */
+    static int getVarInt(ByteBuffer buffer) {
+        return (int) getVarLong(buffer);
+    }
+
+    /**
+     * This method is used to read an unsigned variable-length long integer.
+     *
+     * @param buffer The {@code ByteBuffer} object to read from.
+     * @return long The long integer read.
+     */
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if(shift > 63) {
+                throw new IllegalArgumentException("Malformed varint in saved file.");
+            }
+            b = buffer.get();
+            value = value | ((long) (b & 0x7F) << shift);
+            shift = shift + 7;
+        } while((b & 0x80) != 0);
+        return value;
+    }
+}
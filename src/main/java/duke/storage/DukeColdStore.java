@@ -0,0 +1,251 @@
+package duke.storage;
+
+import duke.notes.Note;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An object that stores completed {@code Note} objects moved out of the saved file in a cold segment file,
+ * which is only read when they are asked for (e.g. when listing completed notes).
+ *
+ * The cold segment file is only ever appended to, one segment per move. Each segment records the generation
+ * of the saved file written without its notes, and a running tally of all notes in the cold segment file
+ * so far, so that the class-level members can be counted from the last segment header alone. Segments of a
+ * later generation than the saved file (e.g. left behind by a crash before the saved file was replaced,
+ * or by reverting to an archived file) are discarded, as their notes are still held by the saved file.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class DukeColdStore {
+
+    //VARIABLES-----------------------------------------
+    static final byte[] COLD_MAGIC = {'D', 'U', 'K', 'C'};
+    private static final int SEGMENT_HEADER_LENGTH = Long.BYTES + Integer.BYTES + NoteSummary.LENGTH;
+
+    private final File file;
+    private long validLength = 0;
+    private NoteSummary summary = new NoteSummary();
+    private ArrayList<Note> notes = null;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code DukeColdStore} object.
+     *
+     * @param file The cold segment file.
+     */
+    DukeColdStore(File file) {
+        this.file = file;
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the cold segment file.
+     *
+     * @return File The cold segment file.
+     */
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * This method is used to retrieve the tally of all notes in the cold segment file.
+     *
+     * @return NoteSummary The tally of all notes in the cold segment file.
+     */
+    NoteSummary getSummary() {
+        return this.summary;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to read the segment headers of the cold segment file, discarding segments
+     * that are torn or of a later generation than the saved file. The notes themselves are not read.
+     *
+     * @param generation The generation of the saved file.
+     * @return NoteSummary The tally of all notes in the cold segment file kept.
+     * @throws IOException If the cold segment file could not be read.
+     */
+    NoteSummary open(long generation) throws IOException {
+
+        this.validLength = 0;
+        this.summary = new NoteSummary();
+        this.notes = null;
+        if(!this.file.isFile()) {
+            return this.summary;
+        }
+
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(Math.max(DukeCodec.HEADER_LENGTH, SEGMENT_HEADER_LENGTH));
+            header.limit(DukeCodec.HEADER_LENGTH);
+            readFully(channel, header, 0);
+            if(DukeCodec.hasHeader(header.flip(), COLD_MAGIC)) {
+                long position = DukeCodec.HEADER_LENGTH;
+                this.validLength = position;
+                while(position + SEGMENT_HEADER_LENGTH <= size) {
+                    header.clear().limit(SEGMENT_HEADER_LENGTH);
+                    readFully(channel, header, position);
+                    header.flip();
+                    long segmentGeneration = header.getLong();
+                    int length = header.getInt();
+                    if(segmentGeneration > generation || length < 0
+                            || position + SEGMENT_HEADER_LENGTH + length > size) {
+                        break;
+                    }
+                    this.summary = NoteSummary.readFrom(header);
+                    position = position + SEGMENT_HEADER_LENGTH + length;
+                    this.validLength = position;
+                }
+            }
+        }
+
+        if(this.validLength < this.file.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+                raf.setLength(this.validLength);
+            }
+        }
+        return this.summary;
+    }
+
+    /**
+     * This method is used to append a segment holding the records given to the cold segment file.
+     *
+     * @param records The payloads of the records to be moved to the cold segment file.
+     * @param moved The tally of the notes to be moved.
+     * @param generation The generation of the saved file to be written without the notes moved.
+     * @param isForced True if the segment should be forced onto the hard drive.
+     * @throws IOException If the cold segment file could not be written.
+     */
+    void append(List<ByteBuffer> records, NoteSummary moved, long generation, boolean isForced)
+            throws IOException {
+
+        int length = 0;
+        for(ByteBuffer record : records) {
+            length = length + DukeStorage.MAX_VARINT_LENGTH + record.remaining();
+        }
+        boolean hasHeader = this.validLength > 0;
+        ByteBuffer buffer = ByteBuffer.allocate((hasHeader ? 0 : DukeCodec.HEADER_LENGTH)
+                + SEGMENT_HEADER_LENGTH + length);
+        if(!hasHeader) {
+            DukeCodec.writeHeader(buffer, COLD_MAGIC, 0);
+        }
+
+        NoteSummary newSummary = new NoteSummary();
+        newSummary.countSummary(this.summary);
+        newSummary.countSummary(moved);
+        int segmentStart = buffer.position();
+        buffer.putLong(generation);
+        buffer.putInt(0);
+        newSummary.writeTo(buffer);
+        for(ByteBuffer record : records) {
+            DukeCodec.putVarInt(buffer, record.remaining());
+            buffer.put(record.duplicate());
+        }
+        buffer.putInt(segmentStart + Long.BYTES, buffer.position() - segmentStart - SEGMENT_HEADER_LENGTH);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            long position = this.validLength;
+            while(buffer.hasRemaining()) {
+                position = position + channel.write(buffer, position);
+            }
+            if(isForced) {
+                channel.force(false);
+            }
+            this.validLength = position;
+        }
+        this.summary = newSummary;
+        this.notes = null;
+    }
+
+    /**
+     * This method is used to reconstruct all {@code Note} objects in the cold segment file, in parallel.
+     * The {@code Note} objects are numbered in the order they were moved, and are kept until the cold segment
+     * file next changes. They are not counted in the class-level members again, as they already are.
+     * They are held for reference only: they cannot be reached by serial number, and changes to them are never saved.
+     *
+     * @return ArrayList<Note> The {@code Note} objects in the cold segment file.
+     * @throws IOException If the cold segment file could not be read.
+     * @throws ParseException If a record in the cold segment file could not be read.
+     */
+    ArrayList<Note> readNotes() throws IOException, ParseException {
+
+        if(this.notes != null) {
+            return this.notes;
+        }
+        ArrayList<ByteBuffer> records = new ArrayList<>();
+        if(this.validLength > 0) {
+            ByteBuffer contents = DukeStorage.readBytes(this.file);
+            contents.limit((int) this.validLength);
+            contents.position(DukeCodec.HEADER_LENGTH);
+            try {
+                while(contents.hasRemaining()) {
+                    contents.position(contents.position() + Long.BYTES);
+                    int segmentEnd = contents.getInt() + contents.position() + NoteSummary.LENGTH;
+                    contents.position(contents.position() + NoteSummary.LENGTH);
+                    while(contents.position() < segmentEnd) {
+                        records.add(DukeStorage.readRecord(contents));
+                    }
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new ParseException("The cold segment file is incomplete.", contents.position());
+            }
+        }
+
+        Note[] decoded = new Note[records.size()];
+        NoteSummary existing = NoteSummary.ofExistingNotes();
+        DecodeTask decodeTask = new DecodeTask(records, decoded);
+        decodeTask.invoke();
+        existing.apply();
+        if(decodeTask.getFirstFailure() >= 0) {
+            int index = decodeTask.getFirstFailure();
+            throw new ParseException("Note #" + (index + 1) + " in the cold segment file could not be read.", index);
+        }
+        this.notes = new ArrayList<>(Arrays.asList(decoded));
+        return this.notes;
+    }
+
+    /**
+     * This method is used to delete the cold segment file.
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    void delete() {
+        this.file.delete();
+        this.validLength = 0;
+        this.summary = new NoteSummary();
+        this.notes = null;
+    }
+
+    /**
+     * This method is used to fill a buffer from a file channel, starting at the position given.
+     *
+     * @param channel The file channel to be read.
+     * @param buffer The buffer to be filled up to its limit.
+     * @param position The position in the file to start reading from.
+     * @throws IOException If the file channel could not be read.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if(read < 0) {
+                break;
+            }
+            position = position + read;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package duke.storage;
 
 import duke.notes.Note;
+import duke.notes.event.Event;
+import duke.notes.task.Deadline;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
- * An object that holds all the {@code Note} objects in {@code Duke} for quick access.
+ * An object that holds all the {@code Note} objects in {@code Duke} for quick access, together with the indexes
+ * used to find them, each of which is rebuilt only when next needed after it is found to be out of date.
  *
  * @author tanqiuyu
  * @since 2020-09-16
@@ -13,6 +21,40 @@ import java.util.ArrayList;
 public class DukeList {
 
     private ArrayList<Note> notes;
+    private final ArrayList<JournalRecord> pendingRecords = new ArrayList<>();
+    private final Set<Note> addedNotes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Note> changedNotes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The slot of each identifier, which never changes; positions are found by counting the live slots before it. */
+    private final NoteIdIndex noteIdIndex = new NoteIdIndex();
+    private final LiveSlots liveSlots = new LiveSlots();
+    private boolean isIndexStale = true;
+    private int nextNoteId = 1;
+
+    /** The first position whose serial number is out of date after a removal, renumbered on the next access. */
+    private int renumberFrom = Integer.MAX_VALUE;
+
+    /** The spans of all events, so that clashing events are found without checking every note. */
+    private final EventSpans eventSpans = new EventSpans();
+
+    /** The dates of all deadlines and events, so that the notes between two dates are found directly. */
+    private final NoteTimeIndex noteTimes = new NoteTimeIndex();
+    private boolean isDateIndexStale = true;
+
+    /** The trigrams of all descriptions, built on the first search by description. */
+    private final NoteTextIndex noteTexts = new NoteTextIndex();
+    private boolean isTextIndexStale = true;
+
+    /** The deadlines and events of the next few days in order of date, sliding forward as it is read. */
+    private final AgendaView agenda = new AgendaView();
+    private boolean isAgendaStale = true;
+
+    /** The revised amounts of all budgets in order, built on the first search by budget. */
+    private final NoteBudgetIndex noteBudgets = new NoteBudgetIndex();
+    private boolean isBudgetIndexStale = true;
+
+    /** Increased by every change, so that results worked out from an earlier version are known to be out of date. */
+    private long version = 0;
 
     /**
      * This method is used to construct a {@code DukeList} object.
@@ -38,9 +80,20 @@ public class DukeList {
      * @return ArrayList<Note> The ArrayList of {@code Note} objects held.
      */
     public ArrayList<Note> getNotes() {
+        renumberNotes();
         return this.notes;
     }
 
+    /**
+     * This method is used to retrieve the version of the list, which increases with every change
+     * to the {@code Note} objects held.
+     *
+     * @return long The version of the list.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * This method is used to replace the ArrayList of {@code Note} held in the {@code DukeList} object.
      *
@@ -48,6 +101,596 @@ public class DukeList {
      */
     void replaceNotes(ArrayList<Note> newNotes) {
         this.notes = newNotes;
+        this.version++;
+        this.isIndexStale = true;
+        this.isDateIndexStale = true;
+        this.isTextIndexStale = true;
+        this.isAgendaStale = true;
+        this.isBudgetIndexStale = true;
+        this.renumberFrom = Integer.MAX_VALUE;
+        this.pendingRecords.clear();
+        this.addedNotes.clear();
+        this.changedNotes.clear();
+    }
+
+    /**
+     * This method is used to add a new {@code Note} object to the end of the list,
+     * and to record the addition for the next save.
+     *
+     * @param note The new {@code Note} object to be held.
+     */
+    public void addNote(Note note) {
+        this.notes.add(note);
+        this.version++;
+        if(note.getNoteId() == 0) {
+            note.setNoteId(this.nextNoteId++);
+        }
+        int slot = this.isIndexStale ? -1 : this.liveSlots.addSlot();
+        if(slot >= 0) {
+            this.noteIdIndex.put(note.getNoteId(), slot);
+        } else {
+            this.isIndexStale = true;
+        }
+        if(!this.isDateIndexStale) {
+            indexDates(note);
+        }
+        if(!this.isTextIndexStale) {
+            this.noteTexts.put(note.getNoteId(), note.getDescription());
+        }
+        if(!this.isBudgetIndexStale) {
+            indexBudget(note);
+        }
+        updateAgenda(note);
+        this.pendingRecords.add(new JournalRecord(JournalRecord.UPSERT, this.notes.size(), note));
+        this.addedNotes.add(note);
+    }
+
+    /**
+     * This method is used to remove a {@code Note} object from the list,
+     * and to record the removal for the next save.
+     *
+     * @param index The index of the {@code Note} object to be removed.
+     * @return Note The {@code Note} object removed.
+     */
+    public Note removeNote(int index) {
+        Note note = this.notes.remove(index);
+        this.version++;
+        int slot = isIndexCurrent(1) ? this.noteIdIndex.get(note.getNoteId()) : -1;
+        if(slot >= 0 && this.liveSlots.countBefore(slot) == index) {
+            this.noteIdIndex.remove(note.getNoteId());
+            this.liveSlots.freeSlot(slot);
+        } else {
+            this.isIndexStale = true;
+        }
+        this.renumberFrom = Math.min(this.renumberFrom, index);
+        this.eventSpans.remove(note.getNoteId());
+        this.noteTimes.remove(note.getNoteId());
+        this.noteTexts.remove(note.getNoteId());
+        this.agenda.remove(note.getNoteId());
+        this.noteBudgets.remove(note.getNoteId());
+        this.pendingRecords.add(new JournalRecord(JournalRecord.DELETE, index + 1, null));
+        this.changedNotes.remove(note);
+        return note;
+    }
+
+    /**
+     * This method is used to find the position of the {@code Note} object with the serial number given,
+     * i.e. the number it was last listed under. Serial numbers are kept equal to positions plus one,
+     * so the position is worked out directly rather than looked up in an index of serial numbers.
+     *
+     * @param serialNum The serial number of the {@code Note} object.
+     * @return int The position of the {@code Note} object, or -1 if no {@code Note} object has the serial number.
+     */
+    public int findIndex(int serialNum) {
+        return serialNum >= 1 && serialNum <= this.notes.size() ? serialNum - 1 : -1;
+    }
+
+    /**
+     * This method is used to find the {@code Note} object with the serial number given.
+     *
+     * @param serialNum The serial number of the {@code Note} object.
+     * @return Note The {@code Note} object, or null if no {@code Note} object has the serial number.
+     */
+    public Note findNote(int serialNum) {
+        int index = findIndex(serialNum);
+        renumberNotes();
+        return index < 0 ? null : this.notes.get(index);
+    }
+
+    /**
+     * This method is used to find the position of the {@code Note} object with the identifier given.
+     * Positions found are checked against the identifier of the {@code Note} object there, and the index is
+     * rebuilt once if they do not match or if it does not cover every {@code Note} object held,
+     * e.g. if {@code Note} objects were added to the list directly.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     * @return int The position of the {@code Note} object, or -1 if no {@code Note} object has the identifier.
+     */
+    int findIndexById(int noteId) {
+        if(isIndexCurrent(0)) {
+            int index = locate(noteId);
+            if(index < 0 || isIndexed(index, noteId)) {
+                return index;
+            }
+        }
+        rebuildIndex();
+        int index = locate(noteId);
+        return isIndexed(index, noteId) ? index : -1;
+    }
+
+    /**
+     * This method is used to find the first {@code Event} object held whose span overlaps the span given,
+     * both ends included, leaving out the {@code Note} object given (e.g. the event whose dates are being edited).
+     * Only the {@code Event} objects found are read from the saved file. The interval tree is rebuilt
+     * if the index of identifiers is found to be out of date, e.g. if notes were added to the list directly.
+     *
+     * @param start The start of the span.
+     * @param end The end of the span.
+     * @param excluded The {@code Note} object to be left out, or null if none is.
+     * @return Event The first {@code Event} object in the list that clashes, or null if none does.
+     */
+    public Event findClash(Date start, Date end, Note excluded) {
+        if(this.isDateIndexStale || !isIndexCurrent(0)) {
+            rebuildDateIndexes();
+        }
+        int excludedId = excluded == null ? 0 : excluded.getNoteId();
+        int first = -1;
+        for (int noteId : this.eventSpans.findOverlaps(start.getTime(), end.getTime())) {
+            int index = noteId == excludedId ? -1 : findIndexById(noteId);
+            if(index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        renumberNotes();
+        return first < 0 ? null : (Event) this.notes.get(first);
+    }
+
+    /**
+     * This method is used to find the deadlines and events held that fall strictly between the dates given,
+     * i.e. whose target or start dates are after the first date and before the second.
+     * Only the {@code Note} objects found are read from the saved file.
+     *
+     * @param from The date after which {@code Note} objects are found.
+     * @param to The date before which {@code Note} objects are found.
+     * @return ArrayList<Note> The {@code Note} objects found, in order of date.
+     */
+    public ArrayList<Note> findNotesBetween(Date from, Date to) {
+        if(this.isDateIndexStale || !isIndexCurrent(0)) {
+            rebuildDateIndexes();
+        }
+        renumberNotes();
+        ArrayList<Note> found = new ArrayList<>();
+        for (int noteId : this.noteTimes.findBetween(from.getTime(), to.getTime())) {
+            int index = findIndexById(noteId);
+            if(index >= 0) {
+                found.add(this.notes.get(index));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This method is used to find the deadlines and events held that fall strictly between the dates given,
+     * reading them off the agenda view when they fall within its horizon from the first date.
+     * The agenda view is first moved forward to the first date, evicting the notes whose dates have passed
+     * and admitting those that have come within its horizon since it was last read.
+     *
+     * @param from The date after which {@code Note} objects are found, usually the current time.
+     * @param to The date before which {@code Note} objects are found.
+     * @return ArrayList<Note> The {@code Note} objects found, in order of date.
+     */
+    public ArrayList<Note> findUpcoming(Date from, Date to) {
+        long now = from.getTime();
+        long end = now + AgendaView.HORIZON;
+        if(to.getTime() > end) {
+            return findNotesBetween(from, to);
+        }
+        if(this.isDateIndexStale || !isIndexCurrent(0)) {
+            rebuildDateIndexes();
+        }
+        renumberNotes();
+        if(this.isAgendaStale || now < this.agenda.getStart()) {
+            this.agenda.reset(now);
+            this.isAgendaStale = false;
+        } else {
+            this.agenda.evictUntil(now);
+        }
+        if(end > this.agenda.getNextAdmission()) {
+            long admitFrom = this.agenda.getEnd();
+            this.agenda.extendTo(end, Long.MAX_VALUE);
+            for (int noteId : this.noteTimes.findBetween(admitFrom - 1, end)) {
+                int index = findIndexById(noteId);
+                if(index >= 0) {
+                    updateAgenda(this.notes.get(index));
+                }
+            }
+            this.agenda.extendTo(end, this.noteTimes.findFirstFrom(end));
+        } else if(end > this.agenda.getEnd()) {
+            this.agenda.extendTo(end, this.agenda.getNextAdmission());
+        }
+        return this.agenda.findBefore(to.getTime());
+    }
+
+    /**
+     * This method is used to find the earliest target or start date of the deadlines and events held
+     * that falls on or after the date given.
+     *
+     * @param from The date from which dates are found.
+     * @return Date The earliest date found, or null if no deadline or event falls on or after the date given.
+     */
+    public Date findNextDate(Date from) {
+        if(this.isDateIndexStale || !isIndexCurrent(0)) {
+            rebuildDateIndexes();
+        }
+        long time = this.noteTimes.findFirstFrom(from.getTime());
+        return time == Long.MAX_VALUE ? null : new Date(time);
+    }
+
+    /**
+     * This method is used to find the {@code Note} objects held whose descriptions contain the text given,
+     * ignoring case. Only the {@code Note} objects found are read from the saved file.
+     *
+     * @param text The text to be found.
+     * @return ArrayList<Note> The {@code Note} objects found, in the order they are held.
+     */
+    public ArrayList<Note> findNotesWith(String text) {
+        if(this.isTextIndexStale || !isIndexCurrent(0)) {
+            rebuildTextIndex();
+        }
+        ArrayList<Integer> noteIds = this.noteTexts.find(text);
+        int[] indexes = new int[noteIds.size()];
+        int count = 0;
+        for (int noteId : noteIds) {
+            int index = findIndexById(noteId);
+            if(index >= 0) {
+                indexes[count++] = index;
+            }
+        }
+        Arrays.sort(indexes, 0, count);
+        renumberNotes();
+
+        ArrayList<Note> found = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            found.add(this.notes.get(indexes[i]));
+        }
+        return found;
+    }
+
+    /**
+     * This method is used to find the {@code Note} objects held whose revised budget amounts fall within
+     * the range given, both ends included, starting from the smallest or the largest amount.
+     * Only the {@code Note} objects found are read from the saved file.
+     *
+     * @param min The smallest budget amount found.
+     * @param max The largest budget amount found.
+     * @param count The number of {@code Note} objects to be found at most.
+     * @param isLargestFirst True if {@code Note} objects are found from the largest budget down.
+     * @return ArrayList<Note> The {@code Note} objects found, in order of budget amount, and then in the order held.
+     */
+    public ArrayList<Note> findBudgetsBetween(double min, double max, int count, boolean isLargestFirst) {
+        if(this.isBudgetIndexStale || !isIndexCurrent(0)) {
+            rebuildBudgetIndex();
+        }
+        renumberNotes();
+        ArrayList<Note> found = new ArrayList<>();
+        for (int noteId : this.noteBudgets.findBetween(min, max, count, isLargestFirst)) {
+            int index = findIndexById(noteId);
+            if(index >= 0) {
+                found.add(this.notes.get(index));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This method is used to count the position of the {@code Note} object with the identifier given
+     * from its slot.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     * @return int The position counted, or -1 if the identifier is not indexed.
+     */
+    private int locate(int noteId) {
+        int slot = this.noteIdIndex.get(noteId);
+        return slot < 0 ? -1 : this.liveSlots.countBefore(slot);
+    }
+
+    /**
+     * This method is used to check whether the index covers every {@code Note} object held.
+     *
+     * @param removed The number of {@code Note} objects just removed from the list but not yet from the index.
+     * @return boolean True if the index is up to date.
+     */
+    private boolean isIndexCurrent(int removed) {
+        return !this.isIndexStale && this.liveSlots.getLiveCount() == this.notes.size() + removed;
+    }
+
+    /**
+     * This method is used to check whether the {@code Note} object at the position given has the identifier given.
+     *
+     * @param index The position of the {@code Note} object.
+     * @param noteId The identifier expected.
+     * @return boolean True if the position is held and the {@code Note} object there has the identifier.
+     */
+    private boolean isIndexed(int index, int noteId) {
+        return index >= 0 && index < this.notes.size() && getNoteIdAt(index) == noteId;
+    }
+
+    /**
+     * This method is used to rebuild the index, handing out slots again to all {@code Note} objects held in order,
+     * and giving identifiers to those without one.
+     */
+    private void rebuildIndex() {
+        this.noteIdIndex.clear(this.notes.size());
+        this.liveSlots.reset(this.notes.size());
+        for (int i = 0; i < this.notes.size(); i++) {
+            if(getNoteIdAt(i) == 0) {
+                setNoteIdAt(i, this.nextNoteId++);
+            }
+            this.noteIdIndex.put(getNoteIdAt(i), i);
+        }
+        this.isIndexStale = false;
+    }
+
+    /**
+     * This method is used to rebuild the interval tree and the index of dates from all {@code Note} objects held,
+     * reading the dates of notes not yet read from their indexed records.
+     */
+    private void rebuildDateIndexes() {
+        if(!isIndexCurrent(0)) {
+            rebuildIndex();
+        }
+        this.eventSpans.clear();
+        this.noteTimes.clear();
+        for (int i = 0; i < this.notes.size(); i++) {
+            IndexedRecord record = findUnread(i);
+            if(record == null) {
+                indexDates(this.notes.get(i));
+            } else {
+                indexDates(record);
+            }
+        }
+        this.isDateIndexStale = false;
+    }
+
+    /**
+     * This method is used to rebuild the inverted index from the descriptions of all {@code Note} objects held,
+     * reading the descriptions of notes not yet read from their records.
+     */
+    private void rebuildTextIndex() {
+        if(!isIndexCurrent(0)) {
+            rebuildIndex();
+        }
+        this.noteTexts.clear();
+        for (int i = 0; i < this.notes.size(); i++) {
+            IndexedRecord record = findUnread(i);
+            String description = record == null
+                    ? this.notes.get(i).getDescription()
+                    : DukeCodec.getDescription(record.getRecord());
+            this.noteTexts.put(getNoteIdAt(i), description);
+        }
+        this.isTextIndexStale = false;
+    }
+
+    /**
+     * This method is used to rebuild the index of budgets from all {@code Note} objects held,
+     * reading the budget amounts of notes not yet read from their records.
+     */
+    private void rebuildBudgetIndex() {
+        if(!isIndexCurrent(0)) {
+            rebuildIndex();
+        }
+        int[] noteIds = new int[this.notes.size()];
+        double[] amounts = new double[this.notes.size()];
+        int count = 0;
+        for (int i = 0; i < this.notes.size(); i++) {
+            IndexedRecord record = findUnread(i);
+            double amount;
+            if(record == null) {
+                Note note = this.notes.get(i);
+                amount = note.getBudgetObject() == null ? Double.NaN : note.getBudgetObject().getBudgetRevised();
+            } else {
+                amount = DukeCodec.getBudgetRevised(record.getRecord());
+            }
+            if(!Double.isNaN(amount)) {
+                noteIds[count] = getNoteIdAt(i);
+                amounts[count++] = amount;
+            }
+        }
+        this.noteBudgets.putAll(noteIds, amounts, count);
+        this.isBudgetIndexStale = false;
+    }
+
+    /**
+     * This method is used to index the revised budget amount of a {@code Note} object,
+     * or to remove it from the index if it has no budget.
+     *
+     * @param note The {@code Note} object.
+     */
+    private void indexBudget(Note note) {
+        if(note.getBudgetObject() == null) {
+            this.noteBudgets.remove(note.getNoteId());
+        } else {
+            this.noteBudgets.put(note.getNoteId(), note.getBudgetObject().getBudgetRevised());
+        }
+    }
+
+    /**
+     * This method is used to index the dates of a {@code Note} object, i.e. the span of an event
+     * and the date a deadline or an event falls on.
+     *
+     * @param note The {@code Note} object.
+     */
+    private void indexDates(Note note) {
+        if(note instanceof Event) {
+            Event event = (Event) note;
+            this.eventSpans.add(note.getNoteId(), event.getStartDate().getTime(), event.getEndDate().getTime());
+            this.noteTimes.put(note.getNoteId(), event.getStartDate().getTime());
+        } else if(note instanceof Deadline) {
+            this.noteTimes.put(note.getNoteId(), ((Deadline) note).getTargetDate().getTime());
+        }
+    }
+
+    /**
+     * This method is used to index the dates of a note yet to be read from the saved file,
+     * from its indexed record.
+     *
+     * @param record The {@code IndexedRecord} object of the note.
+     */
+    private void indexDates(IndexedRecord record) {
+        if(record.isEvent()) {
+            this.eventSpans.add(record.getNoteId(), record.getKeyTime(), record.getEndTime());
+        }
+        if(record.isEvent() || record.isDeadline()) {
+            this.noteTimes.put(record.getNoteId(), record.getKeyTime());
+        }
+    }
+
+    /**
+     * This method is used to hold a {@code Note} object in the agenda view under its target or start date,
+     * or to remove it from the view if it has neither, unless the view is to be rebuilt.
+     *
+     * @param note The {@code Note} object.
+     */
+    private void updateAgenda(Note note) {
+        if(this.isAgendaStale) {
+            return;
+        }
+        if(note instanceof Event) {
+            this.agenda.put(note, ((Event) note).getStartDate().getTime());
+        } else if(note instanceof Deadline) {
+            this.agenda.put(note, ((Deadline) note).getTargetDate().getTime());
+        } else {
+            this.agenda.remove(note.getNoteId());
+        }
+    }
+
+    /**
+     * This method is used to bring the serial numbers of the {@code Note} objects after the first
+     * {@code Note} object removed up to date with their positions, without reading them from the saved file.
+     * It is called whenever the {@code Note} objects are next reached, so several removals in a row
+     * are renumbered in a single pass. Notes yet to be read are numbered by their positions once read.
+     */
+    private void renumberNotes() {
+        for (int i = this.renumberFrom; i < this.notes.size(); i++) {
+            if(findUnread(i) == null) {
+                this.notes.get(i).setSerialNum(i + 1);
+            }
+        }
+        this.renumberFrom = Integer.MAX_VALUE;
+    }
+
+    /**
+     * This method is used to retrieve the indexed record of the note at the position given,
+     * if it is yet to be read from the saved file.
+     *
+     * @param index The position of the note.
+     * @return IndexedRecord The {@code IndexedRecord} object of the note, or null if the note has been read.
+     */
+    private IndexedRecord findUnread(int index) {
+        return this.notes instanceof LazyNoteList ? ((LazyNoteList) this.notes).getUnread(index) : null;
+    }
+
+    /**
+     * This method is used to retrieve the identifier of the note at the position given,
+     * without reading it from the saved file if it is yet to be read.
+     *
+     * @param index The position of the note.
+     * @return int The identifier of the note, or 0 if it has not been given one.
+     */
+    private int getNoteIdAt(int index) {
+        IndexedRecord record = findUnread(index);
+        return record == null ? this.notes.get(index).getNoteId() : record.getNoteId();
+    }
+
+    /**
+     * This method is used to give an identifier to the note at the position given,
+     * without reading it from the saved file if it is yet to be read.
+     *
+     * @param index The position of the note.
+     * @param noteId The identifier of the note.
+     */
+    private void setNoteIdAt(int index, int noteId) {
+        IndexedRecord record = findUnread(index);
+        if(record == null) {
+            this.notes.get(index).setNoteId(noteId);
+        } else {
+            record.setNoteId(noteId);
+        }
+    }
+
+    /**
+     * This method is used to record changes made to a {@code Note} object already held for the next save.
+     * A {@code Note} object changed several times before the next save is only saved once.
+     *
+     * @param note The {@code Note} object that has been changed.
+     */
+    public void updateNote(Note note) {
+        this.version++;
+        if(!this.addedNotes.contains(note)) {
+            this.changedNotes.add(note);
+        }
+        if(!this.isDateIndexStale && note.getNoteId() != 0) {
+            indexDates(note);
+        }
+        if(!this.isTextIndexStale && note.getNoteId() != 0) {
+            this.noteTexts.put(note.getNoteId(), note.getDescription());
+        }
+        if(!this.isBudgetIndexStale && note.getNoteId() != 0) {
+            indexBudget(note);
+        }
+        if(note.getNoteId() != 0) {
+            updateAgenda(note);
+        }
+    }
+
+    /**
+     * This method is used to access the changes recorded since the last save. Additions and removals
+     * are kept in the order made, followed by the {@code Note} objects whose version has changed since
+     * they were last saved, at their current positions.
+     *
+     * @return ArrayList<JournalRecord> The changes recorded since the last save, in order.
+     */
+    ArrayList<JournalRecord> getPendingRecords() {
+        renumberNotes();
+        ArrayList<JournalRecord> records = new ArrayList<>(this.pendingRecords);
+        for(Note note : this.changedNotes) {
+            if(note.getIsChanged()) {
+                records.add(new JournalRecord(JournalRecord.UPSERT, note.getSerialNum(), note));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * This method is used to discard the changes recorded once they have been saved,
+     * marking the {@code Note} objects involved as saved.
+     */
+    void clearPendingRecords() {
+        for(Note note : this.addedNotes) {
+            note.markAsSaved();
+        }
+        for(Note note : this.changedNotes) {
+            note.markAsSaved();
+        }
+        this.pendingRecords.clear();
+        this.addedNotes.clear();
+        this.changedNotes.clear();
+    }
+
+    /**
+     * This method is used to discard the changes recorded once all {@code Note} objects held have been saved.
+     */
+    void markAllSaved() {
+        if(this.notes instanceof LazyNoteList) {
+            ((LazyNoteList) this.notes).markReadNotesSaved();
+        } else {
+            for(Note note : this.notes) {
+                note.markAsSaved();
+            }
+        }
+        this.pendingRecords.clear();
+        this.addedNotes.clear();
+        this.changedNotes.clear();
     }
 
 }
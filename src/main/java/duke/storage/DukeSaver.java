@@ -0,0 +1,278 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An object that writes auto-saves to file on a single background thread, so that commands
+ * do not wait on the hard drive.
+ *
+ * Saves are encoded by the thread that made the changes and only written out here. Saves that
+ * arrive within the debounce window of each other are written together, and a full save makes
+ * any older saves still waiting redundant. Saves that fail are recorded rather than printed from
+ * the background thread, and reported by the thread running the commands when it next saves.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class DukeSaver implements Runnable {
+
+    //VARIABLES-----------------------------------------
+    static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+    private static final int QUEUE_CAPACITY = 256;
+
+    private final DukeStorage dukeStorage;
+    private final BlockingQueue<SaveJob> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+    private Thread writer = null;
+    private int unwritten = 0;
+    private volatile boolean hasFailed = false;
+    private final AtomicBoolean isFailureUnreported = new AtomicBoolean(false);
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code DukeSaver} object.
+     *
+     * @param dukeStorage The {@code DukeStorage} object whose saved files are to be written.
+     */
+    DukeSaver(DukeStorage dukeStorage) {
+        this.dukeStorage = dukeStorage;
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to check whether a save written in the background has failed
+     * since the last full save was submitted.
+     *
+     * @return boolean True if a save written in the background has failed.
+     */
+    boolean getHasFailed() {
+        return this.hasFailed;
+    }
+
+    /**
+     * This method is used to check whether a save written in the background has failed since this method
+     * was last called, so that the failure is reported only once.
+     *
+     * @return boolean True if a save written in the background has failed and is yet to be reported.
+     */
+    boolean takeFailure() {
+        return this.isFailureUnreported.getAndSet(false);
+    }
+
+    /**
+     * This method is used to retrieve the time to wait for further saves before writing to file.
+     *
+     * @return long The time to wait, in milliseconds.
+     */
+    long getDebounceMillis() {
+        return this.debounceMillis;
+    }
+
+
+    //SET STATEMENTS------------------------------------
+    /**
+     * This method is used to set the time to wait for further saves before writing to file.
+     *
+     * @param debounceMillis The time to wait, in milliseconds.
+     */
+    void setDebounceMillis(long debounceMillis) {
+        assert debounceMillis >= 0 : "Debounce window cannot be negative.";
+        this.debounceMillis = debounceMillis;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to queue encoded changes to be appended to the journal.
+     *
+     * @param batch The encoded changes, ending with a commit marker.
+     * @throws InterruptedException If interrupted while waiting for room in the queue.
+     */
+    void submitJournalBatch(ByteBuffer batch) throws InterruptedException {
+        submit(new SaveJob(batch, false));
+    }
+
+    /**
+     * This method is used to queue an encoded {@code DukeList} object to be written to file in full,
+     * after the current saved file is archived.
+     *
+     * @param contents The encoded {@code DukeList} object.
+     * @throws InterruptedException If interrupted while waiting for room in the queue.
+     */
+    void submitFullSave(ByteBuffer contents) throws InterruptedException {
+        this.hasFailed = false;
+        submit(new SaveJob(contents, true));
+    }
+
+    /**
+     * This method is used to queue a save, starting the background thread if it is not yet running.
+     *
+     * @param job The save to be written.
+     * @throws InterruptedException If interrupted while waiting for room in the queue.
+     */
+    private void submit(SaveJob job) throws InterruptedException {
+        synchronized (this) {
+            if(this.writer == null) {
+                this.writer = new Thread(this, "duke-autosave");
+                this.writer.setDaemon(true);
+                this.writer.start();
+            }
+            this.unwritten++;
+        }
+        this.queue.put(job);
+    }
+
+    /**
+     * This method is used to wait until all queued saves have been written to file.
+     * It returns at once if called from the background thread itself, and gives up once the background
+     * thread has stopped, in which case the saves not written are recorded as failed.
+     */
+    synchronized void awaitSaves() {
+        if(Thread.currentThread() == this.writer) {
+            return;
+        }
+        boolean isInterrupted = false;
+        while(this.unwritten > 0 && this.writer != null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if(isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method is used to run the background thread, writing queued saves to file as they arrive.
+     * Saves arriving within the debounce window of the first are gathered and written together,
+     * or sooner if a full queue's worth has been gathered.
+     * Each group of saves is settled whether or not it was written. If the thread stops, the saves still
+     * waiting are dropped and recorded as failed, so that the next save is made in full.
+     */
+    @Override
+    public void run() {
+        ArrayList<SaveJob> jobs = new ArrayList<>();
+        try {
+            while(true) {
+                try {
+                    jobs.add(this.queue.take());
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.debounceMillis);
+                    while(jobs.size() < QUEUE_CAPACITY) {
+                        SaveJob job = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if(job == null) {
+                            break;
+                        }
+                        jobs.add(job);
+                    }
+                } catch (InterruptedException e) {
+                    if(!jobs.isEmpty()) {
+                        recordFailure();
+                    }
+                    return;
+                }
+                boolean isWritten = false;
+                try {
+                    write(jobs);
+                    isWritten = true;
+                } finally {
+                    if(!isWritten) {
+                        recordFailure();
+                    }
+                    settle(jobs);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                this.writer = null;
+                this.queue.drainTo(jobs);
+                if(!jobs.isEmpty()) {
+                    recordFailure();
+                }
+                settle(jobs);
+            }
+        }
+    }
+
+    /**
+     * This method is used to count a group of saves as no longer waiting to be written, and to wake
+     * any thread waiting for them.
+     *
+     * @param jobs The saves, which are cleared.
+     */
+    private synchronized void settle(ArrayList<SaveJob> jobs) {
+        this.unwritten = this.unwritten - jobs.size();
+        jobs.clear();
+        notifyAll();
+    }
+
+    /**
+     * This method is used to record that a save could not be written, so that the next save is made in full
+     * and the failure is reported by the thread running the commands.
+     */
+    private void recordFailure() {
+        this.hasFailed = true;
+        this.isFailureUnreported.set(true);
+    }
+
+    /**
+     * This method is used to write a group of queued saves to file. Saves queued before the last
+     * full save are skipped, and the journal batches after it are appended together.
+     * Any failure to write, expected or not, is recorded rather than stopping the background thread.
+     *
+     * @param jobs The queued saves, in the order submitted.
+     */
+    private void write(ArrayList<SaveJob> jobs) {
+        int start = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            if(jobs.get(i).isFullSave) {
+                start = i;
+            }
+        }
+
+        ArrayList<ByteBuffer> batches = new ArrayList<>();
+        try {
+            for (int i = start; i < jobs.size(); i++) {
+                if(jobs.get(i).isFullSave) {
+                    this.dukeStorage.writeFullSave(jobs.get(i).contents);
+                } else {
+                    batches.add(jobs.get(i).contents);
+                }
+            }
+            this.dukeStorage.writeJournalBatches(batches);
+        } catch (IOException | RuntimeException e) {
+            recordFailure();
+        }
+    }
+
+
+    //SAVE JOBS-----------------------------------------
+    /**
+     * An encoded save waiting to be written to file.
+     */
+    private static class SaveJob {
+
+        private final ByteBuffer contents;
+        private final boolean isFullSave;
+
+        /**
+         * This method is used to construct a {@code SaveJob} object.
+         *
+         * @param contents The encoded save.
+         * @param isFullSave True if the save holds the whole {@code DukeList} object rather than a journal batch.
+         */
+        private SaveJob(ByteBuffer contents, boolean isFullSave) {
+            this.contents = contents;
+            this.isFullSave = isFullSave;
+        }
+    }
+}
@@ -13,14 +13,29 @@ import duke.notes.task.Task;
 import duke.ui.DukeUI;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
-import java.util.Scanner;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
 
 /**
  * An object that manages the storage of the {@code DukeList} object in saved files.
@@ -31,11 +46,47 @@ import java.util.Scanner;
 public class DukeStorage {
 
     //VARIABLES-----------------------------------------
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+    public static final int MAX_CHECKPOINT_INTERVAL = 999;
+    public static final int MAX_SAVE_DELAY = 10000;
+    public static final int FSYNC_BATCH_SIZE = 8;
+    public static final int DEFAULT_UNDO_DEPTH = 3;
+    public static final int MAX_UNDO_DEPTH = 99;
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+    public static final int MAX_COMPRESSION_LEVEL = Deflater.BEST_COMPRESSION;
+    public static final int DEFAULT_COLD_AGE_DAYS = 30;
+    public static final int MAX_COLD_AGE_DAYS = 3650;
+    private static final String CATALOG_NAME = "archives.catalog";
+    private static final String ARCHIVE_PREFIX = "archive_";
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String COLD_SUFFIX = ".cold";
+    private static final String SETTINGS_SUFFIX = ".settings";
+    static final int MAX_VARINT_LENGTH = 5;
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+
     private File file;
-    private File lastSave = null;
-    private File last2Save = null;
-    private File last3Save = null;
+    private File journal;
+    private File catalog;
+    private File settings;
+    private final ArrayDeque<File> archives = new ArrayDeque<>();
+    private DukeArchive archiveStore;
+    private DukeColdStore coldStore;
+    private int coldAgeDays = DEFAULT_COLD_AGE_DAYS;
+    private int undoDepth = DEFAULT_UNDO_DEPTH;
+    private int undoSteps = 0;
     private String path;
+    private boolean isJournalMode = true;
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private final ArrayList<Long> journalCommits = new ArrayList<>();
+    private int journalSaves = 0;
+    private volatile FsyncPolicy fsyncPolicy = FsyncPolicy.BATCHED;
+    private int unforcedSaves = 0;
+    private volatile int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    private volatile boolean isCompressedSaves = false;
+    private boolean isLazyLoading = true;
+    private volatile long generation = 0;
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private final DukeSaver saver = new DukeSaver(this);
 
 
     //CONSTRUCTORS--------------------------------------
@@ -69,9 +120,14 @@ public class DukeStorage {
             }
         }
         this.path = path;
-        this.lastSave = null;
-        this.last2Save = null;
-        this.last3Save = null;
+        this.journal = journalOf(this.file);
+        this.coldStore = new DukeColdStore(siblingOf(this.file, COLD_SUFFIX));
+        File archiveDir = this.file.getAbsoluteFile().getParentFile();
+        this.catalog = new File(archiveDir, CATALOG_NAME);
+        this.archiveStore = new DukeArchive(archiveDir);
+        this.settings = siblingOf(this.file, SETTINGS_SUFFIX);
+        loadSettings();
+        loadCatalog(archiveDir);
     }
 
     /**
@@ -89,40 +145,183 @@ public class DukeStorage {
      */
     public String getPath() { return this.path; }
 
+    /**
+     * This method is used to retrieve the on-off status of the journal mode, where auto-saves append
+     * the changes made to a journal instead of rewriting the whole file.
+     *
+     * @return boolean True if the journal mode is on.
+     */
+    public boolean getJournalMode() { return this.isJournalMode; }
+
+    /**
+     * This method is used to retrieve the number of saves that could be undone in a row.
+     *
+     * @return int The undo depth.
+     */
+    public int getUndoDepth() { return this.undoDepth; }
+
+    /**
+     * This method is used to retrieve the number of saves the journal may hold before it is folded into the saved file.
+     *
+     * @return int The checkpoint interval.
+     */
+    public int getCheckpointInterval() { return this.checkpointInterval; }
+
+    /**
+     * This method is used to retrieve the time that saves in the background wait for further changes.
+     *
+     * @return long The time to wait, in milliseconds.
+     */
+    public long getSaveDelay() { return this.saver.getDebounceMillis(); }
+
+    /**
+     * This method is used to retrieve how often saves are forced onto the hard drive.
+     *
+     * @return FsyncPolicy The policy for forcing saves onto the hard drive.
+     */
+    public FsyncPolicy getFsyncPolicy() { return this.fsyncPolicy; }
+
+    /**
+     * This method is used to retrieve the deflate compression level used for archived and compressed files.
+     *
+     * @return int The compression level, from 0 (no compression) to 9 (best compression).
+     */
+    public int getCompressionLevel() { return this.compressionLevel; }
+
+    /**
+     * This method is used to check whether full saves are compressed.
+     *
+     * @return boolean True if full saves are compressed.
+     */
+    public boolean getCompressedSaves() { return this.isCompressedSaves; }
+
+    /**
+     * This method is used to check whether {@code Note} objects are reconstructed only when first reached.
+     *
+     * @return boolean True if lazy loading is on.
+     */
+    public boolean getLazyLoading() { return this.isLazyLoading; }
+
+    /**
+     * This method is used to retrieve how long ago a {@code Note} object must have concluded before it is moved
+     * to the cold segment file.
+     *
+     * @return int The number of days since a {@code Note} object concluded, or a negative number if all notes are kept.
+     */
+    public int getColdAgeDays() { return this.coldAgeDays; }
+
+    /**
+     * This method is used to retrieve the number of saves held in the journal that could be undone.
+     *
+     * @return int The number of saves held in the journal.
+     */
+    public int getJournalSize() {
+        this.saver.awaitSaves();
+        return this.journalCommits.size();
+    }
+
     /**
      * This method is used to undo previous save operations by reloading the last version
      * of the {@code DukeList} object in the hard drive.
+     * Saves held in the journal are undone first, before archived files are reloaded.
+     * At most the undo depth of saves can be undone in a row, however many the journal holds;
+     * each save made afterwards allows one more undo, up to the undo depth again.
      *
-     * @return int The number of archived {@code DukeList} objects that could be reloaded.
+     * @return int The number of previous versions of the {@code DukeList} object that could be reloaded.
      * @throws IOException If the saved file could not be found via the file path.
      * @throws ParseException If the saved file could not be read and understood.
      */
     public int revertToLastSave(DukeList dukeNotes) throws IOException, ParseException {
 
-        if(this.lastSave == null) {
+        this.saver.awaitSaves();
+        if(this.undoSteps <= 0) {
             return -1;
+        }
+        int undosLeft = this.undoSteps - 1;
+        if(!this.journalCommits.isEmpty()) {
+            this.journalCommits.remove(this.journalCommits.size() - 1);
+            truncateJournal(this.journalCommits.isEmpty() ? 0 :
+                    this.journalCommits.get(this.journalCommits.size() - 1));
+            reloadNotes(dukeNotes);
+            return countUndoSteps(undosLeft);
+        }
 
-        } else if(this.last2Save == null){
-            copyFile(this.lastSave, this.file);
-            this.lastSave = null;
-            dukeNotes.replaceNotes(readFromFile());
-            return 0;
+        File lastSave = this.archives.pollLast();
+        if(lastSave == null) {
+            return -1;
+        }
 
-        } else if(this.last3Save == null){
-            copyFile(this.lastSave, this.file);
-            this.lastSave = this.last2Save;
-            this.last2Save = null;
-            dukeNotes.replaceNotes(readFromFile());
-            return 1;
+        restoreArchive(lastSave);
+        deleteArchive(lastSave);
+        writeCatalog();
+        compactArchives();
+        reloadNotes(dukeNotes);
+        return countUndoSteps(undosLeft);
+    }
 
-        } else {
-            copyFile(this.lastSave, this.file);
-            this.lastSave = this.last2Save;
-            this.last2Save = this.last3Save;
-            this.last3Save = null;
-            dukeNotes.replaceNotes(readFromFile());
-            return 2;
+    /**
+     * This method is used to set the number of saves that could still be undone in a row, no more than
+     * the undo depth nor the number of saves held in the journal and archived files.
+     *
+     * @param undoSteps The number of saves that could be undone, before being capped.
+     * @return int The number of saves that could still be undone.
+     */
+    private int countUndoSteps(int undoSteps) {
+        this.undoSteps = Math.min(Math.min(undoSteps, this.undoDepth), this.journalCommits.size() + countArchives());
+        return this.undoSteps;
+    }
+
+    /**
+     * This method is used to replace the {@code Note} objects held by the {@code DukeList} object
+     * with those reconstructed from the saved file, which may hold no {@code Note} objects at all.
+     *
+     * @param dukeNotes The {@code DukeList} object to be reloaded.
+     * @throws IOException If the saved file could not be read.
+     * @throws ParseException If the saved file could not be read and understood.
+     */
+    private void reloadNotes(DukeList dukeNotes) throws IOException, ParseException {
+        try {
+            dukeNotes.replaceNotes(readFromFile(false));
+        } catch (FileNotFoundException e) {
+            Duke.resetStaticVariables();
+            this.coldStore.getSummary().addToExisting();
+            dukeNotes.replaceNotes(new ArrayList<>());
+        }
+    }
+
+    /**
+     * This method is used to count the number of archived files that could be reloaded.
+     *
+     * @return int The number of archived files that could be reloaded.
+     */
+    private int countArchives() {
+        return this.archives.size();
+    }
+
+    /**
+     * This method is used to retrieve the journal file accompanying a saved file.
+     *
+     * @param saveFile The saved file holding the {@code DukeList} object.
+     * @return File The journal file accompanying the saved file.
+     */
+    private static File journalOf(File saveFile) {
+        return siblingOf(saveFile, ".journal");
+    }
+
+    /**
+     * This method is used to retrieve a file accompanying a saved file, named after it with another extension.
+     *
+     * @param saveFile The saved file holding the {@code DukeList} object.
+     * @param extension The extension of the accompanying file, including the dot.
+     * @return File The file accompanying the saved file.
+     */
+    private static File siblingOf(File saveFile, String extension) {
+        String name = saveFile.getPath();
+        int lastDot = name.lastIndexOf('.');
+        if(lastDot > name.lastIndexOf('/')) {
+            name = name.substring(0, lastDot);
         }
+        return new File(name + extension);
     }
 
 
@@ -132,14 +331,212 @@ public class DukeStorage {
      *
      * @param file The new file to be used to save the {@code DukeList} object.
      */
-    public void setFile(File file) { this.file = file; }
+    public void setFile(File file) {
+        this.saver.awaitSaves();
+        this.file = file;
+        this.journal = journalOf(file);
+        this.coldStore = new DukeColdStore(siblingOf(file, COLD_SUFFIX));
+        this.journalCommits.clear();
+        this.journalSaves = 0;
+        this.undoSteps = 0;
+        this.generation = 0;
+    }
+
+    /**
+     * This method is used to toggle the journal mode on or off.
+     * Any changes held in the journal remain in effect until the next full save.
+     *
+     * @param isJournalMode True if auto-saves should append changes to the journal.
+     */
+    public void setJournalMode(boolean isJournalMode) { this.isJournalMode = isJournalMode; }
+
+    /**
+     * This method is used to set the number of saves the journal may hold before
+     * it is folded into the saved file.
+     *
+     * @param checkpointInterval The number of saves the journal may hold.
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        assert checkpointInterval > 0 : "Checkpoint interval must be more than zero.";
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * This method is used to set the number of archived files kept for undo.
+     * Archived files beyond the new depth are removed, oldest first.
+     *
+     * @param undoDepth The number of archived files to be kept.
+     * @throws IOException If the catalog of archived files could not be written.
+     */
+    public void setUndoDepth(int undoDepth) throws IOException {
+        assert undoDepth >= 0 : "Undo depth cannot be negative.";
+        this.saver.awaitSaves();
+        this.undoDepth = undoDepth;
+        this.undoSteps = Math.min(this.undoSteps, undoDepth);
+        if(pruneArchives()) {
+            writeCatalog();
+            compactArchives();
+        }
+    }
+
+    /**
+     * This method is used to set the time that saves in the background wait for further changes,
+     * so that a burst of changes is written to file together.
+     *
+     * @param debounceMillis The time to wait, in milliseconds.
+     */
+    public void setSaveDelay(long debounceMillis) { this.saver.setDebounceMillis(debounceMillis); }
+
+    /**
+     * This method is used to set how often saves are forced onto the hard drive.
+     *
+     * @param fsyncPolicy The policy for forcing saves onto the hard drive.
+     */
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) { this.fsyncPolicy = fsyncPolicy; }
+
+    /**
+     * This method is used to set the deflate compression level used for archived files,
+     * and for full saves if compressed saves are on.
+     *
+     * @param compressionLevel The compression level, from 0 (no compression) to 9 (best compression).
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        assert compressionLevel >= Deflater.NO_COMPRESSION && compressionLevel <= Deflater.BEST_COMPRESSION
+                : "Compression level must be from 0 to 9.";
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * This method is used to toggle the compression of full saves on or off.
+     * Saved files are read whether compressed or not, so the setting may be changed at any time.
+     *
+     * @param isCompressedSaves True if full saves should be compressed.
+     */
+    public void setCompressedSaves(boolean isCompressedSaves) { this.isCompressedSaves = isCompressedSaves; }
+
+    /**
+     * This method is used to toggle lazy loading on or off. With lazy loading on, only an index of the saved file
+     * is read when it is loaded, and each {@code Note} object is reconstructed the first time it is reached.
+     *
+     * The setting takes effect the next time the saved file is loaded.
+     *
+     * @param isLazyLoading True if {@code Note} objects should be reconstructed only when first reached.
+     */
+    public void setLazyLoading(boolean isLazyLoading) { this.isLazyLoading = isLazyLoading; }
+
+    /**
+     * This method is used to set how long ago a {@code Note} object must have concluded before it is moved
+     * to the cold segment file when the saved file is loaded. A negative age keeps all notes in the saved file.
+     * The setting takes effect the next time the saved file is loaded.
+     *
+     * @param coldAgeDays The number of days since a {@code Note} object concluded.
+     */
+    public void setColdAgeDays(int coldAgeDays) { this.coldAgeDays = coldAgeDays; }
+
+    /**
+     * This method is used to load the storage settings from the settings file accompanying the saved file.
+     * Settings that are missing or could not be understood are left at their defaults.
+     */
+    private void loadSettings() {
+        Properties saved = new Properties();
+        if(!this.settings.isFile()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(this.settings.toPath(), StandardCharsets.UTF_8)) {
+            saved.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            return;
+        }
+        this.undoDepth = readSetting(saved, "undoDepth", this.undoDepth, 0, MAX_UNDO_DEPTH);
+        this.isJournalMode = readSetting(saved, "journalMode", this.isJournalMode);
+        this.checkpointInterval = readSetting(saved, "checkpointInterval", this.checkpointInterval,
+                1, MAX_CHECKPOINT_INTERVAL);
+        this.saver.setDebounceMillis(readSetting(saved, "saveDelay", (int) this.saver.getDebounceMillis(),
+                0, MAX_SAVE_DELAY));
+        this.compressionLevel = readSetting(saved, "compressionLevel", this.compressionLevel,
+                Deflater.NO_COMPRESSION, MAX_COMPRESSION_LEVEL);
+        this.isCompressedSaves = readSetting(saved, "compressedSaves", this.isCompressedSaves);
+        this.isLazyLoading = readSetting(saved, "lazyLoading", this.isLazyLoading);
+        this.coldAgeDays = readSetting(saved, "coldAgeDays", this.coldAgeDays, -1, MAX_COLD_AGE_DAYS);
+        try {
+            this.fsyncPolicy = FsyncPolicy.valueOf(saved.getProperty("fsyncPolicy", this.fsyncPolicy.name()).trim());
+        } catch (IllegalArgumentException e) {
+            // An unknown policy leaves the default in place.
+        }
+    }
+
+    /**
+     * This method is used to read a whole number from the settings loaded.
+     *
+     * @param saved The settings loaded.
+     * @param key The name of the setting.
+     * @param value The value of the setting if it is missing or could not be understood.
+     * @param min The smallest value allowed.
+     * @param max The largest value allowed.
+     * @return int The value of the setting.
+     */
+    private static int readSetting(Properties saved, String key, int value, int min, int max) {
+        try {
+            int setting = Integer.parseInt(saved.getProperty(key, String.valueOf(value)).trim());
+            return setting < min || setting > max ? value : setting;
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    /**
+     * This method is used to read an on-off setting from the settings loaded.
+     *
+     * @param saved The settings loaded.
+     * @param key The name of the setting.
+     * @param value The value of the setting if it is missing or could not be understood.
+     * @return boolean The value of the setting.
+     */
+    private static boolean readSetting(Properties saved, String key, boolean value) {
+        String setting = saved.getProperty(key, String.valueOf(value)).trim();
+        return setting.equals("true") || (!setting.equals("false") && value);
+    }
+
+    /**
+     * This method is used to write the storage settings to the settings file accompanying the saved file,
+     * so that they are kept the next time {@code Duke} is started.
+     *
+     * @throws IOException If the settings file could not be written.
+     */
+    public void writeSettings() throws IOException {
+        Properties saved = new Properties();
+        saved.setProperty("undoDepth", String.valueOf(this.undoDepth));
+        saved.setProperty("journalMode", String.valueOf(this.isJournalMode));
+        saved.setProperty("checkpointInterval", String.valueOf(this.checkpointInterval));
+        saved.setProperty("saveDelay", String.valueOf(this.saver.getDebounceMillis()));
+        saved.setProperty("fsyncPolicy", this.fsyncPolicy.name());
+        saved.setProperty("compressionLevel", String.valueOf(this.compressionLevel));
+        saved.setProperty("compressedSaves", String.valueOf(this.isCompressedSaves));
+        saved.setProperty("lazyLoading", String.valueOf(this.isLazyLoading));
+        saved.setProperty("coldAgeDays", String.valueOf(Math.max(this.coldAgeDays, -1)));
+        StringWriter writer = new StringWriter();
+        saved.store(writer, "Duke storage settings");
+        writeAtomically(this.settings, ByteBuffer.wrap(writer.toString().getBytes(StandardCharsets.UTF_8)),
+                this.fsyncPolicy != FsyncPolicy.NEVER);
+    }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public void deleteFiles() {
+        this.saver.awaitSaves();
         if(this.file != null) { this.file.delete(); }
-        if(this.lastSave != null) { this.lastSave.delete(); }
-        if(this.last2Save != null) { this.last2Save.delete(); }
-        if(this.last3Save != null) { this.last3Save.delete(); }
+        if(this.journal != null) { this.journal.delete(); }
+        if(this.coldStore != null) { this.coldStore.delete(); }
+        if(this.file != null) { tempFileOf(this.file).delete(); }
+        while(!this.archives.isEmpty()) { deleteArchive(this.archives.pollFirst()); }
+        if(this.catalog != null) { this.catalog.delete(); }
+        if(this.archiveStore != null) {
+            this.archiveStore.getPack().delete();
+            this.archiveStore = new DukeArchive(this.archiveStore.getPack().getParentFile());
+        }
+        this.journalCommits.clear();
+        this.journalSaves = 0;
+        this.undoSteps = 0;
+        this.generation = 0;
     }
 
 
@@ -178,13 +575,364 @@ public class DukeStorage {
      * @throws IOException If the saved file could not be found via the file path.
      */
     public void writeToFile(DukeList dukeNotes) throws IOException {
-        FileWriter fw = new FileWriter(this.path, false);
-        for(Note note : dukeNotes.getNotes()){
-            String text = note.getSaveText();
-            text = encodeText(text) + "\n";
-            fw.write(text);
+        this.saver.awaitSaves();
+        writeContents(encodeFile(dukeNotes));
+        this.journalSaves = 0;
+    }
+
+    /**
+     * This method is used to append to the journal, the changes made to the {@code DukeList} object
+     * since the last save, followed by a commit marker. Only the {@code Note} objects added, changed or
+     * removed are written, so the cost of a save follows the size of the change rather than of the list.
+     * The journal is folded into the saved file once it holds more saves than the checkpoint interval.
+     *
+     * @param dukeNotes The {@code DukeList} object whose changes are to be appended to the journal.
+     * @throws IOException If the journal could not be found via the file path.
+     */
+    public void appendToJournal(DukeList dukeNotes) throws IOException {
+        this.saver.awaitSaves();
+        if(this.journalSaves >= this.checkpointInterval) {
+            checkpoint(dukeNotes);
+            return;
+        }
+        ByteBuffer batch = encodeJournalBatch(dukeNotes);
+        if(batch != null) {
+            this.journalSaves++;
+            ArrayList<ByteBuffer> batches = new ArrayList<>();
+            batches.add(batch);
+            writeJournalBatches(batches);
+        }
+    }
+
+    /**
+     * This method is used to save the changes made to the {@code DukeList} object in the background.
+     * The changes are encoded at once, and written to file by the {@code DukeSaver} object shortly after.
+     * A full save is made instead of appending to the journal if the journal mode is off, if the journal
+     * is due for a checkpoint, or if an earlier save in the background has failed.
+     * A failure of an earlier save in the background is reported here, on the thread running the commands,
+     * rather than from the background thread.
+     *
+     * @param dukeNotes The {@code DukeList} object whose changes are to be saved.
+     * @return boolean True if the changes have been queued to be saved and no earlier save has failed unreported.
+     */
+    public boolean saveInBackground(DukeList dukeNotes) {
+        boolean hasFailedUnreported = this.saver.takeFailure();
+        try {
+            if(!this.isJournalMode || this.journalSaves >= this.checkpointInterval || this.saver.getHasFailed()) {
+                this.saver.submitFullSave(encodeFile(dukeNotes));
+                this.journalSaves = 0;
+            } else {
+                ByteBuffer batch = encodeJournalBatch(dukeNotes);
+                if(batch != null) {
+                    this.saver.submitJournalBatch(batch);
+                    this.journalSaves++;
+                }
+            }
+            return !hasFailedUnreported;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to wait for saves in the background to be written to file and forced onto
+     * the hard drive, e.g. before exiting. If an earlier save in the background has failed,
+     * the {@code DukeList} object is written to file in full.
+     *
+     * @param dukeNotes The {@code DukeList} object held by {@code Duke}.
+     * @return boolean True if all changes have been written to file.
+     */
+    public boolean flushSaves(DukeList dukeNotes) {
+        this.saver.awaitSaves();
+        this.saver.takeFailure();
+        try {
+            if(this.saver.getHasFailed()) {
+                writeToFile(dukeNotes);
+            } else {
+                forceJournal();
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to fold the journal into the saved file, by archiving the current version
+     * of the {@code DukeList} object and writing it to file in full.
+     *
+     * @param dukeNotes The {@code DukeList} object to be written to file.
+     * @throws IOException If the saved file could not be found via the file path.
+     */
+    public void checkpoint(DukeList dukeNotes) throws IOException {
+        this.saver.awaitSaves();
+        writeFullSave(encodeFile(dukeNotes));
+        this.journalSaves = 0;
+    }
+
+    /**
+     * This method is used to encode the {@code DukeList} object in full, i.e. the header followed by
+     * one record per {@code Note} object, and to mark all {@code Note} objects held as saved.
+     * Each full save is given a new generation, later than any before it.
+     * Notes loaded lazily that have not yet been read are written back from their records as they are,
+     * without being reconstructed.
+     *
+     * @param dukeNotes The {@code DukeList} object to be encoded.
+     * @return ByteBuffer The encoded {@code DukeList} object, ready to be written.
+     */
+    private ByteBuffer encodeFile(DukeList dukeNotes) {
+        ArrayList<Note> notes = dukeNotes.getNotes();
+        LazyNoteList lazyNotes = notes instanceof LazyNoteList ? (LazyNoteList) notes : null;
+        ArrayList<ByteBuffer> payloads = new ArrayList<>(notes.size());
+        for(int i = 0; i < notes.size(); i++) {
+            ByteBuffer payload = lazyNotes == null ? null : lazyNotes.getUnreadRecord(i);
+            if(payload == null) {
+                payload = ByteBuffer.wrap(DukeCodec.encodeNote(notes.get(i), 0));
+            }
+            payloads.add(payload);
+        }
+
+        ByteBuffer contents = encodeRecords(payloads, nextGeneration());
+        dukeNotes.markAllSaved();
+        return contents;
+    }
+
+    /**
+     * This method is used to encode a saved file from the payloads of its records, i.e. the header
+     * followed by one record per payload.
+     *
+     * @param payloads The payloads of the records, in order.
+     * @param newGeneration The generation of the saved file.
+     * @return ByteBuffer The encoded saved file, ready to be written.
+     */
+    private static ByteBuffer encodeRecords(List<ByteBuffer> payloads, long newGeneration) {
+        int length = DukeCodec.HEADER_LENGTH;
+        for(ByteBuffer payload : payloads) {
+            length = length + MAX_VARINT_LENGTH + payload.remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        DukeCodec.writeHeader(buffer, DukeCodec.MAGIC, newGeneration);
+        for(ByteBuffer payload : payloads) {
+            DukeCodec.putVarInt(buffer, payload.remaining());
+            buffer.put(payload.duplicate());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * This method is used to allocate the generation of a new full save, later than any before it.
+     *
+     * @return long The generation of the new full save.
+     */
+    private long nextGeneration() {
+        return this.lastGeneration.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    /**
+     * This method is used to encode the changes made to the {@code DukeList} object since the last save,
+     * followed by a commit marker, and to mark the {@code Note} objects involved as saved.
+     *
+     * @param dukeNotes The {@code DukeList} object whose changes are to be encoded.
+     * @return ByteBuffer The encoded changes ready to be appended to the journal, or null if there are none.
+     */
+    private ByteBuffer encodeJournalBatch(DukeList dukeNotes) {
+        ArrayList<JournalRecord> records = dukeNotes.getPendingRecords();
+        if(records.isEmpty()) {
+            return null;
+        }
+
+        ArrayList<byte[]> payloads = new ArrayList<>(records.size());
+        int length = 1;
+        for(JournalRecord record : records) {
+            byte[] payload = record.getOperation() == JournalRecord.UPSERT
+                    ? DukeCodec.encodeNote(record.getNote()) : null;
+            payloads.add(payload);
+            length = length + 1 + MAX_VARINT_LENGTH + (payload == null ? 0 : MAX_VARINT_LENGTH + payload.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (int i = 0; i < records.size(); i++) {
+            buffer.put((byte) records.get(i).getOperation());
+            DukeCodec.putVarInt(buffer, records.get(i).getPosition());
+            if(payloads.get(i) != null) {
+                DukeCodec.putVarInt(buffer, payloads.get(i).length);
+                buffer.put(payloads.get(i));
+            }
+        }
+        buffer.put((byte) JournalRecord.COMMIT);
+        dukeNotes.clearPendingRecords();
+        return buffer.flip();
+    }
+
+    /**
+     * This method is used to archive the saved file and replace it with an encoded {@code DukeList} object.
+     *
+     * @param contents The encoded {@code DukeList} object.
+     * @throws IOException If the saved file could not be found via the file path.
+     */
+    synchronized void writeFullSave(ByteBuffer contents) throws IOException {
+        archive();
+        writeContents(contents);
+    }
+
+    /**
+     * This method is used to replace the saved file with an encoded {@code DukeList} object,
+     * emptying the journal whose changes it now holds.
+     * The contents are written to a temporary file which is then moved over the saved file, so that
+     * a crash mid-save leaves either the old or the new saved file intact. A journal left behind by a
+     * crash after the move is of an older generation, and is discarded when the saved file is next read.
+     * If compressed saves are on, the records are compressed here, on the thread writing the save.
+     *
+     * @param contents The encoded {@code DukeList} object.
+     * @throws IOException If the saved file could not be found via the file path.
+     */
+    private synchronized void writeContents(ByteBuffer contents) throws IOException {
+        long newGeneration = DukeCodec.getGeneration(contents);
+        if(this.isCompressedSaves && this.compressionLevel != Deflater.NO_COMPRESSION) {
+            contents = DukeCodec.deflate(contents, this.compressionLevel);
+        }
+        writeAtomically(this.file, contents, this.fsyncPolicy != FsyncPolicy.NEVER);
+        this.generation = newGeneration;
+        truncateJournal(0);
+        this.journalCommits.clear();
+        this.unforcedSaves = 0;
+    }
+
+    /**
+     * This method is used to replace a file with the contents given, by writing them to a temporary file
+     * which is then moved over the file, so that a crash mid-write leaves either the old or the new file intact.
+     *
+     * @param toFile The file to be replaced.
+     * @param contents The contents to be written.
+     * @param isForced True if the contents and the move should be forced onto the hard drive.
+     * @throws IOException If the file could not be written.
+     */
+    static void writeAtomically(File toFile, ByteBuffer contents, boolean isForced) throws IOException {
+        File tempFile = tempFileOf(toFile);
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            if(isForced) {
+                channel.force(true);
+            }
+        }
+        moveFile(tempFile, toFile, isForced);
+    }
+
+    /**
+     * This method is used to move a file over another in a single step where the file system allows it.
+     *
+     * @param fromFile The file to be moved.
+     * @param toFile The file to be replaced.
+     * @param isForced True if the move should be forced onto the hard drive.
+     * @throws IOException If the file could not be moved.
+     */
+    static void moveFile(File fromFile, File toFile, boolean isForced) throws IOException {
+        try {
+            Files.move(fromFile.toPath(), toFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(fromFile.toPath(), toFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if(!isForced || toFile.getAbsoluteFile().getParentFile() == null) {
+            return;
+        }
+        try (FileChannel directory = FileChannel.open(toFile.getAbsoluteFile().getParentFile().toPath(),
+                StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Some platforms do not allow directories to be opened, in which case the move is left to the OS.
+        }
+    }
+
+    /**
+     * This method is used to force the saves appended to the journal onto the hard drive,
+     * if any are yet to be forced.
+     *
+     * @throws IOException If the journal could not be found via the file path.
+     */
+    private synchronized void forceJournal() throws IOException {
+        if(this.unforcedSaves == 0 || this.journal == null || !this.journal.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(this.journal.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+        this.unforcedSaves = 0;
+    }
+
+    /**
+     * This method is used to retrieve the temporary file a saved file is written to before it is moved into place.
+     *
+     * @param saveFile The saved file holding the {@code DukeList} object.
+     * @return File The temporary file accompanying the saved file.
+     */
+    static File tempFileOf(File saveFile) {
+        return new File(saveFile.getPath() + ".tmp");
+    }
+
+    /**
+     * This method is used to append encoded changes to the journal in a single write,
+     * recording where each commit marker ends so that each can be undone separately.
+     * Under the {@code BATCHED} fsync policy, the journal is forced once every {@code FSYNC_BATCH_SIZE} saves.
+     *
+     * @param batches The encoded changes, each ending with a commit marker.
+     * @throws IOException If the journal could not be found via the file path.
+     */
+    synchronized void writeJournalBatches(ArrayList<ByteBuffer> batches) throws IOException {
+        if(batches.isEmpty()) {
+            return;
+        }
+        long[] commits = new long[batches.size()];
+        try (FileChannel channel = FileChannel.open(this.journal.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long offset = channel.size();
+            ByteBuffer[] buffers = new ByteBuffer[batches.size() + 1];
+            buffers[0] = ByteBuffer.allocate(offset == 0 ? DukeCodec.HEADER_LENGTH : 0);
+            if(offset == 0) {
+                DukeCodec.writeHeader(buffers[0], DukeCodec.JOURNAL_MAGIC, this.generation);
+                buffers[0].flip();
+                offset = DukeCodec.HEADER_LENGTH;
+            }
+            for (int i = 0; i < batches.size(); i++) {
+                buffers[i + 1] = batches.get(i);
+            }
+            for (int i = 0; i < batches.size(); i++) {
+                offset = offset + batches.get(i).remaining();
+                commits[i] = offset;
+            }
+            while(buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            this.unforcedSaves = this.unforcedSaves + batches.size();
+            if(this.fsyncPolicy == FsyncPolicy.ALWAYS
+                    || (this.fsyncPolicy == FsyncPolicy.BATCHED && this.unforcedSaves >= FSYNC_BATCH_SIZE)) {
+                channel.force(false);
+                this.unforcedSaves = 0;
+            }
+        }
+        for(long commit : commits) {
+            this.journalCommits.add(commit);
+        }
+        this.undoSteps = Math.min(this.undoSteps + commits.length, this.undoDepth);
+    }
+
+    /**
+     * This method is used to discard the journal beyond the length specified.
+     *
+     * @param length The length of the journal, in bytes, to be kept.
+     * @throws IOException If the journal could not be found via the file path.
+     */
+    private void truncateJournal(long length) throws IOException {
+        if(this.journal == null || !this.journal.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(this.journal, "rw")) {
+            raf.setLength(length);
         }
-        fw.close();
     }
 
     /**
@@ -194,217 +942,752 @@ public class DukeStorage {
      * @throws IOException If the saved file could not be found via the file path.
      */
     public void archiveToFile() throws IOException {
+        this.saver.awaitSaves();
+        archive();
+    }
 
-        this.last3Save = this.last2Save;
-        this.last2Save = this.lastSave;
+    /**
+     * This method is used to archive the current version of the {@code DukeList} object,
+     * keeping the last archives up to the undo depth and removing older ones.
+     * Each archive allows one more undo, up to the undo depth.
+     * Only the blocks of the saved file and journal not held by earlier archives are stored,
+     * compressed at the compression level, alongside a manifest listing the blocks of this archive.
+     *
+     * @throws IOException If the saved file could not be found via the file path.
+     */
+    private synchronized void archive() throws IOException {
 
-        Date archiveDate = new Date();
-        int lastSlash = 0;
-        for (int i = 0; i < path.length(); i++) {
-            if (path.charAt(i) == '/') {
-                lastSlash = i;
+        long archiveTime = new Date().getTime();
+        File lastSave = new File(this.catalog.getParentFile(), ARCHIVE_PREFIX + archiveTime + MANIFEST_SUFFIX);
+        while(lastSave.exists()) {
+            archiveTime++;
+            lastSave = new File(this.catalog.getParentFile(), ARCHIVE_PREFIX + archiveTime + MANIFEST_SUFFIX);
+        }
+
+        boolean isForced = this.fsyncPolicy != FsyncPolicy.NEVER;
+        ByteBuffer manifest = this.archiveStore.snapshot(readBytesOrEmpty(this.file),
+                readBytesOrEmpty(this.journal), this.generation, this.compressionLevel, isForced);
+        writeAtomically(lastSave, manifest, isForced);
+        this.archives.addLast(lastSave);
+        this.undoSteps = Math.min(this.undoSteps + 1, this.undoDepth);
+        boolean isPruned = pruneArchives();
+        writeCatalog();
+        if(isPruned) {
+            compactArchives();
+        }
+    }
+
+    /**
+     * This method is used to rewrite the store of archived blocks without the blocks that are no longer
+     * held by any archive kept, once they take up more than half of the store.
+     *
+     * @throws IOException If the store of archived blocks could not be rewritten.
+     */
+    private void compactArchives() throws IOException {
+        ArrayList<ByteBuffer> manifests = new ArrayList<>(this.archives.size());
+        for(File archive : this.archives) {
+            if(archive.getName().endsWith(MANIFEST_SUFFIX)) {
+                manifests.add(readBytes(archive));
             }
         }
+        this.archiveStore.compact(manifests, this.fsyncPolicy != FsyncPolicy.NEVER);
+    }
 
-        String archivePath = this.path.substring(0, lastSlash) +
-                "/archive_" + archiveDate.getTime() + ".txt";
-        this.lastSave = new File(archivePath);
+    /**
+     * This method is used to remove the oldest archived files beyond the undo depth.
+     *
+     * @return boolean True if any archived files were removed.
+     */
+    private boolean pruneArchives() {
+        boolean isPruned = false;
+        while(this.archives.size() > this.undoDepth) {
+            deleteArchive(this.archives.pollFirst());
+            isPruned = true;
+        }
+        return isPruned;
+    }
 
-        copyFile(this.file, this.lastSave);
+    /**
+     * This method is used to remove an archived file, together with its journal if any.
+     * Blocks held only by the archived file are left in the store until it is next compacted.
+     *
+     * @param archive The archived file to be removed.
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static void deleteArchive(File archive) {
+        archive.delete();
+        journalOf(archive).delete();
     }
 
     /**
-     * This method is used to copy data from the file holding a previous version the {@code DukeList} object
-     * to the primary file holding the {@code DukeList} object in memory.
+     * This method is used to load the catalog of archived files kept for undo, oldest first.
+     * Archived files that are missing are skipped, and archived files left out of the catalog
+     * (e.g. by earlier versions of {@code Duke}) are removed.
+     * Archived files beyond the undo depth are only removed on the next archive,
+     * so that the undo depth may be set first.
      *
-     * @param fromFile The file holding a previous version the {@code DukeList} object.
-     * @param toFile The primary file holding the {@code DukeList} object in memory.
-     * @throws IOException If the saved file could not be found via the file path.
+     * @param archiveDir The directory holding the saved files and archived files.
+     */
+    private void loadCatalog(File archiveDir) {
+        HashSet<String> catalogued = new HashSet<>();
+        if(this.catalog.isFile()) {
+            try {
+                for(String name : Files.readAllLines(this.catalog.toPath(), StandardCharsets.UTF_8)) {
+                    File archive = new File(archiveDir, name);
+                    if(!name.isBlank() && archive.isFile() && catalogued.add(stripExtension(name))) {
+                        this.archives.addLast(archive);
+                    }
+                }
+            } catch (IOException e) {
+                this.archives.clear();
+                catalogued.clear();
+            }
+        }
+
+        File[] archiveFiles = archiveDir.listFiles((dir, name) -> name.startsWith(ARCHIVE_PREFIX));
+        if(archiveFiles != null) {
+            for(File archiveFile : archiveFiles) {
+                if(!catalogued.contains(stripExtension(archiveFile.getName()))) {
+                    //noinspection ResultOfMethodCallIgnored
+                    archiveFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to remove the extension from the name of a file, so that an archived file
+     * and the journal archived with it share the same name.
+     *
+     * @param name The name of the file.
+     * @return String The name of the file without its extension.
      */
-    private void copyFile(File fromFile, File toFile) throws IOException {
+    private static String stripExtension(String name) {
+        int lastDot = name.lastIndexOf('.');
+        return lastDot > 0 ? name.substring(0, lastDot) : name;
+    }
 
-        Scanner read = new Scanner(fromFile);
-        FileWriter fw = new FileWriter(toFile, false);
+    /**
+     * This method is used to write the catalog of archived files kept for undo, oldest first.
+     * The catalog is written to a temporary file and moved into place, so that it is never left half-written.
+     *
+     * @throws IOException If the catalog could not be written.
+     */
+    private void writeCatalog() throws IOException {
+        ArrayList<String> names = new ArrayList<>(this.archives.size());
+        for(File archive : this.archives) {
+            names.add(archive.getName());
+        }
+        File tempFile = tempFileOf(this.catalog);
+        Files.write(tempFile.toPath(), names, StandardCharsets.UTF_8);
+        moveFile(tempFile, this.catalog, this.fsyncPolicy != FsyncPolicy.NEVER);
+    }
+
+    /**
+     * This method is used to reload an archived file, together with its journal if any,
+     * as the primary file holding the {@code DukeList} object.
+     * Archives are rebuilt by transferring their blocks from the store, while whole copies made by earlier versions
+     * of {@code Duke} are moved back into place, as they are removed once restored.
+     *
+     * @param archive The archived file holding a previous version the {@code DukeList} object.
+     * @throws IOException If the archived file could not be found via the file path.
+     */
+    private void restoreArchive(File archive) throws IOException {
+        boolean isForced = this.fsyncPolicy != FsyncPolicy.NEVER;
+        if(archive.getName().endsWith(MANIFEST_SUFFIX)) {
+            ByteBuffer manifest = readBytes(archive);
+            this.archiveStore.restoreFile(manifest, this.file, isForced);
+            this.archiveStore.restoreJournal(manifest, this.journal, isForced);
+            return;
+        }
 
-        while(read.hasNext()) {
-            fw.write(read.nextLine() + "\n");
+        moveFile(archive, this.file, isForced);
+        File archivedJournal = journalOf(archive);
+        if(archivedJournal.exists()) {
+            moveFile(archivedJournal, this.journal, isForced);
+        } else {
+            truncateJournal(0);
         }
-        fw.close();
     }
 
 
     //LOAD METHODS--------------------------------------
     /**
      * This method is used to read data from saved files and reconstruct the {@code Note} objects,
-     * thereafter holding them in an ArrayList.
+     * thereafter holding them in an ArrayList. Changes held in the journal are replayed over
+     * the saved file before the {@code Note} objects are reconstructed in parallel, after which
+     * the class-level members of the {@code Note} objects are recounted in order.
+     * Saved files in the legacy Base64 text format are migrated to the binary format once read,
+     * and saved files whose records are compressed are detected from their header and decompressed.
+     * With lazy loading on, the records are only indexed, and the class-level members are counted from the index.
+     * Notes that concluded longer ago than the cold age are moved to the cold segment file, and the notes
+     * already there are counted from its tally without being read.
      *
      * @return ArrayList<Note> The ArrayList of reconstructed {@code Note} objects from the saved file.
      * @throws FileNotFoundException If the saved file could not be found via the file path.
+     * @throws IOException If the saved file could not be read.
      * @throws ParseException If there are errors reading from saved files.
      */
-    public ArrayList<Note> readFromFile() throws FileNotFoundException, ParseException {
+    public ArrayList<Note> readFromFile() throws IOException, ParseException {
+        return readFromFile(true);
+    }
 
-        ArrayList<Note> notes = new ArrayList<>();
+    /**
+     * This method is used to read data from saved files and reconstruct the {@code Note} objects.
+     * Notes are only moved to the cold segment file when the saved file is first loaded, rather than
+     * when it is reloaded (e.g. to undo a save), so that serial numbers do not change mid-session.
+     *
+     * @param isTiered True if notes that concluded longer ago than the cold age should be moved.
+     * @return ArrayList<Note> The ArrayList of reconstructed {@code Note} objects from the saved file.
+     * @throws FileNotFoundException If the saved file could not be found via the file path.
+     * @throws IOException If the saved file could not be read.
+     * @throws ParseException If there are errors reading from saved files.
+     */
+    private ArrayList<Note> readFromFile(boolean isTiered) throws IOException, ParseException {
 
-        Note note = null;
-        Scanner read = new Scanner(this.file);
+        this.saver.awaitSaves();
+        ByteBuffer contents = readHeldBytes(this.file);
+        if(contents.hasRemaining() && !DukeCodec.hasHeader(contents, DukeCodec.MAGIC)) {
+            return readLegacyFile(contents);
+        }
 
-        if(!read.hasNext()) {
-            throw new FileNotFoundException();
-        } else {
+        if(contents.hasRemaining() && (DukeCodec.getFlags(contents) & DukeCodec.FLAG_DEFLATED) != 0) {
+            try {
+                contents = DukeCodec.inflate(contents);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new ParseException("The saved file is incomplete.", 0);
+            }
+        }
+
+        ArrayList<ByteBuffer> records = new ArrayList<>();
+        boolean hasSavedFile = contents.hasRemaining();
+        this.generation = 0;
+        if(hasSavedFile) {
+            this.generation = DukeCodec.getGeneration(contents);
+            this.lastGeneration.accumulateAndGet(this.generation, Math::max);
+            contents.position(DukeCodec.getHeaderLength(contents));
+        }
+        try {
+            while(contents.hasRemaining()) {
+                records.add(readRecord(contents));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new ParseException("The saved file is incomplete.", contents.position());
+        }
+        replayJournal(records);
+        this.journalSaves = this.journalCommits.size();
+        countUndoSteps(this.undoDepth);
+        this.coldStore.open(hasSavedFile ? this.generation : Long.MAX_VALUE);
+        if(isTiered && this.coldAgeDays >= 0) {
+            moveColdRecords(records);
+        }
+
+        if(records.isEmpty()) {
             Duke.resetStaticVariables();
+            this.coldStore.getSummary().addToExisting();
+            throw new FileNotFoundException();
+        }
+        if(this.isLazyLoading) {
+            return indexRecords(records);
         }
 
-        while (read.hasNext()) {
-            String nextLine = read.nextLine();
-            nextLine = decodeText(nextLine);
-            String[] readIndexes = nextLine.split("/");
-            switch (readIndexes[0]) {
-            case "Bill" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                Date targetDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                boolean doneAhead = Boolean.parseBoolean(readIndexes[6]);
-                double budgetSet = Double.parseDouble(readIndexes[7]);
-                double budgetRevised = Double.parseDouble(readIndexes[8]);
-                double budgetUsed = Double.parseDouble(readIndexes[9]);
-                double budgetBalance = Double.parseDouble(readIndexes[10]);
-                boolean isRevised = Boolean.parseBoolean(readIndexes[11]);
-                boolean isOverBudget = Boolean.parseBoolean(readIndexes[12]);
-                Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
-                        budgetBalance, isRevised, isOverBudget);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[13]);
-                    note = new Bill(serialNum, description, addDate, doneDate,
-                            true, targetDate, doneAhead, itemBudget);
-                } else {
-                    note = new Bill(serialNum, description, addDate,
-                            false, targetDate, doneAhead, itemBudget);
+        Note[] decoded = new Note[records.size()];
+        NoteSummary existing = NoteSummary.ofExistingNotes();
+        DecodeTask decodeTask = new DecodeTask(records, decoded);
+        decodeTask.invoke();
+        existing.apply();
+        if(decodeTask.getFirstFailure() >= 0) {
+            int index = decodeTask.getFirstFailure();
+            throw new ParseException("Note #" + (index + 1) + " in the saved file could not be read.", index);
+        }
+
+        ArrayList<Note> notes = new ArrayList<>(Arrays.asList(decoded));
+        Duke.recountStaticVariables(notes);
+        this.coldStore.getSummary().addToExisting();
+        return notes;
+    }
+
+    /**
+     * This method is used to move the records of notes that concluded longer ago than the cold age
+     * to the cold segment file, and to rewrite the saved file without them.
+     * The cold segment is written first under the generation of the new saved file, so that a crash before
+     * the saved file is replaced leaves the notes in the saved file, and the cold segment is discarded.
+     *
+     * @param records The payloads of the records read from the saved file, from which the records moved are removed.
+     * @throws IOException If the cold segment file or the saved file could not be written.
+     */
+    private void moveColdRecords(ArrayList<ByteBuffer> records) throws IOException {
+
+        long coldTime = System.currentTimeMillis() - this.coldAgeDays * 86400000L;
+        ArrayList<ByteBuffer> hotRecords = new ArrayList<>(records.size());
+        ArrayList<ByteBuffer> coldRecords = new ArrayList<>();
+        NoteSummary moved = new NoteSummary();
+        for(ByteBuffer record : records) {
+            try {
+                if(DukeCodec.getDoneTime(record) < coldTime) {
+                    DukeCodec.indexNote(record, moved);
+                    coldRecords.add(record);
+                    continue;
                 }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                // Records that could not be read are left in the saved file, to be reported once reconstructed.
             }
-            case "Birthday" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
-                long durationMinutes = Long.parseLong(readIndexes[7]);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[8]);
-                    note = new Birthday(serialNum, description, addDate, doneDate,
-                            true, startDate, endDate, durationMinutes);
-                } else {
-                    note = new Birthday(serialNum, description, addDate,
-                            false, startDate, endDate, durationMinutes);
-                }
+            hotRecords.add(record);
+        }
+        if(coldRecords.isEmpty()) {
+            return;
+        }
+
+        long newGeneration = nextGeneration();
+        this.coldStore.append(coldRecords, moved, newGeneration, this.fsyncPolicy != FsyncPolicy.NEVER);
+        writeContents(encodeRecords(hotRecords, newGeneration));
+        this.journalSaves = 0;
+        records.clear();
+        records.addAll(hotRecords);
+    }
+
+    /**
+     * This method is used to reconstruct the {@code Note} objects moved to the cold segment file,
+     * e.g. to list completed notes. They are numbered in the order they were moved, apart from the
+     * {@code Note} objects held by the {@code DukeList} object.
+     *
+     * @return ArrayList<Note> The {@code Note} objects in the cold segment file.
+     * @throws IOException If the cold segment file could not be read.
+     * @throws ParseException If a record in the cold segment file could not be read.
+     */
+    public ArrayList<Note> readColdNotes() throws IOException, ParseException {
+        return this.coldStore.readNotes();
+    }
+
+    /**
+     * This method is used to index the records read from the saved file without reconstructing
+     * any {@code Note} object, and to count the class-level members from the index.
+     *
+     * @param records The payloads of the records read from the saved file.
+     * @return ArrayList<Note> The {@code LazyNoteList} object holding the indexed notes.
+     * @throws ParseException If a record could not be indexed.
+     */
+    private ArrayList<Note> indexRecords(ArrayList<ByteBuffer> records) throws ParseException {
+        NoteSummary summary = new NoteSummary();
+        LazyNoteList notes = new LazyNoteList(records.size());
+        for(int i = 0; i < records.size(); i++) {
+            try {
+                notes.addIndexed(DukeCodec.indexNote(records.get(i), summary));
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new ParseException("Note #" + (i + 1) + " in the saved file could not be read.", i);
             }
-            case "Deadline" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                Date targetDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                boolean doneAhead = Boolean.parseBoolean(readIndexes[6]);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[7]);
-                    note = new Deadline(serialNum, description, addDate, doneDate,
-                            true, targetDate, doneAhead);
-                } else {
-                    note = new Deadline(serialNum, description, addDate,
-                            false, targetDate, doneAhead);
-                }
+        }
+        summary.countSummary(this.coldStore.getSummary());
+        summary.apply();
+        return notes;
+    }
+
+    /**
+     * This method is used to read the entire contents of a saved file or journal whose records may be held
+     * after loading. With lazy loading on, mapped contents are copied onto the heap, as records not yet read
+     * must outlive the file (e.g. once the journal is truncated or the saved file is replaced).
+     *
+     * @param file The file to be read.
+     * @return ByteBuffer The contents of the file, ready to be read.
+     * @throws FileNotFoundException If the file could not be found.
+     * @throws IOException If the file could not be read.
+     */
+    private ByteBuffer readHeldBytes(File file) throws IOException {
+        ByteBuffer contents = readBytes(file);
+        if(!this.isLazyLoading || contents.hasArray()) {
+            return contents;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(contents.remaining());
+        copy.put(contents);
+        return copy.flip();
+    }
+
+    /**
+     * This method is used to read the entire contents of a file. Files of at least {@code MAP_THRESHOLD}
+     * bytes are mapped into memory rather than copied, so that records can be sliced out of the mapping
+     * directly. The mapping remains valid after the channel is closed.
+     *
+     * @param file The file to be read.
+     * @return ByteBuffer The contents of the file, ready to be read.
+     * @throws FileNotFoundException If the file could not be found.
+     * @throws IOException If the file could not be read.
+     */
+    static ByteBuffer readBytes(File file) throws IOException {
+        if(file == null || !file.isFile()) {
+            throw new FileNotFoundException();
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
             }
-            case "Event" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
-                long durationMinutes = Long.parseLong(readIndexes[7]);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[8]);
-                    note = new Event(serialNum, description, addDate, doneDate,
-                            true, startDate, endDate, durationMinutes);
-                } else {
-                    note = new Event(serialNum, description, addDate,
-                            false, startDate, endDate, durationMinutes);
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while(buffer.hasRemaining()) {
+                if(channel.read(buffer) < 0) {
+                    break;
                 }
             }
-            case "Shoplist" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                double budgetSet = Double.parseDouble(readIndexes[5]);
-                double budgetRevised = Double.parseDouble(readIndexes[6]);
-                double budgetUsed = Double.parseDouble(readIndexes[7]);
-                double budgetBalance = Double.parseDouble(readIndexes[8]);
-                boolean isRevised = Boolean.parseBoolean(readIndexes[9]);
-                boolean isOverBudget = Boolean.parseBoolean(readIndexes[10]);
-                Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
-                        budgetBalance, isRevised, isOverBudget);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[11]);
-                    note = new Shoplist(serialNum, description, addDate, doneDate,
-                            true, itemBudget);
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * This method is used to read the entire contents of a file, treating a file that does not exist as empty.
+     *
+     * @param file The file to be read.
+     * @return ByteBuffer The contents of the file, ready to be read.
+     * @throws IOException If the file could not be read.
+     */
+    private static ByteBuffer readBytesOrEmpty(File file) throws IOException {
+        try {
+            return readBytes(file);
+        } catch (FileNotFoundException e) {
+            return ByteBuffer.allocate(0);
+        }
+    }
+
+    /**
+     * This method is used to slice out the payload of the record at the current position of the buffer,
+     * advancing the buffer past the record.
+     *
+     * @param buffer The {@code ByteBuffer} object positioned at the start of a record.
+     * @return ByteBuffer The payload of the record.
+     */
+    static ByteBuffer readRecord(ByteBuffer buffer) {
+        int length = DukeCodec.getVarInt(buffer);
+        if(length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer payload = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return payload;
+    }
+
+    /**
+     * This method is used to replay the committed changes held in the journal over the records read
+     * from the saved file. Changes that were not committed (e.g. due to a crash mid-save) are discarded.
+     * A journal of a different generation from the saved file (e.g. left behind by a crash just after a full
+     * save) is discarded as a whole, as its changes are either already in the saved file or no longer apply.
+     *
+     * @param records The payloads of the records read from the saved file.
+     * @throws IOException If the journal could not be read.
+     */
+    private void replayJournal(ArrayList<ByteBuffer> records) throws IOException {
+
+        this.journalCommits.clear();
+        if(this.journal == null || !this.journal.isFile()) {
+            return;
+        }
+
+        ByteBuffer contents = readHeldBytes(this.journal);
+        if(!DukeCodec.hasHeader(contents, DukeCodec.JOURNAL_MAGIC)
+                || DukeCodec.getGeneration(contents) != this.generation) {
+            if(contents.hasRemaining()) {
+                truncateJournal(0);
+            }
+            return;
+        }
+        contents.position(DukeCodec.getHeaderLength(contents));
+
+        ArrayList<ByteBuffer> batch = new ArrayList<>();
+        ArrayList<Integer> positions = new ArrayList<>();
+        try {
+            while(contents.hasRemaining()) {
+                char operation = (char) contents.get();
+                if(operation == JournalRecord.COMMIT) {
+                    for(int i = 0; i < batch.size(); i++) {
+                        int position = positions.get(i);
+                        if(batch.get(i) == null) {
+                            records.remove(position - 1);
+                        } else if(position > records.size()) {
+                            records.add(batch.get(i));
+                        } else {
+                            records.set(position - 1, batch.get(i));
+                        }
+                    }
+                    batch.clear();
+                    positions.clear();
+                    this.journalCommits.add((long) contents.position());
+                } else if(operation == JournalRecord.UPSERT) {
+                    positions.add(DukeCodec.getVarInt(contents));
+                    batch.add(readRecord(contents));
+                } else if(operation == JournalRecord.DELETE) {
+                    positions.add(DukeCodec.getVarInt(contents));
+                    batch.add(null);
                 } else {
-                    note = new Shoplist(serialNum, description, addDate,
-                            false, itemBudget);
+                    break;
                 }
             }
-            case "Task" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // A record torn by a crash mid-save is discarded together with the rest of its batch.
+            batch.clear();
+        }
 
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                    note = new Task(serialNum, description, addDate, doneDate,
-                            true);
-                } else {
-                    note = new Task(serialNum, description, addDate,
-                            false);
+        long committed = this.journalCommits.isEmpty() ? 0 : this.journalCommits.get(this.journalCommits.size() - 1);
+        if(committed < contents.limit()) {
+            truncateJournal(committed);
+        }
+    }
+
+    /**
+     * This method is used to read a saved file in the legacy Base64 text format, together with
+     * its journal if any, and to migrate it to the binary format.
+     *
+     * @param contents The contents of the saved file.
+     * @return ArrayList<Note> The ArrayList of reconstructed {@code Note} objects from the saved file.
+     * @throws FileNotFoundException If the saved file could not be found via the file path.
+     * @throws IOException If the journal could not be read.
+     * @throws ParseException If there are errors reading from saved files.
+     */
+    private ArrayList<Note> readLegacyFile(ByteBuffer contents) throws IOException, ParseException {
+
+        this.coldStore.open(0);
+        ArrayList<String> lines = readLines(contents);
+        replayLegacyJournal(lines);
+
+        if(lines.isEmpty()) {
+            throw new FileNotFoundException();
+        } else {
+            Duke.resetStaticVariables();
+        }
+
+        ArrayList<Note> notes = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            Note note = decodeNote(lines.get(i));
+            if(note == null) {
+                throw new ParseException("Note #" + (i + 1) + " in the saved file could not be read: "
+                        + lines.get(i), i);
+            }
+            note.setSerialNum(i + 1);
+            notes.add(note);
+        }
+
+        try {
+            writeToFile(new DukeList(notes));
+        } catch (IOException e) {
+            // The legacy file is left as it is, and migration is attempted again on the next read.
+            this.journalCommits.clear();
+        }
+        return notes;
+    }
+
+    /**
+     * This method is used to split the contents of a file in the legacy text format into lines,
+     * scanning for line breaks directly in the buffer rather than through a {@code Scanner}.
+     *
+     * @param contents The contents of the file.
+     * @return ArrayList<String> The non-empty lines of the file, without line breaks.
+     */
+    private static ArrayList<String> readLines(ByteBuffer contents) {
+        ArrayList<String> lines = new ArrayList<>();
+        int start = contents.position();
+        int end = contents.limit();
+        for (int i = start; i <= end; i++) {
+            if(i == end || contents.get(i) == '\n') {
+                int lineEnd = (i > start && contents.get(i - 1) == '\r') ? i - 1 : i;
+                if(lineEnd > start) {
+                    byte[] line = new byte[lineEnd - start];
+                    contents.get(start, line);
+                    lines.add(new String(line, StandardCharsets.ISO_8859_1));
                 }
+                start = i + 1;
             }
-            case "Wedding" -> {
-                int serialNum = Integer.parseInt(readIndexes[1]);
-                String description = readIndexes[2];
-                Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
-                boolean isDone = Boolean.parseBoolean(readIndexes[4]);
-                Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
-                Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
-                long durationMinutes = Long.parseLong(readIndexes[7]);
-                double budgetSet = Double.parseDouble(readIndexes[8]);
-                double budgetRevised = Double.parseDouble(readIndexes[9]);
-                double budgetUsed = Double.parseDouble(readIndexes[10]);
-                double budgetBalance = Double.parseDouble(readIndexes[11]);
-                boolean isRevised = Boolean.parseBoolean(readIndexes[12]);
-                boolean isOverBudget = Boolean.parseBoolean(readIndexes[13]);
-                Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
-                        budgetBalance, isRevised, isOverBudget);
-
-                if(isDone) {
-                    Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[14]);
-                    note = new Wedding(serialNum, description, addDate, doneDate,
-                            true, startDate, endDate, durationMinutes, itemBudget);
+        }
+        return lines;
+    }
+
+    /**
+     * This method is used to replay the committed changes held in a journal in the legacy text format
+     * over the lines read from the saved file.
+     *
+     * @param lines The Base64 encoded lines read from the saved file.
+     * @throws IOException If the journal could not be read.
+     */
+    private void replayLegacyJournal(ArrayList<String> lines) throws IOException {
+
+        if(this.journal == null || !this.journal.exists()) {
+            return;
+        }
+
+        ArrayList<String> batch = new ArrayList<>();
+        for (String nextLine : readLines(readBytes(this.journal))) {
+            if(nextLine.charAt(0) != JournalRecord.COMMIT) {
+                batch.add(nextLine);
+                continue;
+            }
+            for(String record : batch) {
+                String[] recordIndexes = record.split(" ");
+                int position = Integer.parseInt(recordIndexes[1]);
+                if(recordIndexes[0].charAt(0) == JournalRecord.DELETE) {
+                    lines.remove(position - 1);
+                } else if(position > lines.size()) {
+                    lines.add(recordIndexes[2]);
                 } else {
-                    note = new Wedding(serialNum, description, addDate,
-                            false, startDate, endDate, durationMinutes, itemBudget);
+                    lines.set(position - 1, recordIndexes[2]);
                 }
             }
+            batch.clear();
+        }
+    }
+
+    /**
+     * This method is used to reconstruct a {@code Note} object from a single Base64 encoded line of saved text
+     * in the legacy format.
+     *
+     * @param line The Base64 encoded line of saved text.
+     * @return Note The reconstructed {@code Note} object, or null if the type of note is not recognised.
+     * @throws ParseException If there are errors reading the saved text.
+     */
+    Note decodeNote(String line) throws ParseException {
+
+        Note note = null;
+        String nextLine = decodeText(line);
+        String[] readIndexes = nextLine.split("/");
+        switch (readIndexes[0]) {
+        case "Bill" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            Date targetDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+            boolean doneAhead = Boolean.parseBoolean(readIndexes[6]);
+            double budgetSet = Double.parseDouble(readIndexes[7]);
+            double budgetRevised = Double.parseDouble(readIndexes[8]);
+            double budgetUsed = Double.parseDouble(readIndexes[9]);
+            double budgetBalance = Double.parseDouble(readIndexes[10]);
+            boolean isRevised = Boolean.parseBoolean(readIndexes[11]);
+            boolean isOverBudget = Boolean.parseBoolean(readIndexes[12]);
+            Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
+                    budgetBalance, isRevised, isOverBudget);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[13]);
+                note = new Bill(serialNum, description, addDate, doneDate,
+                        true, targetDate, doneAhead, itemBudget);
+            } else {
+                note = new Bill(serialNum, description, addDate,
+                        false, targetDate, doneAhead, itemBudget);
             }
-            notes.add(note);
         }
-        return notes;
+        case "Birthday" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+            Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
+            long durationMinutes = Long.parseLong(readIndexes[7]);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[8]);
+                note = new Birthday(serialNum, description, addDate, doneDate,
+                        true, startDate, endDate, durationMinutes);
+            } else {
+                note = new Birthday(serialNum, description, addDate,
+                        false, startDate, endDate, durationMinutes);
+            }
+        }
+        case "Deadline" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            Date targetDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+            boolean doneAhead = Boolean.parseBoolean(readIndexes[6]);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[7]);
+                note = new Deadline(serialNum, description, addDate, doneDate,
+                        true, targetDate, doneAhead);
+            } else {
+                note = new Deadline(serialNum, description, addDate,
+                        false, targetDate, doneAhead);
+            }
+        }
+        case "Event" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+            Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
+            long durationMinutes = Long.parseLong(readIndexes[7]);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[8]);
+                note = new Event(serialNum, description, addDate, doneDate,
+                        true, startDate, endDate, durationMinutes);
+            } else {
+                note = new Event(serialNum, description, addDate,
+                        false, startDate, endDate, durationMinutes);
+            }
+        }
+        case "Shoplist" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            double budgetSet = Double.parseDouble(readIndexes[5]);
+            double budgetRevised = Double.parseDouble(readIndexes[6]);
+            double budgetUsed = Double.parseDouble(readIndexes[7]);
+            double budgetBalance = Double.parseDouble(readIndexes[8]);
+            boolean isRevised = Boolean.parseBoolean(readIndexes[9]);
+            boolean isOverBudget = Boolean.parseBoolean(readIndexes[10]);
+            Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
+                    budgetBalance, isRevised, isOverBudget);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[11]);
+                note = new Shoplist(serialNum, description, addDate, doneDate,
+                        true, itemBudget);
+            } else {
+                note = new Shoplist(serialNum, description, addDate,
+                        false, itemBudget);
+            }
+        }
+        case "Task" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+                note = new Task(serialNum, description, addDate, doneDate,
+                        true);
+            } else {
+                note = new Task(serialNum, description, addDate,
+                        false);
+            }
+        }
+        case "Wedding" -> {
+            int serialNum = Integer.parseInt(readIndexes[1]);
+            String description = readIndexes[2];
+            Date addDate = DukeUI.INPUT_TIME.parse(readIndexes[3]);
+            boolean isDone = Boolean.parseBoolean(readIndexes[4]);
+            Date startDate = DukeUI.INPUT_TIME.parse(readIndexes[5]);
+            Date endDate = DukeUI.INPUT_TIME.parse(readIndexes[6]);
+            long durationMinutes = Long.parseLong(readIndexes[7]);
+            double budgetSet = Double.parseDouble(readIndexes[8]);
+            double budgetRevised = Double.parseDouble(readIndexes[9]);
+            double budgetUsed = Double.parseDouble(readIndexes[10]);
+            double budgetBalance = Double.parseDouble(readIndexes[11]);
+            boolean isRevised = Boolean.parseBoolean(readIndexes[12]);
+            boolean isOverBudget = Boolean.parseBoolean(readIndexes[13]);
+            Budget itemBudget = new Budget(budgetSet, budgetRevised, budgetUsed,
+                    budgetBalance, isRevised, isOverBudget);
+
+            if(isDone) {
+                Date doneDate = DukeUI.INPUT_TIME.parse(readIndexes[14]);
+                note = new Wedding(serialNum, description, addDate, doneDate,
+                        true, startDate, endDate, durationMinutes, itemBudget);
+            } else {
+                note = new Wedding(serialNum, description, addDate,
+                        false, startDate, endDate, durationMinutes, itemBudget);
+            }
+        }
+        }
+        return note;
     }
 }
@@ -0,0 +1,205 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+/**
+ * An interval tree over the spans of the {@code Event} objects in the {@code DukeList} object,
+ * used to find the events clashing with a new span without checking every {@code Note} object held.
+ *
+ * The spans are kept in a treap ordered by start date, in which every node also holds the latest end date
+ * in its subtree, so that subtrees ending before the span asked about are skipped. Finding the k spans
+ * that overlap a span takes O(log n + k) time, and spans are added and removed in O(log n) time.
+ * Spans are held by the identifiers of their {@code Note} objects, as their positions change.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class EventSpans {
+
+    //VARIABLES-----------------------------------------
+    private final HashMap<Integer, Span> spans = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private Span root = null;
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of spans held.
+     *
+     * @return int The number of spans held.
+     */
+    int size() {
+        return this.spans.size();
+    }
+
+    /**
+     * This method is used to find the identifiers of all {@code Note} objects whose spans overlap the span given,
+     * both ends included.
+     *
+     * @param start The start of the span, in epoch milliseconds.
+     * @param end The end of the span, in epoch milliseconds.
+     * @return ArrayList<Integer> The identifiers of the {@code Note} objects found, in order of start date.
+     */
+    ArrayList<Integer> findOverlaps(long start, long end) {
+        ArrayList<Integer> noteIds = new ArrayList<>();
+        collectOverlaps(this.root, start, end, noteIds);
+        return noteIds;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to add the span of a {@code Note} object, replacing any span it held before.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     * @param start The start of the span, in epoch milliseconds.
+     * @param end The end of the span, in epoch milliseconds.
+     */
+    void add(int noteId, long start, long end) {
+        remove(noteId);
+        Span span = new Span(noteId, start, end, this.random.nextInt());
+        this.spans.put(noteId, span);
+        Span[] parts = split(this.root, start, noteId);
+        this.root = merge(merge(parts[0], span), parts[1]);
+    }
+
+    /**
+     * This method is used to remove the span of a {@code Note} object, if it holds one.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     */
+    void remove(int noteId) {
+        Span span = this.spans.remove(noteId);
+        if(span == null) {
+            return;
+        }
+        Span[] parts = split(this.root, span.start, noteId);
+        Span[] rest = split(parts[1], span.start, noteId + 1L);
+        this.root = merge(parts[0], rest[1]);
+    }
+
+    /**
+     * This method is used to remove all spans.
+     */
+    void clear() {
+        this.spans.clear();
+        this.root = null;
+    }
+
+    /**
+     * This method is used to collect the identifiers of the spans in a subtree that overlap the span given.
+     *
+     * @param node The root of the subtree.
+     * @param start The start of the span, in epoch milliseconds.
+     * @param end The end of the span, in epoch milliseconds.
+     * @param noteIds The ArrayList to which the identifiers found are added.
+     */
+    private static void collectOverlaps(Span node, long start, long end, ArrayList<Integer> noteIds) {
+        while(node != null && node.maxEnd >= start) {
+            collectOverlaps(node.left, start, end, noteIds);
+            if(node.start > end) {
+                return;
+            }
+            if(node.end >= start) {
+                noteIds.add(node.noteId);
+            }
+            node = node.right;
+        }
+    }
+
+    /**
+     * This method is used to split a subtree into the spans ordered before the key given, and the rest.
+     *
+     * @param node The root of the subtree.
+     * @param start The start of the key.
+     * @param noteId The identifier of the key, breaking ties between spans with the same start.
+     * @return Span[] The roots of the spans before the key, and of the rest.
+     */
+    private static Span[] split(Span node, long start, long noteId) {
+        if(node == null) {
+            return new Span[]{null, null};
+        }
+        if(node.start < start || (node.start == start && node.noteId < noteId)) {
+            Span[] parts = split(node.right, start, noteId);
+            node.right = parts[0];
+            node.update();
+            return new Span[]{node, parts[1]};
+        }
+        Span[] parts = split(node.left, start, noteId);
+        node.left = parts[1];
+        node.update();
+        return new Span[]{parts[0], node};
+    }
+
+    /**
+     * This method is used to join two subtrees, where all spans of the first are ordered before the second.
+     *
+     * @param first The root of the first subtree.
+     * @param second The root of the second subtree.
+     * @return Span The root of the joined subtree.
+     */
+    private static Span merge(Span first, Span second) {
+        if(first == null) {
+            return second;
+        }
+        if(second == null) {
+            return first;
+        }
+        if(first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+
+    //SPANS---------------------------------------------
+    /**
+     * A node of the treap, holding the span of one {@code Note} object.
+     */
+    private static final class Span {
+
+        private final int noteId;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Span left = null;
+        private Span right = null;
+
+        /**
+         * This method is used to construct a {@code Span} object with no children.
+         *
+         * @param noteId The identifier of the {@code Note} object.
+         * @param start The start of the span, in epoch milliseconds.
+         * @param end The end of the span, in epoch milliseconds.
+         * @param priority The random priority of the node in the treap.
+         */
+        private Span(int noteId, long start, long end, int priority) {
+            this.noteId = noteId;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        /**
+         * This method is used to bring the latest end date of the subtree up to date with its children.
+         */
+        private void update() {
+            long latest = this.end;
+            if(this.left != null) {
+                latest = Math.max(latest, this.left.maxEnd);
+            }
+            if(this.right != null) {
+                latest = Math.max(latest, this.right.maxEnd);
+            }
+            this.maxEnd = latest;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package duke.storage;
+
+/**
+ * This enum lists the policies available for forcing saved files and journals onto the hard drive.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+@SuppressWarnings("unused")
+public enum FsyncPolicy {
+
+    /** Every save is forced onto the hard drive before it is considered complete. */
+    ALWAYS,
+    /** Full saves are forced every time, while saves to the journal are forced together in groups. */
+    BATCHED,
+    /** Saves are left to the operating system to write out in its own time. */
+    NEVER
+}
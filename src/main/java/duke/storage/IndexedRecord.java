@@ -0,0 +1,131 @@
+package duke.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The record of a note in the saved file that has been indexed but not yet read in full.
+ *
+ * It holds only the identifier, type, completion status and key date of the note together with its record,
+ * so that the {@code DukeList} object can index the note without reconstructing it. It is never handed out
+ * as a {@code Note} object: the {@code LazyNoteList} object holding it reconstructs the note the first time
+ * it is reached.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+final class IndexedRecord {
+
+    //VARIABLES-----------------------------------------
+    private final ByteBuffer record;
+    private final byte tag;
+    private final boolean isDone;
+    private final long keyTime;
+    private final long endTime;
+    private int noteId = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct an {@code IndexedRecord} object.
+     *
+     * @param record The payload of the record of the note in the saved file.
+     * @param tag The type tag of the note.
+     * @param isDone True if the note has concluded.
+     * @param keyTime The key date of the note (i.e. the target date of a deadline, the start date of an event,
+     *                or the date the note was added otherwise), in epoch milliseconds.
+     * @param endTime The end date of an event, or the key date of the note otherwise, in epoch milliseconds.
+     */
+    IndexedRecord(ByteBuffer record, byte tag, boolean isDone, long keyTime, long endTime) {
+        this.record = record;
+        this.tag = tag;
+        this.isDone = isDone;
+        this.keyTime = keyTime;
+        this.endTime = endTime;
+    }
+
+
+    //SET STATEMENTS------------------------------------
+    /**
+     * This method is used to set the identifier the note is to be given once it is read.
+     *
+     * @param noteId The identifier of the note.
+     */
+    void setNoteId(int noteId) {
+        this.noteId = noteId;
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the payload of the record of the note in the saved file.
+     *
+     * @return ByteBuffer The payload of the record, positioned at its start.
+     */
+    ByteBuffer getRecord() {
+        return this.record.duplicate();
+    }
+
+    /**
+     * This method is used to retrieve the identifier the note is to be given once it is read.
+     *
+     * @return int The identifier of the note, or 0 if it has not been given one.
+     */
+    int getNoteId() {
+        return this.noteId;
+    }
+
+    /**
+     * This method is used to retrieve the type tag of the note.
+     *
+     * @return byte The type tag of the note.
+     */
+    byte getTag() {
+        return this.tag;
+    }
+
+    /**
+     * This method is used to retrieve the completion status of the note.
+     *
+     * @return boolean True if the note has concluded.
+     */
+    boolean getIsDone() {
+        return this.isDone;
+    }
+
+    /**
+     * This method is used to retrieve the key date of the note.
+     *
+     * @return long The key date of the note, in epoch milliseconds.
+     */
+    long getKeyTime() {
+        return this.keyTime;
+    }
+
+    /**
+     * This method is used to retrieve the end date of the note.
+     *
+     * @return long The end date of an event, or the key date of the note otherwise, in epoch milliseconds.
+     */
+    long getEndTime() {
+        return this.endTime;
+    }
+
+    /**
+     * This method is used to check whether the note is an event, i.e. whether it spans from its key date
+     * to its end date.
+     *
+     * @return boolean True if the note is an event.
+     */
+    boolean isEvent() {
+        return DukeCodec.isEventTag(this.tag);
+    }
+
+    /**
+     * This method is used to check whether the note is a deadline, i.e. whether its key date is its target date.
+     *
+     * @return boolean True if the note is a deadline.
+     */
+    boolean isDeadline() {
+        return DukeCodec.isDeadlineTag(this.tag);
+    }
+}
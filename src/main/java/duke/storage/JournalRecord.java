@@ -0,0 +1,66 @@
+package duke.storage;
+
+import duke.notes.Note;
+
+/**
+ * An object that records a single change made to the {@code DukeList} object
+ * that has yet to be appended to the journal held by the {@code DukeStorage} object.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class JournalRecord {
+
+    //VARIABLES-----------------------------------------
+    static final char UPSERT = 'U';
+    static final char DELETE = 'D';
+    static final char COMMIT = 'C';
+
+    private final char operation;
+    private final int position;
+    private final Note note;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code JournalRecord} object.
+     *
+     * @param operation The type of change made, either {@code UPSERT} or {@code DELETE}.
+     * @param position The position (i.e. serial number) of the {@code Note} object changed.
+     * @param note The {@code Note} object changed, or null if the {@code Note} object was deleted.
+     */
+    JournalRecord(char operation, int position, Note note) {
+        this.operation = operation;
+        this.position = position;
+        this.note = note;
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the type of change made.
+     *
+     * @return char The type of change made, either {@code UPSERT} or {@code DELETE}.
+     */
+    char getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * This method is used to retrieve the position (i.e. serial number) of the {@code Note} object changed.
+     *
+     * @return int The position of the {@code Note} object changed.
+     */
+    int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * This method is used to retrieve the {@code Note} object changed.
+     *
+     * @return Note The {@code Note} object changed, or null if the {@code Note} object was deleted.
+     */
+    Note getNote() {
+        return this.note;
+    }
+}
@@ -0,0 +1,409 @@
+package duke.storage;
+
+import duke.notes.Note;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * An ArrayList of {@code Note} objects that are read from the saved file only when first reached.
+ *
+ * Notes start out as {@code IndexedRecord} objects, held in a separate list alongside the empty slots
+ * they are to fill, and each is reconstructed into its {@code Note} object the first time it is retrieved.
+ * Only reconstructed {@code Note} objects are ever handed out: operations that reach every {@code Note} object
+ * at once (e.g. iterating over the list) first reconstruct all remaining notes in parallel.
+ * Reconstructed notes are removed from the class-level members again, as they were already counted
+ * from the index of the saved file.
+ * Copies made by cloning or serializing the list are plain ArrayLists holding every {@code Note} object,
+ * as the records not yet read belong to this list alone.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+@SuppressWarnings("serial")
+class LazyNoteList extends ArrayList<Note> {
+
+    //VARIABLES-----------------------------------------
+    private final ArrayList<IndexedRecord> unread;
+    private int unreadCount = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct a {@code LazyNoteList} object.
+     *
+     * @param initialCapacity The number of notes expected.
+     */
+    LazyNoteList(int initialCapacity) {
+        super(initialCapacity);
+        this.unread = new ArrayList<>(initialCapacity);
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the {@code Note} object at the index given,
+     * reading it from the saved file if it has not yet been read.
+     *
+     * @param index The index of the {@code Note} object.
+     * @return Note The {@code Note} object at the index given.
+     */
+    @Override
+    public Note get(int index) {
+        IndexedRecord record = getUnread(index);
+        return record == null ? super.get(index) : readNote(index, record);
+    }
+
+    /**
+     * This method is used to retrieve the indexed record of the note at the index given, if it has not yet been read.
+     *
+     * @param index The index of the note.
+     * @return IndexedRecord The {@code IndexedRecord} object of the note, or null if the note has been read.
+     */
+    IndexedRecord getUnread(int index) {
+        Objects.checkIndex(index, size());
+        return this.unreadCount == 0 ? null : this.unread.get(index);
+    }
+
+    /**
+     * This method is used to retrieve the record of the note at the index given, if it has not yet been read.
+     *
+     * @param index The index of the note.
+     * @return ByteBuffer The payload of the record of the note, or null if the note has been read.
+     */
+    ByteBuffer getUnreadRecord(int index) {
+        IndexedRecord record = getUnread(index);
+        return record == null ? null : record.getRecord();
+    }
+
+    /**
+     * This method is used to retrieve the number of notes not yet read from the saved file.
+     *
+     * @return int The number of notes not yet read.
+     */
+    int getUnreadCount() {
+        return this.unreadCount;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to add a note that has been indexed but not yet read to the end of the list.
+     *
+     * @param record The {@code IndexedRecord} object of the note.
+     */
+    void addIndexed(IndexedRecord record) {
+        while(this.unread.size() < size()) {
+            this.unread.add(null);
+        }
+        super.add(null);
+        this.unread.add(record);
+        this.unreadCount++;
+    }
+
+    /**
+     * This method is used to mark all {@code Note} objects that have been read as saved.
+     * Notes not yet read are unchanged since they were saved.
+     */
+    void markReadNotesSaved() {
+        for (int i = 0; i < size(); i++) {
+            if(getUnread(i) == null) {
+                super.get(i).markAsSaved();
+            }
+        }
+    }
+
+    /**
+     * This method is used to reconstruct a single note from its record, and to put it in its slot.
+     *
+     * @param index The index of the note.
+     * @param record The {@code IndexedRecord} object of the note.
+     * @return Note The reconstructed {@code Note} object.
+     */
+    private Note readNote(int index, IndexedRecord record) {
+        Note note = DukeCodec.decodeNote(record.getRecord());
+        note.uncountExistingNote();
+        if(note.getBudgetObject() != null) {
+            note.getBudgetObject().deleteExistingBudget();
+        }
+        placeNote(index, note);
+        return note;
+    }
+
+    /**
+     * This method is used to put a reconstructed note in its slot, and to drop its record.
+     *
+     * @param index The index of the note.
+     * @param note The reconstructed {@code Note} object.
+     */
+    private void placeNote(int index, Note note) {
+        note.setSerialNum(index + 1);
+        note.setNoteId(this.unread.get(index).getNoteId());
+        super.set(index, note);
+        this.unread.set(index, null);
+        this.unreadCount--;
+        if(this.unreadCount == 0) {
+            this.unread.clear();
+        }
+    }
+
+    /**
+     * This method is used to reconstruct all notes not yet read, in parallel.
+     * As the constructors count each {@code Note} object in the class-level members from several threads at once,
+     * the class-level members are set aside beforehand and restored afterwards.
+     * Every record was stepped through in full by {@code DukeCodec.indexNote} when the saved file was read,
+     * so reconstructing a record cannot fail short of a fault in the codec itself.
+     */
+    private void readAll() {
+        if(this.unreadCount == 0) {
+            return;
+        }
+        ArrayList<Integer> indexes = new ArrayList<>(this.unreadCount);
+        ArrayList<ByteBuffer> records = new ArrayList<>(this.unreadCount);
+        for (int i = 0; i < size(); i++) {
+            ByteBuffer record = getUnreadRecord(i);
+            if(record != null) {
+                indexes.add(i);
+                records.add(record);
+            }
+        }
+
+        Note[] decoded = new Note[records.size()];
+        NoteSummary summary = NoteSummary.ofExistingNotes();
+        DecodeTask decodeTask = new DecodeTask(records, decoded);
+        decodeTask.invoke();
+        summary.apply();
+        if(decodeTask.getFirstFailure() >= 0) {
+            int index = indexes.get(decodeTask.getFirstFailure());
+            throw new IllegalStateException("Note #" + (index + 1) + " was indexed but could not be read.");
+        }
+        for (int i = 0; i < decoded.length; i++) {
+            placeNote(indexes.get(i), decoded[i]);
+        }
+    }
+
+
+    //BULK OPERATIONS-----------------------------------
+    /**
+     * This method is used to replace the {@code Note} object at the index given.
+     *
+     * @param index The index of the {@code Note} object.
+     * @param note The new {@code Note} object.
+     * @return Note The {@code Note} object replaced.
+     */
+    @Override
+    public Note set(int index, Note note) {
+        Note oldNote = get(index);
+        super.set(index, note);
+        return oldNote;
+    }
+
+    /**
+     * This method is used to remove the {@code Note} object at the index given.
+     *
+     * @param index The index of the {@code Note} object.
+     * @return Note The {@code Note} object removed.
+     */
+    @Override
+    public Note remove(int index) {
+        get(index);
+        if(this.unreadCount > 0) {
+            this.unread.remove(index);
+        }
+        return super.remove(index);
+    }
+
+    /**
+     * This method is used to add a {@code Note} object to the end of the list.
+     *
+     * @param note The {@code Note} object.
+     * @return boolean True, as the list is changed.
+     */
+    @Override
+    public boolean add(Note note) {
+        if(this.unreadCount > 0) {
+            this.unread.add(null);
+        }
+        return super.add(note);
+    }
+
+    /**
+     * This method is used to remove all {@code Note} objects, read or not.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        this.unread.clear();
+        this.unreadCount = 0;
+    }
+
+    @Override
+    public void add(int index, Note note) {
+        readAll();
+        super.add(index, note);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Note> notes) {
+        readAll();
+        return super.addAll(notes);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Note> notes) {
+        readAll();
+        return super.addAll(index, notes);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        readAll();
+        return super.remove(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        readAll();
+        return super.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        readAll();
+        return super.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        readAll();
+        return super.lastIndexOf(o);
+    }
+
+    @Override
+    public Iterator<Note> iterator() {
+        readAll();
+        return super.iterator();
+    }
+
+    @Override
+    public ListIterator<Note> listIterator() {
+        readAll();
+        return super.listIterator();
+    }
+
+    @Override
+    public ListIterator<Note> listIterator(int index) {
+        readAll();
+        return super.listIterator(index);
+    }
+
+    @Override
+    public Spliterator<Note> spliterator() {
+        readAll();
+        return super.spliterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        readAll();
+        return super.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] array) {
+        readAll();
+        return super.toArray(array);
+    }
+
+    @Override
+    public List<Note> subList(int fromIndex, int toIndex) {
+        readAll();
+        return super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> notes) {
+        readAll();
+        return super.removeAll(notes);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> notes) {
+        readAll();
+        return super.retainAll(notes);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Note> action) {
+        readAll();
+        super.forEach(action);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Note> filter) {
+        readAll();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Note> operator) {
+        readAll();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super Note> comparator) {
+        readAll();
+        super.sort(comparator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        readAll();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        readAll();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        readAll();
+        return super.toString();
+    }
+
+    /**
+     * This method is used to copy the list, reading all notes not yet read first,
+     * so that the copy never holds the empty slots of the notes not yet read.
+     *
+     * @return Object A plain ArrayList of the {@code Note} objects held.
+     */
+    @Override
+    public Object clone() {
+        readAll();
+        return new ArrayList<>(this);
+    }
+
+    /**
+     * This method is used to serialize the list as a plain ArrayList, reading all notes not yet read first.
+     *
+     * @return Object A plain ArrayList of the {@code Note} objects held.
+     */
+    private Object writeReplace() {
+        readAll();
+        return new ArrayList<>(this);
+    }
+}
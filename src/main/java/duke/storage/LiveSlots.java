@@ -0,0 +1,121 @@
+package duke.storage;
+
+/**
+ * A Fenwick tree over the slots handed out to {@code Note} objects in the {@code DukeList} object, marking
+ * each slot as live or freed, so that the position of a {@code Note} object can be counted from its slot.
+ *
+ * Slots are handed out in the order notes are added and are never moved, so freeing a slot leaves the slots
+ * of all other notes as they were. The position of a {@code Note} object is the number of live slots before
+ * its own, which is counted in logarithmic time.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class LiveSlots {
+
+    //VARIABLES-----------------------------------------
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] tree = new int[MIN_CAPACITY + 1];
+    private int slotCount = 0;
+    private int liveCount = 0;
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of live slots before the slot given,
+     * i.e. the position of the {@code Note} object in the slot.
+     *
+     * @param slot The slot.
+     * @return int The number of live slots before the slot given.
+     */
+    int countBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i = i & (i - 1)) {
+            count = count + this.tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * This method is used to retrieve the number of slots handed out, live or freed.
+     *
+     * @return int The number of slots handed out.
+     */
+    int getSlotCount() {
+        return this.slotCount;
+    }
+
+    /**
+     * This method is used to retrieve the number of live slots.
+     *
+     * @return int The number of live slots.
+     */
+    int getLiveCount() {
+        return this.liveCount;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to hand out the next slot.
+     *
+     * @return int The slot handed out, or -1 if all slots have been handed out.
+     */
+    int addSlot() {
+        if(this.slotCount == this.tree.length - 1) {
+            return -1;
+        }
+        int slot = this.slotCount++;
+        update(slot, 1);
+        this.liveCount++;
+        return slot;
+    }
+
+    /**
+     * This method is used to free a slot once the {@code Note} object in it has been removed.
+     *
+     * @param slot The slot to be freed.
+     */
+    void freeSlot(int slot) {
+        update(slot, -1);
+        this.liveCount--;
+    }
+
+    /**
+     * This method is used to free all slots, and to hand out the first slots again as live,
+     * one for each {@code Note} object held, in order.
+     *
+     * @param liveCount The number of {@code Note} objects held.
+     */
+    void reset(int liveCount) {
+        int capacity = MIN_CAPACITY;
+        while(capacity < liveCount * 2) {
+            capacity = capacity * 2;
+        }
+        this.tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if(i <= liveCount) {
+                this.tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if(parent <= capacity) {
+                this.tree[parent] = this.tree[parent] + this.tree[i];
+            }
+        }
+        this.slotCount = liveCount;
+        this.liveCount = liveCount;
+    }
+
+    /**
+     * This method is used to add to the count of the slot given.
+     *
+     * @param slot The slot.
+     * @param delta The amount to be added.
+     */
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i < this.tree.length; i = i + (i & -i)) {
+            this.tree[i] = this.tree[i] + delta;
+        }
+    }
+}
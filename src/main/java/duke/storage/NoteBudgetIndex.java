@@ -0,0 +1,171 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A sorted index of the {@code Note} objects in the {@code DukeList} object that have a budget,
+ * ordered by their revised budget amounts.
+ *
+ * Notes are held by their identifiers in parallel arrays of amounts and identifiers, and notes with the same
+ * amount are ordered by identifier, i.e. in the order they were added. Finding the k notes with amounts
+ * within a range, from the smallest or the largest, takes O(log n + k) time, and the notes found are
+ * already in order of amount. Adding, changing or removing a note shifts the entries after it along.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteBudgetIndex {
+
+    //VARIABLES-----------------------------------------
+    private double[] amounts = new double[16];
+    private int[] noteIds = new int[16];
+    private int size = 0;
+    private final HashMap<Integer, Double> amountsById = new HashMap<>();
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of notes indexed.
+     *
+     * @return int The number of notes indexed.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * This method is used to find the identifiers of the notes with amounts within the range given, both ends
+     * included, starting from the smallest or the largest amount. Notes with the same amount are found in order
+     * of identifier either way.
+     *
+     * @param min The smallest amount found.
+     * @param max The largest amount found.
+     * @param count The number of notes to be found at most.
+     * @param isLargestFirst True if notes are found from the largest amount down, rather than the smallest up.
+     * @return ArrayList<Integer> The identifiers of the notes found, in order.
+     */
+    ArrayList<Integer> findBetween(double min, double max, int count, boolean isLargestFirst) {
+        ArrayList<Integer> found = new ArrayList<>();
+        int from = search(min, Integer.MIN_VALUE);
+        int to = search(max, Integer.MAX_VALUE);
+        if(!isLargestFirst) {
+            for (int i = from; i < to && found.size() < count; i++) {
+                found.add(this.noteIds[i]);
+            }
+            return found;
+        }
+        int last = to - 1;
+        while(last >= from && found.size() < count) {
+            int first = Math.max(from, search(this.amounts[last], Integer.MIN_VALUE));
+            for (int i = first; i <= last && found.size() < count; i++) {
+                found.add(this.noteIds[i]);
+            }
+            last = first - 1;
+        }
+        return found;
+    }
+
+    /**
+     * This method is used to find the first position whose entry is ordered at or after the amount and identifier
+     * given.
+     *
+     * @param amount The amount.
+     * @param noteId The identifier.
+     * @return int The position found, or {@code size} if every entry is ordered before it.
+     */
+    private int search(double amount, int noteId) {
+        int low = 0;
+        int high = this.size;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            int byAmount = Double.compare(this.amounts[middle], amount);
+            if(byAmount < 0 || (byAmount == 0 && this.noteIds[middle] < noteId)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to index a note under the amount given, replacing any amount it was indexed under before.
+     *
+     * @param noteId The identifier of the note.
+     * @param amount The revised budget amount of the note.
+     */
+    void put(int noteId, double amount) {
+        Double indexed = this.amountsById.get(noteId);
+        if(indexed != null && Double.compare(indexed, amount) == 0) {
+            return;
+        }
+        remove(noteId);
+        if(this.size == this.amounts.length) {
+            this.amounts = Arrays.copyOf(this.amounts, this.size * 2);
+            this.noteIds = Arrays.copyOf(this.noteIds, this.size * 2);
+        }
+        int position = search(amount, noteId);
+        System.arraycopy(this.amounts, position, this.amounts, position + 1, this.size - position);
+        System.arraycopy(this.noteIds, position, this.noteIds, position + 1, this.size - position);
+        this.amounts[position] = amount;
+        this.noteIds[position] = noteId;
+        this.size++;
+        this.amountsById.put(noteId, amount);
+    }
+
+    /**
+     * This method is used to remove a note from the index, if it is indexed.
+     *
+     * @param noteId The identifier of the note.
+     */
+    void remove(int noteId) {
+        Double amount = this.amountsById.remove(noteId);
+        if(amount == null) {
+            return;
+        }
+        int position = search(amount, noteId);
+        System.arraycopy(this.amounts, position + 1, this.amounts, position, this.size - position - 1);
+        System.arraycopy(this.noteIds, position + 1, this.noteIds, position, this.size - position - 1);
+        this.size--;
+    }
+
+    /**
+     * This method is used to replace all notes in the index with those given, sorting them once
+     * rather than shifting the entries along for each note.
+     *
+     * @param noteIds The identifiers of the notes, each given once.
+     * @param amounts The revised budget amounts of the notes.
+     * @param count The number of notes given.
+     */
+    void putAll(int[] noteIds, double[] amounts, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byAmount = Double.compare(amounts[a], amounts[b]);
+            return byAmount != 0 ? byAmount : Integer.compare(noteIds[a], noteIds[b]);
+        });
+        clear();
+        this.amounts = new double[Math.max(16, count)];
+        this.noteIds = new int[Math.max(16, count)];
+        for (int i = 0; i < count; i++) {
+            this.amounts[i] = amounts[order[i]];
+            this.noteIds[i] = noteIds[order[i]];
+            this.amountsById.put(this.noteIds[i], this.amounts[i]);
+        }
+        this.size = count;
+    }
+
+    /**
+     * This method is used to remove all notes from the index.
+     */
+    void clear() {
+        this.size = 0;
+        this.amountsById.clear();
+    }
+}
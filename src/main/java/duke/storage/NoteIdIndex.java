@@ -0,0 +1,177 @@
+package duke.storage;
+
+import java.util.Arrays;
+
+/**
+ * A hash index from the identifiers of {@code Note} objects to their slots in the {@code DukeList} object,
+ * keyed by primitive integers so that lookups neither box nor reach the {@code Note} objects themselves.
+ *
+ * Identifiers are held in an open-addressed table with linear probing, and removals shift later entries
+ * of the same probe run back, so that no tombstones are left behind.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteIdIndex {
+
+    //VARIABLES-----------------------------------------
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] slots;
+    private int size = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct an empty {@code NoteIdIndex} object.
+     */
+    NoteIdIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the slot of the {@code Note} object with the identifier given.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     * @return int The slot of the {@code Note} object, or -1 if the identifier is not indexed.
+     */
+    int get(int noteId) {
+        int mask = this.keys.length - 1;
+        for (int bucket = bucketOf(noteId, mask); this.keys[bucket] != EMPTY; bucket = (bucket + 1) & mask) {
+            if(this.keys[bucket] == noteId) {
+                return this.slots[bucket];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method is used to retrieve the number of identifiers indexed.
+     *
+     * @return int The number of identifiers indexed.
+     */
+    int size() {
+        return this.size;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to index the slot of the {@code Note} object with the identifier given,
+     * replacing any slot indexed under the identifier before.
+     *
+     * @param noteId The identifier of the {@code Note} object.
+     * @param slot The slot of the {@code Note} object.
+     */
+    void put(int noteId, int slot) {
+        if((this.size + 1) * 2 > this.keys.length) {
+            resize(this.keys.length * 2);
+        }
+        int mask = this.keys.length - 1;
+        int bucket = bucketOf(noteId, mask);
+        while(this.keys[bucket] != EMPTY && this.keys[bucket] != noteId) {
+            bucket = (bucket + 1) & mask;
+        }
+        if(this.keys[bucket] == EMPTY) {
+            this.keys[bucket] = noteId;
+            this.size++;
+        }
+        this.slots[bucket] = slot;
+    }
+
+    /**
+     * This method is used to remove an identifier from the index.
+     *
+     * @param noteId The identifier to be removed.
+     */
+    void remove(int noteId) {
+        int mask = this.keys.length - 1;
+        int bucket = bucketOf(noteId, mask);
+        while(this.keys[bucket] != noteId) {
+            if(this.keys[bucket] == EMPTY) {
+                return;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+
+        int next = bucket;
+        while(true) {
+            next = (next + 1) & mask;
+            if(this.keys[next] == EMPTY) {
+                break;
+            }
+            int home = bucketOf(this.keys[next], mask);
+            boolean isBetween = bucket <= next ? bucket < home && home <= next : bucket < home || home <= next;
+            if(!isBetween) {
+                this.keys[bucket] = this.keys[next];
+                this.slots[bucket] = this.slots[next];
+                bucket = next;
+            }
+        }
+        this.keys[bucket] = EMPTY;
+        this.size--;
+    }
+
+    /**
+     * This method is used to remove all identifiers from the index.
+     *
+     * @param expectedSize The number of identifiers expected to be indexed next.
+     */
+    void clear(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while(capacity < expectedSize * 2) {
+            capacity = capacity * 2;
+        }
+        if(capacity == this.keys.length) {
+            Arrays.fill(this.keys, EMPTY);
+        } else {
+            allocate(capacity);
+        }
+        this.size = 0;
+    }
+
+    /**
+     * This method is used to allocate an empty table of the capacity given.
+     *
+     * @param capacity The number of buckets, a power of two.
+     */
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.slots = new int[capacity];
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * This method is used to move all entries into a table of the capacity given.
+     *
+     * @param capacity The number of buckets, a power of two.
+     */
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        int[] oldSlots = this.slots;
+        allocate(capacity);
+        this.size = 0;
+        for (int bucket = 0; bucket < oldKeys.length; bucket++) {
+            if(oldKeys[bucket] != EMPTY) {
+                put(oldKeys[bucket], oldSlots[bucket]);
+            }
+        }
+    }
+
+    /**
+     * This method is used to retrieve the home bucket of an identifier, spreading consecutive identifiers
+     * across the table.
+     *
+     * @param noteId The identifier.
+     * @param mask The number of buckets less one.
+     * @return int The home bucket of the identifier.
+     */
+    private static int bucketOf(int noteId, int mask) {
+        int hash = noteId * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,153 @@
+package duke.storage;
+
+import duke.Duke;
+import duke.notes.budget.Budget;
+import duke.notes.event.Event;
+import duke.notes.task.Task;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An object that tallies the class-level members of {@code Task}, {@code Event} and {@code Budget}
+ * from the records of a saved file, so that they can be set without reconstructing any {@code Note} object.
+ * Tallies are also persisted alongside the notes moved to the cold segment, so that those notes are counted
+ * without being read at all.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteSummary {
+
+    //VARIABLES-----------------------------------------
+    static final int LENGTH = 4 * Integer.BYTES + 3 * Double.BYTES;
+
+    private int tasksOutstanding = 0;
+    private int tasksCompleted = 0;
+    private int eventsOutstanding = 0;
+    private int eventsCompleted = 0;
+    private double totalBudgetSet = 0;
+    private double totalBudgetUsed = 0;
+    private double totalBudgetBalance = 0;
+
+
+    //CONSTRUCTORS--------------------------------------
+    /**
+     * This method is used to construct an empty {@code NoteSummary} object.
+     */
+    NoteSummary() {}
+
+    /**
+     * This method is used to construct a {@code NoteSummary} object holding the current class-level members
+     * of {@code Task}, {@code Event} and {@code Budget}, so that they can be restored later.
+     *
+     * @return NoteSummary The {@code NoteSummary} object holding the current class-level members.
+     */
+    static NoteSummary ofExistingNotes() {
+        NoteSummary summary = new NoteSummary();
+        summary.tasksOutstanding = Task.getTasksOutstanding();
+        summary.tasksCompleted = Task.getTasksCompleted();
+        summary.eventsOutstanding = Event.getEventsOutstanding();
+        summary.eventsCompleted = Event.getEventsCompleted();
+        summary.countBudget(Budget.getTotalBudgetSet(), Budget.getTotalBudgetUsed(), Budget.getTotalBudgetBalance());
+        return summary;
+    }
+
+
+    /**
+     * This method is used to reconstruct a {@code NoteSummary} object written with {@code writeTo}.
+     *
+     * @param buffer The {@code ByteBuffer} object positioned at the start of the tally.
+     * @return NoteSummary The reconstructed {@code NoteSummary} object.
+     */
+    static NoteSummary readFrom(ByteBuffer buffer) {
+        NoteSummary summary = new NoteSummary();
+        summary.tasksOutstanding = buffer.getInt();
+        summary.tasksCompleted = buffer.getInt();
+        summary.eventsOutstanding = buffer.getInt();
+        summary.eventsCompleted = buffer.getInt();
+        summary.totalBudgetSet = buffer.getDouble();
+        summary.totalBudgetUsed = buffer.getDouble();
+        summary.totalBudgetBalance = buffer.getDouble();
+        return summary;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to count a note in the tally.
+     *
+     * @param isEvent True if the note is an {@code Event}, rather than a {@code Task}.
+     * @param isDone True if the note has concluded.
+     */
+    void countNote(boolean isEvent, boolean isDone) {
+        if(isEvent && isDone) {
+            this.eventsCompleted++;
+        } else if(isEvent) {
+            this.eventsOutstanding++;
+        } else if(isDone) {
+            this.tasksCompleted++;
+        } else {
+            this.tasksOutstanding++;
+        }
+    }
+
+    /**
+     * This method is used to count the budget of a note in the tally.
+     *
+     * @param budgetSet The initial budget amount set.
+     * @param budgetUsed The amount of budget utilised.
+     * @param budgetBalance The amount of budget not utilised.
+     */
+    void countBudget(double budgetSet, double budgetUsed, double budgetBalance) {
+        this.totalBudgetSet = this.totalBudgetSet + budgetSet;
+        this.totalBudgetUsed = this.totalBudgetUsed + budgetUsed;
+        this.totalBudgetBalance = this.totalBudgetBalance + budgetBalance;
+    }
+
+    /**
+     * This method is used to count another tally in this tally.
+     *
+     * @param summary The {@code NoteSummary} object to be counted.
+     */
+    void countSummary(NoteSummary summary) {
+        this.tasksOutstanding = this.tasksOutstanding + summary.tasksOutstanding;
+        this.tasksCompleted = this.tasksCompleted + summary.tasksCompleted;
+        this.eventsOutstanding = this.eventsOutstanding + summary.eventsOutstanding;
+        this.eventsCompleted = this.eventsCompleted + summary.eventsCompleted;
+        countBudget(summary.totalBudgetSet, summary.totalBudgetUsed, summary.totalBudgetBalance);
+    }
+
+    /**
+     * This method is used to write the tally, taking up {@code LENGTH} bytes.
+     *
+     * @param buffer The {@code ByteBuffer} object to write to.
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(this.tasksOutstanding);
+        buffer.putInt(this.tasksCompleted);
+        buffer.putInt(this.eventsOutstanding);
+        buffer.putInt(this.eventsCompleted);
+        buffer.putDouble(this.totalBudgetSet);
+        buffer.putDouble(this.totalBudgetUsed);
+        buffer.putDouble(this.totalBudgetBalance);
+    }
+
+    /**
+     * This method is used to add the tally to the class-level members of {@code Task}, {@code Event}
+     * and {@code Budget}, on top of the {@code Note} objects already counted.
+     */
+    void addToExisting() {
+        Task.countExistingTasks(this.tasksOutstanding, this.tasksCompleted);
+        Event.countExistingEvents(this.eventsOutstanding, this.eventsCompleted);
+        Budget.countExistingBudgets(this.totalBudgetSet, this.totalBudgetUsed, this.totalBudgetBalance);
+    }
+
+    /**
+     * This method is used to replace the class-level members of {@code Task}, {@code Event} and {@code Budget}
+     * with the tally.
+     */
+    void apply() {
+        Duke.resetStaticVariables();
+        addToExisting();
+    }
+}
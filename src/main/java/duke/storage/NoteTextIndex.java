@@ -0,0 +1,220 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An inverted index from the trigrams of the descriptions of {@code Note} objects to their identifiers,
+ * used to find the notes whose descriptions contain a text without checking every {@code Note} object held.
+ *
+ * Descriptions are normalized to upper case once, when indexed. A text of three or more characters can only
+ * be contained in descriptions holding all its trigrams, so only the notes listed under every trigram
+ * of the text are checked. Shorter texts are checked against every normalized description instead.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteTextIndex {
+
+    //VARIABLES-----------------------------------------
+    private static final int GRAM_LENGTH = 3;
+
+    private final HashMap<Integer, String> texts = new HashMap<>();
+    private final HashMap<Long, Postings> postings = new HashMap<>();
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of notes indexed.
+     *
+     * @return int The number of notes indexed.
+     */
+    int size() {
+        return this.texts.size();
+    }
+
+    /**
+     * This method is used to find the identifiers of all notes whose descriptions contain the text given,
+     * ignoring case.
+     *
+     * @param text The text to be found.
+     * @return ArrayList<Integer> The identifiers of the notes found, in no particular order.
+     */
+    ArrayList<Integer> find(String text) {
+
+        String normalized = normalize(text);
+        ArrayList<Integer> noteIds = new ArrayList<>();
+        if(normalized.length() < GRAM_LENGTH) {
+            for (Map.Entry<Integer, String> entry : this.texts.entrySet()) {
+                if(entry.getValue().contains(normalized)) {
+                    noteIds.add(entry.getKey());
+                }
+            }
+            return noteIds;
+        }
+
+        ArrayList<Postings> lists = new ArrayList<>();
+        for (long gram : gramsOf(normalized)) {
+            Postings list = this.postings.get(gram);
+            if(list == null) {
+                return noteIds;
+            }
+            lists.add(list);
+        }
+        lists.sort((first, second) -> Integer.compare(first.size, second.size));
+
+        Postings shortest = lists.get(0);
+        for (int i = 0; i < shortest.size; i++) {
+            int noteId = shortest.ids[i];
+            boolean isCandidate = true;
+            for (int j = 1; j < lists.size() && isCandidate; j++) {
+                isCandidate = lists.get(j).contains(noteId);
+            }
+            if(isCandidate && this.texts.get(noteId).contains(normalized)) {
+                noteIds.add(noteId);
+            }
+        }
+        return noteIds;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to index the description of a note, replacing any description it was indexed under.
+     *
+     * @param noteId The identifier of the note.
+     * @param description The description of the note.
+     */
+    void put(int noteId, String description) {
+        String normalized = normalize(description);
+        String oldText = this.texts.get(noteId);
+        if(normalized.equals(oldText)) {
+            return;
+        }
+        remove(noteId);
+        this.texts.put(noteId, normalized);
+        for (long gram : gramsOf(normalized)) {
+            this.postings.computeIfAbsent(gram, key -> new Postings()).add(noteId);
+        }
+    }
+
+    /**
+     * This method is used to remove a note from the index, if it is indexed.
+     *
+     * @param noteId The identifier of the note.
+     */
+    void remove(int noteId) {
+        String normalized = this.texts.remove(noteId);
+        if(normalized == null) {
+            return;
+        }
+        for (long gram : gramsOf(normalized)) {
+            Postings list = this.postings.get(gram);
+            if(list != null && list.remove(noteId) && list.size == 0) {
+                this.postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * This method is used to remove all notes from the index.
+     */
+    void clear() {
+        this.texts.clear();
+        this.postings.clear();
+    }
+
+    /**
+     * This method is used to normalize a description or text for comparison, the same way the text filter
+     * of {@code ListCommand} does.
+     *
+     * @param text The description or text.
+     * @return String The text in upper case.
+     */
+    static String normalize(String text) {
+        return text.toUpperCase();
+    }
+
+    /**
+     * This method is used to retrieve the distinct trigrams of a normalized text, each packed into a long.
+     *
+     * @param normalized The normalized text.
+     * @return long[] The distinct trigrams of the text, in ascending order.
+     */
+    private static long[] gramsOf(String normalized) {
+        int count = Math.max(0, normalized.length() - GRAM_LENGTH + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16)
+                    | normalized.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if(i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == count ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+
+    //POSTINGS------------------------------------------
+    /**
+     * A list of the identifiers of the notes holding a trigram, kept in ascending order.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        /**
+         * This method is used to check whether the list holds an identifier.
+         *
+         * @param noteId The identifier.
+         * @return boolean True if the list holds the identifier.
+         */
+        private boolean contains(int noteId) {
+            return Arrays.binarySearch(this.ids, 0, this.size, noteId) >= 0;
+        }
+
+        /**
+         * This method is used to add an identifier to the list, if it does not yet hold it.
+         *
+         * @param noteId The identifier.
+         */
+        private void add(int noteId) {
+            int index = this.size == 0 || this.ids[this.size - 1] < noteId
+                    ? -(this.size + 1)
+                    : Arrays.binarySearch(this.ids, 0, this.size, noteId);
+            if(index >= 0) {
+                return;
+            }
+            index = -(index + 1);
+            if(this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+            this.ids[index] = noteId;
+            this.size++;
+        }
+
+        /**
+         * This method is used to remove an identifier from the list.
+         *
+         * @param noteId The identifier.
+         * @return boolean True if the list held the identifier.
+         */
+        private boolean remove(int noteId) {
+            int index = Arrays.binarySearch(this.ids, 0, this.size, noteId);
+            if(index < 0) {
+                return false;
+            }
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            this.size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * A navigable index of the {@code Note} objects in the {@code DukeList} object that fall on a date,
+ * ordered by that date (i.e. the target date of a deadline, or the start date of an event).
+ *
+ * Notes are held by their identifiers, and notes falling on the same date are ordered by identifier,
+ * i.e. in the order they were added. Finding the k notes that fall between two dates takes O(log n + k) time,
+ * and the notes found are already in order of date.
+ *
+ * @author tanqiuyu
+ * @since 2020-09-16
+ */
+class NoteTimeIndex {
+
+    //VARIABLES-----------------------------------------
+    private final TreeSet<TimeKey> keys = new TreeSet<>();
+    private final HashMap<Integer, TimeKey> keysById = new HashMap<>();
+
+
+    //GET STATEMENTS------------------------------------
+    /**
+     * This method is used to retrieve the number of notes indexed.
+     *
+     * @return int The number of notes indexed.
+     */
+    int size() {
+        return this.keysById.size();
+    }
+
+    /**
+     * This method is used to find the identifiers of all notes that fall strictly between the dates given.
+     *
+     * @param from The date after which notes are found, in epoch milliseconds.
+     * @param to The date before which notes are found, in epoch milliseconds.
+     * @return ArrayList<Integer> The identifiers of the notes found, in order of date.
+     */
+    ArrayList<Integer> findBetween(long from, long to) {
+        ArrayList<Integer> noteIds = new ArrayList<>();
+        if(from >= to) {
+            return noteIds;
+        }
+        for (TimeKey key : this.keys.subSet(new TimeKey(from, Integer.MAX_VALUE), false,
+                new TimeKey(to, Integer.MIN_VALUE), false)) {
+            noteIds.add(key.noteId);
+        }
+        return noteIds;
+    }
+
+    /**
+     * This method is used to find the earliest date at or after the date given on which a note falls.
+     *
+     * @param from The date from which notes are found, in epoch milliseconds.
+     * @return long The earliest date found, in epoch milliseconds, or Long.MAX_VALUE if no note falls on or after it.
+     */
+    long findFirstFrom(long from) {
+        TimeKey key = this.keys.ceiling(new TimeKey(from, Integer.MIN_VALUE));
+        return key == null ? Long.MAX_VALUE : key.time;
+    }
+
+
+    //METHODS-------------------------------------------
+    /**
+     * This method is used to index a note under the date given, replacing any date it was indexed under before.
+     *
+     * @param noteId The identifier of the note.
+     * @param time The date the note falls on, in epoch milliseconds.
+     */
+    void put(int noteId, long time) {
+        remove(noteId);
+        TimeKey key = new TimeKey(time, noteId);
+        this.keys.add(key);
+        this.keysById.put(noteId, key);
+    }
+
+    /**
+     * This method is used to remove a note from the index, if it is indexed.
+     *
+     * @param noteId The identifier of the note.
+     */
+    void remove(int noteId) {
+        TimeKey key = this.keysById.remove(noteId);
+        if(key != null) {
+            this.keys.remove(key);
+        }
+    }
+
+    /**
+     * This method is used to remove all notes from the index.
+     */
+    void clear() {
+        this.keys.clear();
+        this.keysById.clear();
+    }
+
+
+    //KEYS----------------------------------------------
+    /**
+     * A key of the index, holding the date a note falls on and its identifier.
+     */
+    private static final class TimeKey implements Comparable<TimeKey> {
+
+        private final long time;
+        private final int noteId;
+
+        /**
+         * This method is used to construct a {@code TimeKey} object.
+         *
+         * @param time The date the note falls on, in epoch milliseconds.
+         * @param noteId The identifier of the note.
+         */
+        private TimeKey(long time, int noteId) {
+            this.time = time;
+            this.noteId = noteId;
+        }
+
+        /**
+         * This method is used to order keys by date, and then by identifier.
+         *
+         * @param other The key to be compared with.
+         * @return int A negative number, zero or a positive number as this key is ordered before, with or after it.
+         */
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = Long.compare(this.time, other.time);
+            return byTime != 0 ? byTime : Integer.compare(this.noteId, other.noteId);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import duke.commands.CommandException;
 import duke.commands.NoteType;
 import duke.notes.event.Event;
 import duke.notes.task.Task;
+import duke.storage.DukeStorage;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -63,9 +64,21 @@ public interface DukeUI {
                     "\n" +
                     "        #autosave      / #ats >>> Toggle auto-save on or off.\n" +
                     "        #commands      / #cmd >>> List all available Duke's commands.\n" +
+                    "        #commands cache       >>> Show how often listed notes were reused.\n" +
                     "        #exitduke      / #xit >>> Exit Project Duke.\n" +
                     "        #saveduke      / #sav >>> Save Notes to file and archive the last.\n" +
-                    "        #undo          / #und >>> Undo the last save operation.\n" +
+                    "        #settings      / #set >>> Show the storage settings, or change them.\n" +
+                    "          [\u271C] Optional Attributes\n" +
+                    "            Saves that can be Undone      -->  /undo       <0 to 99>\n" +
+                    "            Auto-Save to a Journal        -->  /journal    <on or off>\n" +
+                    "            Saves between Checkpoints     -->  /checkpoint <1 to 999>\n" +
+                    "            Auto-Save Delay               -->  /delay      <0 to 10000 ms>\n" +
+                    "            Saves Forced to Hard Drive    -->  /fsync      <always, batched or never>\n" +
+                    "            Compression Level             -->  /level      <0 to 9>\n" +
+                    "            Compress Full Saves           -->  /compress   <on or off>\n" +
+                    "            Read Notes Only When Reached  -->  /lazy       <on or off, from the next start>\n" +
+                    "            Days Before Notes Are Moved   -->  /coldage    <0 to 3650 or off, from the next start>\n" +
+                    "        #undo          / #und >>> Undo the last save operation, up to %d in a row.\n" +
                     "        #wipeduke      / #wpe >>> Wipe all of Duke's memories and files.\n" +
                     "\n";
 
@@ -112,9 +125,16 @@ public interface DukeUI {
                     "               Completion Status -->    /nf      <O> or <C>\n" +
                     "                                                      O for Outstanding\n" +
                     "                                                      C for Completed\n" +
+                    "                                                      (older ones are listed as\n" +
+                    "                                                      C1, C2... for reference only)\n" +
                     "               Added Date        -->    /added   <dd-MMM-yyyy>\n" +
                     "               Start/Target Date -->    /on      <dd-MMM-yyyy>\n" +
                     "               Description Text  -->    /with    <Search Text>\n" +
+                    "               Notes per Page    -->    /limit   <Number>\n" +
+                    "               Page of Notes     -->    /page    <Page#>\n" +
+                    "               Budget at Least   -->    /min     $<Amount>\n" +
+                    "               Budget at Most    -->    /max     $<Amount>\n" +
+                    "               Largest Budgets   -->    /top     <Number>\n" +
                     "              --------------------------------------------------------\n" +
                     "                   \u2714 Required     \u271C Optional     \u2718 Not Available\n" +
                     "              --------------------------------------------------------\n" +
@@ -128,6 +148,8 @@ public interface DukeUI {
                     "        #listbudgets   / #lbg >>> List budgets set.\n" +
                     "          [\u271C] Completion Status  [\u271C] Added Date\n" +
                     "          [\u271C] Start/Target Date  [\u271C] Description Text\n" +
+                    "          [\u271C] Budget at Least    [\u271C] Budget at Most\n" +
+                    "          [\u271C] Largest Budgets\n" +
                     "        #listdeadlines / #ldl >>> List deadlines.\n" +
                     "          [\u271C] Completion Status  [\u271C] Added Date\n" +
                     "          [\u271C] Start/Target Date  [\u271C] Description Text\n" +
@@ -155,6 +177,9 @@ public interface DukeUI {
                     "        #listweddings  / #lwd >>> List weddings.\n" +
                     "          [\u271C] Completion Status  [\u271C] Added Date\n" +
                     "          [\u271C] Start/Target Date  [\u271C] Description Text\n" +
+                    "        #report        / #rpt >>> Sum up notes and budgets by type and month.\n" +
+                    "        #stats         / #sts >>> Sum up notes and budgets by type.\n" +
+                    "          [\u271C] Grouping  -->  /by  <type> or <month>\n" +
                     "\n";
 
     String DUKE_MGMT =
@@ -415,12 +440,25 @@ public interface DukeUI {
 
     /**
      * This method is used to print the full list of available (@code DukeCommand} object types,
-     * as well as the required formats to call these commands.
+     * as well as the required formats to call these commands, showing the default undo depth.
+     *
+     * @param infoType The type of commands to be listed.
      */
     static void showCommandList(String infoType) {
+        showCommandList(infoType, DukeStorage.DEFAULT_UNDO_DEPTH);
+    }
+
+    /**
+     * This method is used to print the full list of available (@code DukeCommand} object types,
+     * as well as the required formats to call these commands.
+     *
+     * @param infoType The type of commands to be listed.
+     * @param undoDepth The number of saves that could be undone in a row.
+     */
+    static void showCommandList(String infoType, int undoDepth) {
         System.out.println("    What do you need done today?\n");
         switch (infoType) {
-            case "gen" -> System.out.println(DUKE_GENERIC);
+            case "gen" -> System.out.println(String.format(DUKE_GENERIC, undoDepth));
             case "new" -> System.out.println(DUKE_NEW);
             case "info" -> System.out.println(DUKE_INFO);
             case "mgmt" -> System.out.println(DUKE_MGMT);
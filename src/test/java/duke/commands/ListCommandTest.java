@@ -1,16 +1,22 @@
 package duke.commands;
 
+import duke.notes.Note;
 import duke.notes.event.Birthday;
 import duke.notes.event.Event;
 import duke.notes.event.Wedding;
 import duke.notes.task.Bill;
 import duke.notes.task.Shoplist;
+import duke.notes.task.Task;
 import duke.parser.DateException;
 import duke.storage.DukeList;
 import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ListCommandTest {
 
@@ -23,7 +29,7 @@ public class ListCommandTest {
     }
 
     @Test
-    void selectionSortBudgetsTest() {
+    void sortByBudgetTest() {
 
         testNotes = new DukeList();
         ListCommand test = new ListCommand();
@@ -32,29 +38,36 @@ public class ListCommandTest {
                 fromTestStart(4.01), 7522.37, testStart));
         testNotes.getNotes().add(new Wedding(testNotes.getNotes().size()+1, "Wedding test #1",
                 fromTestStart(1.75), fromTestStart(1.93), 668.88, testStart));
-        test.selectionSortBudgets(testNotes.getNotes());
+        test.sortByBudget(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(1).getSerialNum());
 
         testNotes.getNotes().add(new Shoplist(testNotes.getNotes().size()+1, "Shoplist test #0",
                 4800.72, testStart));
-        test.selectionSortBudgets(testNotes.getNotes());
+        test.sortByBudget(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(3, testNotes.getNotes().get(1).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(2).getSerialNum());
 
         testNotes.getNotes().add(new Shoplist(testNotes.getNotes().size()+1, "Shoplist test #5",
                 1440000.34, testStart));
-        test.selectionSortBudgets(testNotes.getNotes());
+        test.sortByBudget(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(3, testNotes.getNotes().get(1).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(2).getSerialNum());
         assertEquals(4, testNotes.getNotes().get(3).getSerialNum());
 
+        testNotes.getNotes().add(new Shoplist(testNotes.getNotes().size()+1, "Shoplist test #-1",
+                12.50, testStart));
+        test.sortByBudget(testNotes.getNotes());
+        assertEquals(5, testNotes.getNotes().get(0).getSerialNum());
+        assertEquals(2, testNotes.getNotes().get(1).getSerialNum());
+        assertEquals(4, testNotes.getNotes().get(4).getSerialNum());
+
     }
 
     @Test
-    void selectionSortDatesTest() throws DateException {
+    void sortByDateTest() throws DateException {
 
         testNotes = new DukeList();
         ListCommand test = new ListCommand();
@@ -63,20 +76,20 @@ public class ListCommandTest {
                 fromTestStart(4.56), fromTestStart(4.62), 358.65, testStart));
         testNotes.getNotes().add(new Wedding(testNotes.getNotes().size()+1, "Wedding test #1",
                 fromTestStart(1.75), fromTestStart(1.93), 668.88, testStart));
-        test.selectionSortDates(testNotes.getNotes());
+        test.sortByDate(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(1).getSerialNum());
 
         testNotes.getNotes().add(new Birthday(testNotes.getNotes().size()+1, "Birthday test #4",
                 fromTestStart(4.18), fromTestStart(4.23), testStart));
-        test.selectionSortDates(testNotes.getNotes());
+        test.sortByDate(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(3, testNotes.getNotes().get(1).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(2).getSerialNum());
 
         testNotes.getNotes().add(new Event(testNotes.getNotes().size()+1, "Event test #4",
                 fromTestStart(4.82), fromTestStart(4.98), testStart));
-        test.selectionSortDates(testNotes.getNotes());
+        test.sortByDate(testNotes.getNotes());
         assertEquals(2, testNotes.getNotes().get(0).getSerialNum());
         assertEquals(3, testNotes.getNotes().get(1).getSerialNum());
         assertEquals(1, testNotes.getNotes().get(2).getSerialNum());
@@ -84,5 +97,107 @@ public class ListCommandTest {
 
     }
 
-}
+    @Test
+    void selectNotesTest() throws CommandException {
+
+        testNotes = new DukeList();
+        ListCommand test = new ListCommand("#listevents", null, null, null, null, 1, 2, 2);
+        ArrayList<Note> selected = new ArrayList<>();
+
+        testNotes.getNotes().add(new Event(testNotes.getNotes().size()+1, "Event test #5",
+                fromTestStart(5.25), fromTestStart(5.50), testStart));
+        testNotes.getNotes().add(new Wedding(testNotes.getNotes().size()+1, "Wedding test #2",
+                fromTestStart(2.25), fromTestStart(2.50), 668.88, testStart));
+        testNotes.getNotes().add(new Bill(testNotes.getNotes().size()+1, "Bill test #1",
+                fromTestStart(1.25), 7522.37, testStart));
+        testNotes.getNotes().add(new Event(testNotes.getNotes().size()+1, "Event test #3",
+                fromTestStart(3.25), fromTestStart(3.50), testStart));
+        testNotes.getNotes().add(new Birthday(testNotes.getNotes().size()+1, "Birthday test #2",
+                fromTestStart(2.25), fromTestStart(2.75), testStart));
+        testNotes.getNotes().add(new Event(testNotes.getNotes().size()+1, "Event test #4",
+                fromTestStart(4.25), fromTestStart(4.50), testStart));
+
+        assertEquals(5, test.selectNotes(testNotes.getNotes(), selected, 3));
+        assertEquals(3, selected.size());
+        assertEquals(2, selected.get(0).getSerialNum());
+        assertEquals(5, selected.get(1).getSerialNum());
+        assertEquals(4, selected.get(2).getSerialNum());
+
+        selected.clear();
+        assertEquals(5, test.selectNotes(testNotes.getNotes(), selected, Integer.MAX_VALUE));
+        assertEquals(5, selected.size());
+        assertEquals(6, selected.get(3).getSerialNum());
+        assertEquals(1, selected.get(4).getSerialNum());
+
+        selected.clear();
+        test = new ListCommand("#listtasks", null, null, null, null, 1, 1, 2);
+        assertEquals(1, test.selectNotes(testNotes.getNotes(), selected, 2));
+        assertEquals(3, selected.get(0).getSerialNum());
+
+    }
+
+    @Test
+    void queryCacheTest() {
 
+        testNotes = new DukeList();
+        QueryCache testCache = new QueryCache(2);
+        long now = testStart.getTime();
+        testNotes.addNote(new Task(testNotes.getNotes().size()+1, "Task test #1", testStart));
+        ArrayList<Note> selected = new ArrayList<>(testNotes.getNotes());
+
+        testCache.put("A", new QueryCache.Result(testNotes, Long.MAX_VALUE, selected, new ArrayList<>(), 1), now);
+        assertEquals(selected, testCache.get("A", testNotes, now).getNotes());
+        assertNull(testCache.get("A", new DukeList(), now));
+
+        testCache.put("B", new QueryCache.Result(testNotes, now + 1000, selected, new ArrayList<>(), 1), now);
+        assertNull(testCache.get("B", testNotes, now + 1000));
+        testCache.put("C", new QueryCache.Result(testNotes, Long.MAX_VALUE, selected, new ArrayList<>(), 1), now);
+        assertEquals(2, testCache.size());
+        assertNull(testCache.get("A", testNotes, now));
+
+        testNotes.addNote(new Task(testNotes.getNotes().size()+1, "Task test #2", testStart));
+        assertNull(testCache.get("C", testNotes, now));
+        assertEquals(1, testCache.getHitCount());
+        assertEquals(4, testCache.getMissCount());
+
+    }
+
+    @Test
+    void noteStatsTest() throws CommandException {
+
+        testNotes = new DukeList();
+        testNotes.addNote(new Bill(testNotes.getNotes().size()+1, "Bill test #1",
+                fromTestStart(1.25), 7522.37, testStart));
+        testNotes.addNote(new Shoplist(testNotes.getNotes().size()+1, "Shoplist test #0",
+                4800.72, testStart));
+        testNotes.addNote(new Shoplist(testNotes.getNotes().size()+1, "Shoplist test #0",
+                12.50, testStart));
+        testNotes.addNote(new Task(testNotes.getNotes().size()+1, "Task test #0", testStart));
+        testNotes.getNotes().get(1).getBudgetObject().setBudgetUsed(5000.00);
+        ArrayList<Note> coldNotes = new ArrayList<>();
+        coldNotes.add(new Task(testNotes.getNotes().size()+1, "Task test #0", testStart));
+
+        NoteStats stats = new NoteStats(testNotes.getNotes(), coldNotes);
+        assertEquals(5, stats.size());
+        NoteStats.Tally tally = stats.tallyByType();
+        int shoplists = NoteType.SHOPLIST.ordinal();
+        assertEquals(2, tally.getOutstandingCount(shoplists));
+        assertEquals(1, tally.getOverBudgetCount(shoplists));
+        assertEquals(4813.22, tally.getBudget(shoplists), 0.001);
+        assertEquals(5000.00, tally.getBudgetUsed(shoplists), 0.001);
+        assertEquals(-199.28, tally.getBudgetBalance(shoplists), 0.001);
+        assertEquals(2, tally.getOutstandingCount(NoteType.TASK.ordinal()));
+        assertEquals(0, tally.getOutstandingCount(NoteType.EVENT.ordinal()));
+
+        tally = stats.tallyByMonth();
+        int outstanding = 0;
+        for (int group = 0; group < tally.getGroupCount(); group++) {
+            outstanding += tally.getOutstandingCount(group);
+        }
+        assertEquals(5, outstanding);
+        assertEquals(LocalDate.ofInstant(testStart.toInstant(), ZoneId.systemDefault()).withDayOfMonth(1),
+                stats.getMonth(0));
+
+    }
+
+}
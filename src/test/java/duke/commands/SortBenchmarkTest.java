@@ -0,0 +1,111 @@
+package duke.commands;
+
+import duke.notes.Note;
+import duke.notes.event.Event;
+import duke.notes.event.Wedding;
+import duke.parser.DateException;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SortBenchmarkTest {
+
+    protected static final int RUNS = 3;
+
+    protected static ArrayList<Note> createTestWeddings(int noteCount) {
+        ArrayList<Note> testWeddings = new ArrayList<>(noteCount);
+        Random random = new Random(1);
+        Date now = new Date();
+        for (int i = 0; i < noteCount; i++) {
+            long start = now.getTime() + 86400000L + (long) (random.nextDouble() * 365 * 86400000L);
+            testWeddings.add(new Wedding(i + 1, "Wedding test #" + i, new Date(start),
+                    new Date(start + 3600000L), random.nextDouble() * 10000, now));
+        }
+        return testWeddings;
+    }
+
+    protected static void oldSortBudgets(ArrayList<Note> budgets) {
+        if(budgets.size() > 1) {
+            double budgetI = budgets.get(budgets.size()-1).getBudgetObject().getBudgetRevised();
+            for (int i = budgets.size()-1; i > 0; i--) {
+                double budgetJ = budgets.get(i-1).getBudgetObject().getBudgetRevised();
+                if (budgetI < budgetJ) {
+                    Note temp = budgets.get(i);
+                    budgets.set(i, budgets.get(i-1));
+                    budgets.set(i-1, temp);
+                }
+            }
+        }
+    }
+
+    protected static void oldSortDates(ArrayList<Note> notes) {
+        if(notes.size() > 1) {
+            Date dateI = ((Event) notes.get(notes.size()-1)).getStartDate();
+            for (int i = notes.size()-1; i > 0; i--) {
+                Date dateJ = ((Event) notes.get(i-1)).getStartDate();
+                if (dateI.before(dateJ)) {
+                    Note temp = notes.get(i);
+                    notes.set(i, notes.get(i-1));
+                    notes.set(i-1, temp);
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @Disabled("Benchmark, run by hand.")
+    void sortBenchmark() throws DateException {
+
+        ListCommand test = new ListCommand();
+        for (int noteCount : new int[]{ 10000, 100000 }) {
+            ArrayList<Note> testWeddings = createTestWeddings(noteCount);
+            long oldDates = 0;
+            long oldBudgets = 0;
+            long newDates = 0;
+            long newBudgets = 0;
+
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                ArrayList<Note> oldByDate = new ArrayList<>(noteCount);
+                for (Note note : testWeddings) {
+                    oldByDate.add(note);
+                    oldSortDates(oldByDate);
+                }
+                oldDates = oldDates + System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ArrayList<Note> oldByBudget = new ArrayList<>(noteCount);
+                for (Note note : testWeddings) {
+                    oldByBudget.add(note);
+                    oldSortBudgets(oldByBudget);
+                }
+                oldBudgets = oldBudgets + System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ArrayList<Note> newByDate = new ArrayList<>(testWeddings);
+                test.sortByDate(newByDate);
+                newDates = newDates + System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ArrayList<Note> newByBudget = new ArrayList<>(testWeddings);
+                test.sortByBudget(newByBudget);
+                newBudgets = newBudgets + System.nanoTime() - start;
+
+                assertEquals(oldByDate, newByDate);
+                for (int i = 1; i < noteCount; i++) {
+                    assertEquals(true, newByBudget.get(i-1).getBudgetObject().getBudgetRevised()
+                            <= newByBudget.get(i).getBudgetObject().getBudgetRevised());
+                }
+            }
+            System.out.printf("%d notes: by date %.1f ms -> %.1f ms, by budget %.1f ms -> %.1f ms%n", noteCount,
+                    oldDates / 1e6 / RUNS, newDates / 1e6 / RUNS, oldBudgets / 1e6 / RUNS, newBudgets / 1e6 / RUNS);
+        }
+    }
+}
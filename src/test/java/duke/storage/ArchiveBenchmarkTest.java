@@ -0,0 +1,89 @@
+package duke.storage;
+
+import duke.notes.Note;
+import duke.notes.event.Wedding;
+import duke.notes.task.Deadline;
+import duke.notes.task.Task;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArchiveBenchmarkTest {
+
+    protected static final int RUNS = 30;
+
+    protected static File writeLegacyFile(File testDir, int noteCount) throws IOException {
+        DukeStorage testStorage = new DukeStorage();
+        Date now = new Date();
+        File testFile = new File(testDir, "legacy_" + noteCount + ".txt");
+        try (FileWriter fw = new FileWriter(testFile, false)) {
+            for (int i = 0; i < noteCount; i++) {
+                Note testNote = switch (i % 3) {
+                    case 0 -> new Task(i + 1, "Buy groceries #" + i, now);
+                    case 1 -> new Deadline(i + 1, "Hand in report #" + i, new Date(now.getTime() + 86400000L), now);
+                    default -> new Wedding(i + 1, "Wedding #" + i, new Date(now.getTime() + 86400000L),
+                            new Date(now.getTime() + 90000000L), 567.23, now);
+                };
+                fw.write(testStorage.encodeText(testNote.getSaveText()) + "\n");
+            }
+        }
+        return testFile;
+    }
+
+    protected static void copyWithScanner(File fromFile, File toFile) throws IOException {
+        try (Scanner read = new Scanner(fromFile); FileWriter fw = new FileWriter(toFile, false)) {
+            while(read.hasNext()) {
+                fw.write(read.nextLine() + "\n");
+            }
+        }
+    }
+
+    @Test
+    @Disabled("Benchmark, run by hand.")
+    void restoreBenchmark(@TempDir File testDir) throws IOException {
+
+        for (int noteCount : new int[]{ 25000, 75000, 150000 }) {
+            File testFile = writeLegacyFile(testDir, noteCount);
+            File scannerCopy = new File(testDir, "scanner_copy.txt");
+            File restoredCopy = new File(testDir, "restored_copy.txt");
+            ByteBuffer testContents = DukeStorage.readBytes(testFile);
+
+            DukeArchive testArchive = new DukeArchive(testDir);
+            long start = System.nanoTime();
+            ByteBuffer testManifest = null;
+            for (int i = 0; i < RUNS; i++) {
+                testManifest = testArchive.snapshot(testContents.duplicate(), ByteBuffer.allocate(0), 1,
+                        DukeStorage.DEFAULT_COMPRESSION_LEVEL, false);
+            }
+            long archiveTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                copyWithScanner(testFile, scannerCopy);
+            }
+            long scannerTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                testArchive.restoreFile(testManifest, restoredCopy, false);
+            }
+            long restoreTime = System.nanoTime() - start;
+
+            assertEquals(testContents, DukeStorage.readBytes(scannerCopy));
+            assertEquals(testContents, DukeStorage.readBytes(restoredCopy));
+            System.out.printf("%.1f MB: Scanner/FileWriter copy %.1f ms, archive %.1f ms, restore %.1f ms%n",
+                    testFile.length() / 1048576.0, scannerTime / 1e6 / RUNS, archiveTime / 1e6 / RUNS,
+                    restoreTime / 1e6 / RUNS);
+            testArchive.getPack().delete();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package duke.storage;
+
+import duke.notes.Note;
+import duke.notes.event.Event;
+import duke.notes.task.Deadline;
+import duke.notes.task.Shoplist;
+import duke.notes.task.Task;
+import duke.parser.DateException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DukeListTest {
+
+    @Test
+    void stableNoteIdTest() {
+
+        DukeList testNotes = new DukeList();
+        for(int i = 1; i <= 4; i++) {
+            testNotes.addNote(new Task(i, "Task " + i, new Date()));
+        }
+        int noteId = testNotes.findNote(4).getNoteId();
+        assertEquals(3, testNotes.findIndexById(noteId));
+
+        testNotes.removeNote(testNotes.findIndexById(testNotes.findNote(2).getNoteId()));
+        assertEquals(2, testNotes.findIndexById(noteId));
+        assertEquals("Task 4", testNotes.findNote(3).getDescription());
+        assertEquals(3, testNotes.getNotes().get(2).getSerialNum());
+        assertEquals(-1, testNotes.findIndex(4));
+    }
+
+    @Test
+    void eventClashTest() {
+
+        DukeList testNotes = new DukeList();
+        long start = new Date().getTime() + 86400000;
+        Event lunch = new Event(1, "Lunch", new Date(start), new Date(start + 3600000), new Date());
+        Event dinner = new Event(2, "Dinner", new Date(start + 28800000), new Date(start + 32400000), new Date());
+        testNotes.addNote(lunch);
+        testNotes.addNote(dinner);
+
+        assertEquals(lunch, testNotes.findClash(new Date(start + 1800000), new Date(start + 5400000), null));
+        assertEquals(dinner, testNotes.findClash(new Date(start), new Date(start + 28800000), lunch));
+        assertNull(testNotes.findClash(new Date(start + 3600001), new Date(start + 28799999), null));
+
+        testNotes.removeNote(0);
+        assertNull(testNotes.findClash(new Date(start), new Date(start + 3600000), null));
+    }
+
+    @Test
+    void notesBetweenTest() throws DateException {
+
+        DukeList testNotes = new DukeList();
+        long start = new Date().getTime();
+        Deadline later = new Deadline(1, "Later", new Date(start + 7200000), new Date());
+        Event sooner = new Event(2, "Sooner", new Date(start + 3600000), new Date(start + 5400000), new Date());
+        testNotes.addNote(later);
+        testNotes.addNote(new Task(3, "Undated", new Date()));
+        testNotes.addNote(sooner);
+
+        ArrayList<Note> found = testNotes.findNotesBetween(new Date(start), new Date(start + 86400000));
+        assertEquals(2, found.size());
+        assertEquals(sooner, found.get(0));
+        assertEquals(later, found.get(1));
+
+        later.setTargetDate(new Date(start + 172800000));
+        testNotes.updateNote(later);
+        assertEquals(1, testNotes.findNotesBetween(new Date(start), new Date(start + 86400000)).size());
+    }
+
+    @Test
+    void notesWithTextTest() {
+
+        DukeList testNotes = new DukeList();
+        Note apples = new Task(1, "Buy Apples", new Date());
+        Note pie = new Task(2, "Pineapple pie", new Date());
+        testNotes.addNote(apples);
+        testNotes.addNote(pie);
+        testNotes.addNote(new Task(3, "Call home", new Date()));
+        assertEquals(2, testNotes.findNotesWith("apple").size());
+        assertEquals(pie, testNotes.findNotesWith("EAP").get(0));
+        assertEquals(3, testNotes.findNotesWith("l").size());
+
+        apples.setDescription("Buy pears");
+        testNotes.updateNote(apples);
+        testNotes.removeNote(1);
+        assertEquals(0, testNotes.findNotesWith("apple").size());
+        assertEquals(apples, testNotes.findNotesWith("PEAR").get(0));
+    }
+
+    @Test
+    void versionAndNextDateTest() throws DateException {
+
+        DukeList testNotes = new DukeList();
+        long start = new Date().getTime();
+        long version = testNotes.getVersion();
+        Deadline deadline = new Deadline(1, "Deadline", new Date(start + 7200000), new Date());
+        testNotes.addNote(deadline);
+        testNotes.addNote(new Event(2, "Event", new Date(start + 3600000), new Date(start + 5400000), new Date()));
+        assertTrue(testNotes.getVersion() > version);
+        assertEquals(start + 3600000, testNotes.findNextDate(new Date(start)).getTime());
+        assertEquals(start + 7200000, testNotes.findNextDate(new Date(start + 3600001)).getTime());
+        assertNull(testNotes.findNextDate(new Date(start + 7200001)));
+
+        version = testNotes.getVersion();
+        deadline.setTargetDate(new Date(start + 1800000));
+        testNotes.updateNote(deadline);
+        assertTrue(testNotes.getVersion() > version);
+        assertEquals(start + 1800000, testNotes.findNextDate(new Date(start)).getTime());
+
+        version = testNotes.getVersion();
+        testNotes.removeNote(0);
+        assertTrue(testNotes.getVersion() > version);
+        assertEquals(start + 3600000, testNotes.findNextDate(new Date(start)).getTime());
+    }
+
+    @Test
+    void upcomingAgendaTest() throws DateException {
+
+        DukeList testNotes = new DukeList();
+        long start = new Date().getTime() + 86400000L;
+        Deadline deadline = new Deadline(1, "Deadline", new Date(start + 7200000), new Date());
+        testNotes.addNote(deadline);
+        testNotes.addNote(new Event(2, "Event", new Date(start + 3600000), new Date(start + 5400000), new Date()));
+        testNotes.addNote(new Task(3, "Task", new Date()));
+        testNotes.addNote(new Deadline(4, "Deadline", new Date(start + 89000000), new Date()));
+
+        ArrayList<Note> upcoming = testNotes.findUpcoming(new Date(start), new Date(start + 86400000));
+        assertEquals(2, upcoming.size());
+        assertEquals("Event", upcoming.get(0).getDescription());
+        assertEquals("Deadline", upcoming.get(1).getDescription());
+
+        assertEquals(1, testNotes.findUpcoming(new Date(start + 3600000), new Date(start + 86400000)).size());
+        assertEquals(2, testNotes.findUpcoming(new Date(start + 3600000), new Date(start + 3600000 + 86400000))
+                .size());
+
+        deadline.setTargetDate(new Date(start + 3700000));
+        testNotes.updateNote(deadline);
+        testNotes.addNote(new Deadline(5, "Deadline", new Date(start + 3800000), new Date()));
+        upcoming = testNotes.findUpcoming(new Date(start + 3600000), new Date(start + 86400000));
+        assertEquals(2, upcoming.size());
+        assertEquals(start + 3800000, ((Deadline) upcoming.get(1)).getTargetDate().getTime());
+
+        testNotes.removeNote(0);
+        assertEquals(1, testNotes.findUpcoming(new Date(start + 3600000), new Date(start + 86400000)).size());
+        assertEquals(testNotes.findNotesBetween(new Date(start), new Date(start + 86400000L * 2)),
+                testNotes.findUpcoming(new Date(start), new Date(start + 86400000L * 2)));
+    }
+
+    @Test
+    void budgetIndexTest() {
+
+        DukeList testNotes = new DukeList();
+        Date now = new Date();
+        testNotes.addNote(new Shoplist(1, "Milk", 12.50, now));
+        testNotes.addNote(new Shoplist(2, "Television", 800.00, now));
+        testNotes.addNote(new Task(3, "Task", now));
+        testNotes.addNote(new Shoplist(4, "Bread", 800.00, now));
+
+        ArrayList<Note> found = testNotes.findBudgetsBetween(100, 1000, Integer.MAX_VALUE, false);
+        assertEquals(2, found.size());
+        assertEquals("Television", found.get(0).getDescription());
+        assertEquals("Bread", found.get(1).getDescription());
+        found = testNotes.findBudgetsBetween(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 2, true);
+        assertEquals("Television", found.get(0).getDescription());
+        assertEquals("Bread", found.get(1).getDescription());
+
+        Note milk = testNotes.getNotes().get(0);
+        milk.getBudgetObject().transferBudgetOut(10.00, testNotes.getNotes().get(3).getBudgetObject());
+        testNotes.updateNote(milk);
+        testNotes.updateNote(testNotes.getNotes().get(3));
+        testNotes.addNote(new Shoplist(5, "Eggs", 5.00, now));
+        found = testNotes.findBudgetsBetween(Double.NEGATIVE_INFINITY, 10, Integer.MAX_VALUE, false);
+        assertEquals("Milk", found.get(0).getDescription());
+        assertEquals("Eggs", found.get(1).getDescription());
+        assertEquals("Bread", testNotes.findBudgetsBetween(0, Double.POSITIVE_INFINITY, 1, true)
+                .get(0).getDescription());
+
+        testNotes.removeNote(3);
+        found = testNotes.findBudgetsBetween(0, Double.POSITIVE_INFINITY, Integer.MAX_VALUE, true);
+        assertEquals(3, found.size());
+        assertEquals("Television", found.get(0).getDescription());
+        assertEquals("Milk", found.get(2).getDescription());
+    }
+}
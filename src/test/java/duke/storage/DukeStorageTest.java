@@ -1,13 +1,47 @@
 package duke.storage;
 
+import duke.notes.Note;
+import duke.notes.event.Wedding;
+import duke.notes.task.Shoplist;
+import duke.notes.task.Task;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DukeStorageTest {
 
     final String testText = "Wedding/16/James & Jamie/08-Sep-2020 03:12/true/29-Sep-2020 18:30/" +
             "29-Sep-2020 23:30/300/567.23/567.23/567.23/0.0/false/false/08-Sep-2020 03:45\n";
 
+    protected static DukeList createTestNotes() {
+        DukeList testNotes = new DukeList();
+        for (int i = 0; i < 100; i++) {
+            testNotes.getNotes().add(new Task(i + 1, "Buy groceries #" + i, new Date()));
+        }
+        return testNotes;
+    }
+
+    protected static ByteBuffer saveTestNotes(DukeStorage testStorage, DukeList testNotes, File testDir)
+            throws IOException {
+        testStorage.writeToFile(testNotes);
+        return DukeStorage.readBytes(new File(testDir, "notes.txt"));
+    }
+
     @Test
     void encodeAndDecodeTest() {
 
@@ -16,5 +50,416 @@ public class DukeStorageTest {
         String decodedText = testStorage.decodeText(encodedText);
         assertEquals(testText, decodedText);
     }
-}
 
+    @Test
+    void binaryEncodeAndDecodeTest() {
+
+        Date testStart = new Date();
+        Note testNote = new Wedding(16, "James & Jamie", new Date(testStart.getTime() + 86400000),
+                new Date(testStart.getTime() + 90000000), 567.23, testStart);
+        byte[] encodedNote = DukeCodec.encodeNote(testNote);
+        Note decodedNote = DukeCodec.decodeNote(ByteBuffer.wrap(encodedNote));
+        assertEquals(testNote.getSaveText(), decodedNote.getSaveText());
+    }
+
+    @Test
+    void pendingRecordsTest() {
+
+        DukeList testNotes = new DukeList();
+        Note testNote = new Task(1, "Buy groceries", new Date());
+        testNotes.getNotes().add(testNote);
+        testNotes.updateNote(testNote);
+        assertEquals(0, testNotes.getPendingRecords().size());
+
+        testNote.setDescription("Buy more groceries");
+        testNote.setDescription("Buy even more groceries");
+        testNotes.updateNote(testNote);
+        testNotes.updateNote(testNote);
+        assertEquals(1, testNotes.getPendingRecords().size());
+
+        testNotes.clearPendingRecords();
+        assertEquals(0, testNotes.getPendingRecords().size());
+    }
+
+    @Test
+    void archiveDeduplicationTest(@TempDir File testDir) throws IOException {
+
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        ByteBuffer testContents = saveTestNotes(testStorage, createTestNotes(), testDir);
+
+        DukeArchive testArchive = new DukeArchive(testDir);
+        ByteBuffer firstManifest = testArchive.snapshot(testContents.duplicate(), ByteBuffer.allocate(0), 1,
+                DukeStorage.DEFAULT_COMPRESSION_LEVEL, false);
+        long packLength = testArchive.getPack().length();
+        ByteBuffer secondManifest = testArchive.snapshot(testContents.duplicate(), ByteBuffer.allocate(0), 1,
+                DukeStorage.DEFAULT_COMPRESSION_LEVEL, false);
+        assertEquals(packLength, testArchive.getPack().length());
+        assertEquals(firstManifest, secondManifest);
+
+        File testFile = new File(testDir, "restored.txt");
+        File testJournal = new File(testDir, "restored.journal");
+        testArchive.restoreFile(secondManifest, testFile, false);
+        testArchive.restoreJournal(secondManifest, testJournal, false);
+        assertEquals(testContents, DukeStorage.readBytes(testFile));
+        assertEquals(0, testJournal.length());
+    }
+
+    @Test
+    void truncatedPackTest(@TempDir File testDir) throws IOException {
+
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        ByteBuffer testContents = saveTestNotes(testStorage, createTestNotes(), testDir);
+        ByteBuffer testManifest = new DukeArchive(testDir).snapshot(testContents.duplicate(), ByteBuffer.allocate(0),
+                1, DukeStorage.DEFAULT_COMPRESSION_LEVEL, false);
+        File testPack = new File(testDir, DukeArchive.PACK_NAME);
+        try (RandomAccessFile raf = new RandomAccessFile(testPack, "rw")) {
+            raf.setLength(testPack.length() - 1);
+        }
+
+        DukeArchive testArchive = new DukeArchive(testDir);
+        File testFile = new File(testDir, "restored.txt");
+        assertThrows(IOException.class, () -> testArchive.restoreFile(testManifest, testFile, false));
+        assertEquals(DukeCodec.HEADER_LENGTH, testPack.length());
+
+        ByteBuffer newManifest = testArchive.snapshot(testContents.duplicate(), ByteBuffer.allocate(0), 1,
+                DukeStorage.DEFAULT_COMPRESSION_LEVEL, false);
+        testArchive.restoreFile(newManifest, testFile, false);
+        assertEquals(testContents, DukeStorage.readBytes(testFile));
+    }
+
+    @Test
+    void compressedSaveTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        testStorage.setCompressedSaves(true);
+        ByteBuffer testContents = saveTestNotes(testStorage, testNotes, testDir);
+        assertEquals(DukeCodec.FLAG_DEFLATED, DukeCodec.getFlags(testContents));
+
+        ArrayList<Note> readNotes = testStorage.readFromFile();
+        assertEquals(testNotes.getNotes().size(), readNotes.size());
+        assertEquals(testNotes.getNotes().get(99).getSaveText(), readNotes.get(99).getSaveText());
+    }
+
+    @Test
+    void truncatedCompressedSaveTest(@TempDir File testDir) throws IOException {
+
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        testStorage.setCompressedSaves(true);
+        saveTestNotes(testStorage, createTestNotes(), testDir);
+        File testFile = new File(testDir, "notes.txt");
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw")) {
+            raf.setLength(testFile.length() - 8);
+        }
+
+        assertThrows(ParseException.class, () -> new DukeStorage(testFile.getPath()).readFromFile());
+    }
+
+    @Test
+    void lazyLoadingTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        testStorage.setLazyLoading(true);
+        ArrayList<Note> readNotes = testStorage.readFromFile();
+        assertEquals(100, Task.getTasksOutstanding());
+
+        LazyNoteList lazyNotes = (LazyNoteList) readNotes;
+        assertEquals(100, lazyNotes.getUnreadCount());
+        assertEquals(testNotes.getNotes().get(41).getSaveText(), readNotes.get(41).getSaveText());
+        assertEquals(99, lazyNotes.getUnreadCount());
+        assertEquals(100, Task.getTasksOutstanding());
+
+        ArrayList<?> copiedNotes = (ArrayList<?>) lazyNotes.clone();
+        assertEquals(0, lazyNotes.getUnreadCount());
+        assertEquals(ArrayList.class, copiedNotes.getClass());
+        assertEquals(testNotes.getNotes().get(7).getSaveText(), ((Note) copiedNotes.get(7)).getSaveText());
+        assertEquals(100, Task.getTasksOutstanding());
+    }
+
+    @Test
+    void corruptLazyRecordTest(@TempDir File testDir) throws IOException {
+
+        byte[] testRecord = DukeCodec.encodeNote(new Shoplist(1, "Milk", 12.50, new Date()));
+        ByteBuffer testContents = ByteBuffer.allocate(DukeCodec.HEADER_LENGTH + testRecord.length);
+        DukeCodec.writeHeader(testContents, DukeCodec.MAGIC, 1);
+        DukeCodec.putVarInt(testContents, testRecord.length - 1);
+        testContents.put(testRecord, 0, testRecord.length - 1);
+        File testFile = new File(testDir, "notes.txt");
+        Files.write(testFile.toPath(), Arrays.copyOf(testContents.array(), testContents.position()));
+
+        DukeStorage testStorage = new DukeStorage(testFile.getPath());
+        testStorage.setLazyLoading(true);
+        assertThrows(ParseException.class, testStorage::readFromFile);
+    }
+
+    @Test
+    void corruptEagerRecordTest(@TempDir File testDir) throws IOException, ParseException {
+
+        byte[] testRecord = DukeCodec.encodeNote(new Task(1, "Buy groceries", new Date()));
+        byte[] corruptRecord = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        ByteBuffer testContents = ByteBuffer.allocate(DukeCodec.HEADER_LENGTH + 2 * DukeStorage.MAX_VARINT_LENGTH
+                + testRecord.length + corruptRecord.length);
+        DukeCodec.writeHeader(testContents, DukeCodec.MAGIC, 1);
+        DukeCodec.putVarInt(testContents, testRecord.length);
+        testContents.put(testRecord);
+        DukeCodec.putVarInt(testContents, corruptRecord.length);
+        testContents.put(corruptRecord);
+        File testFile = new File(testDir, "notes.txt");
+        Files.write(testFile.toPath(), Arrays.copyOf(testContents.array(), testContents.position()));
+
+        DukeStorage testStorage = new DukeStorage(testFile.getPath());
+        testStorage.setLazyLoading(false);
+        testStorage.setColdAgeDays(-1);
+        int tasksOutstanding = Task.getTasksOutstanding();
+        ParseException e = assertThrows(ParseException.class, testStorage::readFromFile);
+        assertEquals(1, e.getErrorOffset());
+        assertEquals(tasksOutstanding, Task.getTasksOutstanding());
+    }
+
+    @Test
+    void unknownLegacyNoteTest(@TempDir File testDir) throws IOException {
+
+        DukeStorage testStorage = new DukeStorage();
+        String testLines = testStorage.encodeText(testText) + "\n"
+                + testStorage.encodeText(testText.replace("Wedding/", "Party/")) + "\n";
+        File testFile = new File(testDir, "notes.txt");
+        Files.writeString(testFile.toPath(), testLines);
+
+        ParseException e = assertThrows(ParseException.class,
+                () -> new DukeStorage(testFile.getPath()).readFromFile());
+        assertEquals(1, e.getErrorOffset());
+    }
+
+    @Test
+    void coldTieringTest(@TempDir File testDir) throws IOException, ParseException {
+
+        Date testStart = new Date();
+        Date longAgo = new Date(testStart.getTime() - 60 * 86400000L);
+        DukeList testNotes = new DukeList();
+        for (int i = 0; i < 100; i++) {
+            testNotes.getNotes().add(i % 2 == 0
+                    ? new Task(i + 1, "Buy groceries #" + i, longAgo, longAgo, true)
+                    : new Task(i + 1, "Buy groceries #" + i, longAgo, false));
+        }
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        ArrayList<Note> readNotes = testStorage.readFromFile();
+        assertEquals(50, readNotes.size());
+        assertEquals(50, Task.getTasksCompleted());
+        assertEquals(50, Task.getTasksOutstanding());
+
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        assertEquals(50, restartedStorage.readFromFile().size());
+        assertEquals(50, Task.getTasksCompleted());
+        ArrayList<Note> coldNotes = restartedStorage.readColdNotes();
+        assertEquals(50, coldNotes.size());
+        assertEquals("Buy groceries #0", coldNotes.get(0).getDescription());
+        assertEquals(50, Task.getTasksCompleted());
+    }
+
+    @Test
+    void tornColdSegmentTest(@TempDir File testDir) throws IOException, ParseException {
+
+        Date longAgo = new Date(new Date().getTime() - 60 * 86400000L);
+        DukeList testNotes = new DukeList();
+        for (int i = 0; i < 100; i++) {
+            testNotes.getNotes().add(i % 2 == 0
+                    ? new Task(i + 1, "Buy groceries #" + i, longAgo, longAgo, true)
+                    : new Task(i + 1, "Buy groceries #" + i, longAgo, false));
+        }
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        assertEquals(50, testStorage.readFromFile().size());
+
+        File testCold = new File(testDir, "notes.cold");
+        byte[] testSegment = Files.readAllBytes(testCold.toPath());
+        long coldLength = testCold.length();
+        try (RandomAccessFile raf = new RandomAccessFile(testCold, "rw")) {
+            raf.seek(coldLength);
+            raf.write(testSegment, DukeCodec.HEADER_LENGTH, testSegment.length - DukeCodec.HEADER_LENGTH - 5);
+        }
+
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        assertEquals(50, restartedStorage.readFromFile().size());
+        assertEquals(50, Task.getTasksCompleted());
+        assertEquals(coldLength, testCold.length());
+        assertEquals(50, restartedStorage.readColdNotes().size());
+    }
+
+    @Test
+    void journalReplayTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        testNotes.addNote(new Task(101, "Buy groceries #100", new Date()));
+        testStorage.appendToJournal(testNotes);
+        Note testNote = testNotes.getNotes().get(4);
+        testNote.setDescription("Buy more groceries #4");
+        testNotes.updateNote(testNote);
+        testStorage.appendToJournal(testNotes);
+        assertEquals(2, testStorage.getJournalSize());
+
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        ArrayList<Note> readNotes = restartedStorage.readFromFile();
+        assertEquals(101, readNotes.size());
+        assertEquals("Buy more groceries #4", readNotes.get(4).getDescription());
+        assertEquals("Buy groceries #100", readNotes.get(100).getDescription());
+        assertEquals(2, restartedStorage.getJournalSize());
+    }
+
+    @Test
+    void tornJournalTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        testNotes.addNote(new Task(101, "Buy groceries #100", new Date()));
+        testStorage.appendToJournal(testNotes);
+        File testJournal = new File(testDir, "notes.journal");
+        long committedLength = testJournal.length();
+        testNotes.addNote(new Task(102, "Buy groceries #101", new Date()));
+        testStorage.appendToJournal(testNotes);
+        try (RandomAccessFile raf = new RandomAccessFile(testJournal, "rw")) {
+            raf.setLength(testJournal.length() - 1);
+        }
+
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        assertEquals(101, restartedStorage.readFromFile().size());
+        assertEquals(1, restartedStorage.getJournalSize());
+        assertEquals(committedLength, testJournal.length());
+    }
+
+    @Test
+    void journalCheckpointTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        testStorage.setCheckpointInterval(2);
+        saveTestNotes(testStorage, testNotes, testDir);
+        for (int i = 100; i < 103; i++) {
+            testNotes.addNote(new Task(i + 1, "Buy groceries #" + i, new Date()));
+            testStorage.appendToJournal(testNotes);
+        }
+        assertEquals(0, testStorage.getJournalSize());
+        assertEquals(0, new File(testDir, "notes.journal").length());
+
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        ArrayList<Note> readNotes = restartedStorage.readFromFile();
+        assertEquals(103, readNotes.size());
+        assertEquals("Buy groceries #102", readNotes.get(102).getDescription());
+    }
+
+    @Test
+    void backgroundSaveTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        testStorage.setJournalMode(false);
+        testStorage.setSaveDelay(500);
+        for (int i = 100; i < 103; i++) {
+            testNotes.addNote(new Task(i + 1, "Buy groceries #" + i, new Date()));
+            assertTrue(testStorage.saveInBackground(testNotes));
+        }
+        assertTrue(testStorage.flushSaves(testNotes));
+        assertEquals(103, new DukeStorage(testDir.getPath() + "/notes.txt").readFromFile().size());
+
+        assertEquals(0, testStorage.revertToLastSave(testNotes));
+        assertEquals(100, testNotes.getNotes().size());
+    }
+
+    @Test
+    void backgroundSaveFailureTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        saveTestNotes(testStorage, testNotes, testDir);
+        testStorage.setJournalMode(false);
+        File testTemp = DukeStorage.tempFileOf(new File(testDir, "notes.txt"));
+        assertTrue(testTemp.mkdir());
+
+        testNotes.addNote(new Task(101, "Buy groceries #100", new Date()));
+        assertTrue(testStorage.saveInBackground(testNotes));
+        assertFalse(testStorage.flushSaves(testNotes));
+        assertTrue(testStorage.saveInBackground(testNotes));
+        assertThrows(IOException.class, () -> testStorage.writeToFile(testNotes));
+        assertTrue(testTemp.delete());
+        assertFalse(testStorage.saveInBackground(testNotes));
+
+        assertTrue(testStorage.flushSaves(testNotes));
+        assertEquals(101, new DukeStorage(testDir.getPath() + "/notes.txt").readFromFile().size());
+    }
+
+    @Test
+    void atomicWriteTest(@TempDir File testDir) throws IOException, ParseException {
+
+        for (FsyncPolicy testPolicy : FsyncPolicy.values()) {
+            File testFile = new File(testDir, testPolicy + ".txt");
+            File testTemp = DukeStorage.tempFileOf(testFile);
+            Files.writeString(testTemp.toPath(), "A save torn by a crash");
+
+            DukeList testNotes = createTestNotes();
+            DukeStorage testStorage = new DukeStorage(testFile.getPath());
+            testStorage.setFsyncPolicy(testPolicy);
+            assertThrows(FileNotFoundException.class, testStorage::readFromFile);
+            testStorage.writeToFile(testNotes);
+            assertFalse(testTemp.exists());
+            testNotes.addNote(new Task(101, "Buy groceries #100", new Date()));
+            testStorage.appendToJournal(testNotes);
+            testStorage.flushSaves(testNotes);
+
+            assertEquals(101, new DukeStorage(testFile.getPath()).readFromFile().size());
+        }
+    }
+
+    @Test
+    void manualSaveUndoTest(@TempDir File testDir) throws IOException, ParseException {
+
+        DukeList testNotes = createTestNotes();
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        testStorage.archiveToFile();
+        testStorage.writeToFile(testNotes);
+        testNotes.addNote(new Task(101, "Buy groceries #100", new Date()));
+        testStorage.archiveToFile();
+        testStorage.writeToFile(testNotes);
+
+        assertEquals(1, testStorage.revertToLastSave(testNotes));
+        assertEquals(100, testNotes.getNotes().size());
+        assertEquals(0, testStorage.revertToLastSave(testNotes));
+        assertEquals(0, testNotes.getNotes().size());
+        assertEquals(-1, testStorage.revertToLastSave(testNotes));
+    }
+
+    @Test
+    void storageSettingsTest(@TempDir File testDir) throws IOException {
+
+        DukeStorage testStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        assertEquals(DukeStorage.DEFAULT_UNDO_DEPTH, testStorage.getUndoDepth());
+        testStorage.setUndoDepth(5);
+        testStorage.setJournalMode(false);
+        testStorage.setCheckpointInterval(8);
+        testStorage.setSaveDelay(250);
+        testStorage.setFsyncPolicy(FsyncPolicy.ALWAYS);
+        testStorage.setCompressionLevel(9);
+        testStorage.setCompressedSaves(true);
+        testStorage.setLazyLoading(false);
+        testStorage.setColdAgeDays(-1);
+        testStorage.writeSettings();
+        DukeStorage restartedStorage = new DukeStorage(testDir.getPath() + "/notes.txt");
+        assertEquals(5, restartedStorage.getUndoDepth());
+        assertEquals(false, restartedStorage.getJournalMode());
+        assertEquals(8, restartedStorage.getCheckpointInterval());
+        assertEquals(250, restartedStorage.getSaveDelay());
+        assertEquals(FsyncPolicy.ALWAYS, restartedStorage.getFsyncPolicy());
+        assertEquals(9, restartedStorage.getCompressionLevel());
+        assertTrue(restartedStorage.getCompressedSaves());
+        assertFalse(restartedStorage.getLazyLoading());
+        assertEquals(-1, restartedStorage.getColdAgeDays());
+
+        Files.writeString(new File(testDir, "notes.settings").toPath(), "undoDepth=many\n");
+        assertEquals(DukeStorage.DEFAULT_UNDO_DEPTH, new DukeStorage(testDir.getPath() + "/notes.txt").getUndoDepth());
+    }
+}